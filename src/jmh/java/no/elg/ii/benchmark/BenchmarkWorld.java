@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark;
+
+import static no.elg.ii.util.InventoryUtil.INVENTORY_SIZE;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.gameval.InventoryID;
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.benchmark.fake.FakeClient;
+import no.elg.ii.benchmark.fake.FakeConfig;
+import no.elg.ii.benchmark.fake.FakeItemContainer;
+import no.elg.ii.benchmark.fake.FakeWidget;
+import no.elg.ii.model.PrayerInfo;
+import no.elg.ii.service.ConfigService;
+
+/**
+ * A fake client with the bank open: the bank side inventory, the normal inventory and the prayer book are loaded, and
+ * the inventory is full of items. The plugin classes are created by Guice, the same way as the plugin is.
+ */
+@Getter
+public class BenchmarkWorld {
+
+  /**
+   * First item id put in the inventory, slot {@code i} has item id {@code FIRST_ITEM_ID + i}
+   */
+  public static final int FIRST_ITEM_ID = 1000;
+
+  private final FakeClient client = FakeClient.create();
+  private final FakeConfig config = new FakeConfig();
+  private final FakeItemContainer inventory;
+  private final FakeWidget[] inventoryWidgets;
+  private final FakeWidget[] bankInventoryWidgets;
+  private final Injector injector;
+
+  public BenchmarkWorld() {
+    inventory = client.addItemContainer(InventoryID.INV, INVENTORY_SIZE);
+    // The normal inventory is loaded, but hidden behind the bank
+    FakeWidget inventoryContainer = client.addWidget(InterfaceID.Inventory.ITEMS);
+    inventoryContainer.setHidden(true);
+    inventoryWidgets = inventoryContainer.createChildren(INVENTORY_SIZE);
+    FakeWidget bankInventoryContainer = client.addWidget(InterfaceID.Bankside.ITEMS);
+    bankInventoryWidgets = bankInventoryContainer.createChildren(INVENTORY_SIZE);
+    for (int i = 0; i < INVENTORY_SIZE; i++) {
+      setInventoryItem(i, FIRST_ITEM_ID + i, 1);
+    }
+
+    client.addWidget(InterfaceID.Prayerbook.CONTAINER);
+    for (Map.Entry<Integer, Integer> entry : PrayerInfo.INTERFACE_TO_BIT.entrySet()) {
+      client.addWidget(entry.getKey()).createChildren(1);
+    }
+
+    injector = Guice.createInjector(binder -> {
+      binder.bind(Client.class).toInstance(client);
+      binder.bind(InstantInventoryConfig.class).toInstance(config);
+    });
+  }
+
+  /**
+   * Put an item in the inventory container and in every inventory widget of the slot
+   */
+  public void setInventoryItem(int slot, int itemId, int quantity) {
+    inventory.setItem(slot, itemId, quantity);
+    inventoryWidgets[slot].setItem(itemId, quantity);
+    bankInventoryWidgets[slot].setItem(itemId, quantity);
+  }
+
+  /**
+   * Rebuild the config snapshot, must be called after changing {@link #getConfig()}
+   */
+  public void updateConfig() {
+    getInstance(ConfigService.class).update();
+  }
+
+  @Nonnull
+  public <T> T getInstance(@Nonnull Class<T> type) {
+    return injector.getInstance(type);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.widgets.Widget;
+import no.elg.ii.service.InventoryService;
+import no.elg.ii.util.InventoryUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Lookup of the open inventory widgets
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryServiceBenchmark {
+
+  private BenchmarkWorld world;
+  private InventoryService inventoryService;
+  private WidgetLoaded bankLoaded;
+
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    world = new BenchmarkWorld();
+    inventoryService = world.getInstance(InventoryService.class);
+    bankLoaded = new WidgetLoaded();
+    bankLoaded.setGroupId(InterfaceID.Bankside.ITEMS >>> 16);
+  }
+
+  @Benchmark
+  public void allOpenInventoryWidgets(Blackhole blackhole) {
+    inventoryService.getAllOpenInventoryWidgets().forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void openInventoryWidgetsBySlot(Blackhole blackhole) {
+    for (int index = 0; index < InventoryUtil.INVENTORY_SIZE; index++) {
+      int count = inventoryService.getOpenInventoryWidgetCount(index);
+      for (int n = 0; n < count; n++) {
+        blackhole.consume(inventoryService.getOpenInventoryWidget(index, n));
+      }
+    }
+  }
+
+  /**
+   * Lookup right after an inventory interface was loaded, i.e., the cache must be rebuilt
+   */
+  @Benchmark
+  public Widget openInventoryWidgetAfterLoad() {
+    inventoryService.onWidgetLoaded(bankLoaded);
+    return inventoryService.getOpenInventoryWidget(0, 0);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark;
+
+import static no.elg.ii.util.WidgetUtils.FULLY_OPAQUE;
+
+import java.util.concurrent.TimeUnit;
+import no.elg.ii.feature.state.InventoryState;
+import no.elg.ii.service.EnsureWidgetStateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per tick validation and per frame widget enforcement of the inventory state
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryStateBenchmark {
+
+  /**
+   * How many of the inventory slots have a predicted change
+   */
+  @Param({"0", "14", "28"})
+  int activeSlots;
+
+  @Param({"false", "true"})
+  boolean forceWidgetsEveryFrame;
+
+  private BenchmarkWorld world;
+  private InventoryState state;
+  private EnsureWidgetStateService ensureWidgetStateService;
+
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    world = new BenchmarkWorld();
+    // Never let the validation reset a slot, so every invocation does the same work. Every slot is due each tick, as
+    // it times out after one tick but is always too early to reset
+    world.getConfig().setMinChangedMs(Integer.MAX_VALUE);
+    world.getConfig().setMaxUnmodifiedTicks(1);
+    world.getConfig().setForceWidgetsEveryFrame(forceWidgetsEveryFrame);
+    world.updateConfig();
+
+    state = world.getInstance(InventoryState.class);
+    ensureWidgetStateService = world.getInstance(EnsureWidgetStateService.class);
+    for (int index = 0; index < activeSlots; index++) {
+      state.setSlot(index, BenchmarkWorld.FIRST_ITEM_ID + index, 1, FULLY_OPAQUE);
+    }
+  }
+
+  /**
+   * A tick where every active slot is due
+   */
+  @Benchmark
+  public void validateAll() {
+    world.getClient().setTickCount(world.getClient().getTickCount() + 1);
+    state.validateAll();
+  }
+
+  /**
+   * A frame where nothing has changed since the last frame
+   */
+  @Benchmark
+  public void beforeRenderClean() {
+    ensureWidgetStateService.onBeforeRender(null);
+  }
+
+  /**
+   * A frame after the game redrew the inventory
+   */
+  @Benchmark
+  public void beforeRenderDirty() {
+    state.markAllSlotsDirty();
+    ensureWidgetStateService.onBeforeRender(null);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark;
+
+import static net.runelite.api.gameval.VarbitID.QUICKPRAYER_ACTIVE;
+import static net.runelite.api.gameval.VarbitID.QUICKPRAYER_SELECTED;
+
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.events.ScriptPostFired;
+import net.runelite.api.events.ScriptPreFired;
+import net.runelite.api.gameval.InterfaceID;
+import no.elg.ii.benchmark.fake.FakeScriptEvent;
+import no.elg.ii.feature.features.PrayerFeature;
+import no.elg.ii.model.PrayerInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Toggling prayers and rendering the prayer book
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrayerFeatureBenchmark {
+
+  private static final int TOGGLE_SINGLE_PRAYER_SCRIPT_ID = 462;
+  private static final int TOGGLE_QUICK_PRAYER_SCRIPT_ID = 455;
+
+  private BenchmarkWorld world;
+  private PrayerFeature prayerFeature;
+  private ScriptPreFired togglePiety;
+  private ScriptPostFired toggleQuickPrayers;
+  private int protectItemBit;
+
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    world = new BenchmarkWorld();
+    prayerFeature = world.getInstance(PrayerFeature.class);
+
+    int pietyBit = PrayerInfo.INTERFACE_TO_BIT.get(InterfaceID.Prayerbook.PRAYER27);
+    protectItemBit = PrayerInfo.INTERFACE_TO_BIT.get(InterfaceID.Prayerbook.PRAYER9);
+    int protectMeleeBit = PrayerInfo.INTERFACE_TO_BIT.get(InterfaceID.Prayerbook.PRAYER15);
+    world.getClient().setVarbit(QUICKPRAYER_ACTIVE, 1);
+    world.getClient().setVarbit(QUICKPRAYER_SELECTED, pietyBit | protectItemBit | protectMeleeBit);
+
+    togglePiety = new ScriptPreFired(TOGGLE_SINGLE_PRAYER_SCRIPT_ID);
+    togglePiety.setScriptEvent(FakeScriptEvent.create(world.getClient().getWidget(InterfaceID.Prayerbook.PRAYER27)));
+    toggleQuickPrayers = new ScriptPostFired(TOGGLE_QUICK_PRAYER_SCRIPT_ID);
+  }
+
+  /* (non-javadoc)
+   * The operations take nanoseconds, which a Level.Invocation setup would drown in its own overhead. Instead, each
+   * benchmark leaves the state as it found it, or resets it itself.
+   */
+  @Setup(Level.Iteration)
+  public void setUpIteration() {
+    // Start with a prayer not conflicting with piety active, so the render never resets the prayer book
+    prayerFeature.getState().setPrayerState(protectItemBit);
+  }
+
+  /**
+   * Toggles piety on and off on every other invocation, as protect item does not conflict with it
+   */
+  @Benchmark
+  public int toggleSinglePrayer() {
+    prayerFeature.onScriptPreFired(togglePiety);
+    return prayerFeature.getState().getPrayerState();
+  }
+
+  /**
+   * Enabling quick prayers which are already active returns early, so the state is reset before each enable
+   */
+  @Benchmark
+  public int enableQuickPrayers() {
+    prayerFeature.getState().setPrayerState(protectItemBit);
+    prayerFeature.onScriptPostFired(toggleQuickPrayers);
+    return prayerFeature.getState().getPrayerState();
+  }
+
+  /**
+   * A frame where the prayer state is the same as the last frame
+   */
+  @Benchmark
+  public void render() {
+    prayerFeature.onBeforeRender(null);
+  }
+
+  /**
+   * A frame right after a prayer was toggled
+   */
+  @Benchmark
+  public void renderAfterToggle() {
+    prayerFeature.onScriptPreFired(togglePiety);
+    prayerFeature.onBeforeRender(null);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import net.runelite.api.Client;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.widgets.Widget;
+import no.elg.ii.benchmark.fake.FakeWidget;
+import no.elg.ii.util.InventoryUtil;
+import no.elg.ii.util.MenuOptionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Menu option parsing and widget searching, both used when handling a menu click
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark {
+
+  @Param({"Withdraw-1", "Withdraw-All", "Withdraw-All-but-1", "Withdraw-X", "Wield"})
+  String menuOption;
+
+  /**
+   * Which inventory slot {@link InventoryUtil#findFirst} should find, {@code -1} to find nothing
+   */
+  @Param({"0", "27", "-1"})
+  int targetSlot;
+
+  private Client client;
+  private Widget menuWidget;
+  private Predicate<Widget> findTarget;
+
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    BenchmarkWorld world = new BenchmarkWorld();
+    client = world.getClient();
+    FakeWidget widget = FakeWidget.create(InterfaceID.Bankmain.ITEMS, 0);
+    widget.setItem(BenchmarkWorld.FIRST_ITEM_ID, 100);
+    menuWidget = widget;
+
+    int targetItemId = targetSlot < 0 ? -1 : BenchmarkWorld.FIRST_ITEM_ID + targetSlot;
+    findTarget = w -> w.getItemId() == targetItemId;
+  }
+
+  @Benchmark
+  public int numberFromMenuOption() {
+    return MenuOptionParser.parse(menuOption).resolveAmount(menuWidget.getItemQuantity());
+  }
+
+  @Benchmark
+  public Widget findFirstInBankInventory() {
+    return InventoryUtil.findFirst(client, InterfaceID.Bankside.ITEMS, findTarget);
+  }
+}
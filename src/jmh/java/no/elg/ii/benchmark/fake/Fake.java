@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark.fake;
+
+import javax.annotation.Nonnull;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.implementation.StubMethod;
+import net.bytebuddy.matcher.ElementMatchers;
+
+/**
+ * Create lightweight fakes of RuneLite interfaces.
+ * <p>
+ * A fake is an abstract class which implements the interface, and answers the handful of methods used by the plugin
+ * with plain fields. Calls to a fake are therefore ordinary virtual calls, which do not allocate or box, so the fakes
+ * do not dominate the benchmark results the way a proxy or a Mockito mock would.
+ * <p>
+ * {@link #create(Class)} generates a concrete subclass of the fake once, where every other method of the interface
+ * returns the default value of its return type, or the fake itself for fluent setters. That way the fakes keep
+ * compiling when methods are added to the RuneLite API.
+ */
+public final class Fake {
+
+  private static final ClassValue<Class<?>> CONCRETE_TYPES = new ClassValue<>() {
+    @Override
+    protected Class<?> computeValue(Class<?> fakeType) {
+      return new ByteBuddy()
+        .subclass(fakeType)
+        .method(ElementMatchers.isAbstract())
+        .intercept(StubMethod.INSTANCE)
+        // Registered last to take precedence over the stub
+        .method(ElementMatchers.<MethodDescription>isAbstract()
+          .and(ElementMatchers.returns(ElementMatchers.isSuperTypeOf(fakeType)))
+          .and(ElementMatchers.not(ElementMatchers.returns(Object.class))))
+        .intercept(FixedValue.self())
+        .make()
+        .load(fakeType.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+        .getLoaded();
+    }
+  };
+
+  private Fake() {
+  }
+
+  /**
+   * @param fakeType An abstract fake with a no-argument constructor
+   * @return A new instance of the concrete subclass of {@code fakeType}
+   */
+  @Nonnull
+  static <F> F create(@Nonnull Class<F> fakeType) {
+    try {
+      return fakeType.cast(CONCRETE_TYPES.get(fakeType).getDeclaredConstructor().newInstance());
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Failed to create a fake " + fakeType.getSimpleName(), e);
+    }
+  }
+}
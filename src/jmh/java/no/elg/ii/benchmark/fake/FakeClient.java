@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark.fake;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import net.runelite.api.Client;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.Skill;
+import net.runelite.api.widgets.Widget;
+
+/**
+ * A fake {@link Client} which always reports to be on the client thread
+ */
+public abstract class FakeClient implements Client {
+
+  private final Map<Integer, FakeWidget> widgets = new HashMap<>();
+  private final Map<Integer, FakeItemContainer> itemContainers = new HashMap<>();
+  private final Map<Integer, Integer> varbits = new HashMap<>();
+
+  private int tickCount;
+  private int gameCycle;
+  private int skillLevel = 99;
+
+  protected FakeClient() {
+  }
+
+  @Nonnull
+  public static FakeClient create() {
+    return Fake.create(FakeClient.class);
+  }
+
+  /**
+   * Register a widget so it can be found with {@link Client#getWidget(int)}
+   */
+  @Nonnull
+  public FakeWidget addWidget(int componentId) {
+    FakeWidget widget = FakeWidget.create(componentId, -1);
+    widgets.put(componentId, widget);
+    return widget;
+  }
+
+  @Nonnull
+  public FakeItemContainer addItemContainer(int containerId, int size) {
+    FakeItemContainer container = FakeItemContainer.create(containerId, size);
+    itemContainers.put(containerId, container);
+    return container;
+  }
+
+  public void setVarbit(int varbit, int value) {
+    varbits.put(varbit, value);
+  }
+
+  public void setSkillLevel(int skillLevel) {
+    this.skillLevel = skillLevel;
+  }
+
+  public void setTickCount(int tickCount) {
+    this.tickCount = tickCount;
+  }
+
+  public void setGameCycle(int gameCycle) {
+    this.gameCycle = gameCycle;
+  }
+
+  @Override
+  public boolean isClientThread() {
+    return true;
+  }
+
+  @Override
+  public int getTickCount() {
+    return tickCount;
+  }
+
+  @Override
+  public int getGameCycle() {
+    return gameCycle;
+  }
+
+  @Nullable
+  @Override
+  public Widget getWidget(int componentId) {
+    return widgets.get(componentId);
+  }
+
+  @Nullable
+  @Override
+  public Widget getWidget(int groupId, int childId) {
+    return widgets.get(groupId << 16 | childId);
+  }
+
+  @Nullable
+  @Override
+  public ItemContainer getItemContainer(int id) {
+    return itemContainers.get(id);
+  }
+
+  @Override
+  public int getVarbitValue(int varbit) {
+    return varbits.getOrDefault(varbit, 0);
+  }
+
+  @Override
+  public int getServerVarbitValue(int varbit) {
+    return varbits.getOrDefault(varbit, 0);
+  }
+
+  @Override
+  public int getBoostedSkillLevel(Skill skill) {
+    return skillLevel;
+  }
+
+  @Override
+  public int getRealSkillLevel(Skill skill) {
+    return skillLevel;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark.fake;
+
+import lombok.Setter;
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.feature.state.InventoryState;
+import no.elg.ii.util.Util;
+
+/**
+ * A plain {@link InstantInventoryConfig} which does not go through the {@code ConfigManager}
+ */
+@Setter
+public class FakeConfig implements InstantInventoryConfig {
+
+  private int maxUnmodifiedTicks = InventoryState.DEFAULT_MAX_UNMODIFIED_TICKS;
+  private int minChangedMs = Util.TICK_LENGTH_MS / 2;
+  private boolean forceWidgetsEveryFrame;
+
+  @Override
+  public int maxUnmodifiedTicks() {
+    return maxUnmodifiedTicks;
+  }
+
+  @Override
+  public int minChangedMs() {
+    return minChangedMs;
+  }
+
+  @Override
+  public boolean forceWidgetsEveryFrame() {
+    return forceWidgetsEveryFrame;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark.fake;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+
+/**
+ * A fake {@link ItemContainer} with a fixed number of slots
+ */
+public abstract class FakeItemContainer implements ItemContainer {
+
+  private int id;
+  private Item[] items;
+
+  protected FakeItemContainer() {
+  }
+
+  @Nonnull
+  public static FakeItemContainer create(int id, int size) {
+    FakeItemContainer container = Fake.create(FakeItemContainer.class);
+    container.id = id;
+    container.items = new Item[size];
+    return container;
+  }
+
+  public void setItem(int slot, int itemId, int quantity) {
+    items[slot] = itemId < 0 ? null : new Item(itemId, quantity);
+  }
+
+  @Override
+  public int getId() {
+    return id;
+  }
+
+  @Override
+  public int size() {
+    return items.length;
+  }
+
+  @Nonnull
+  @Override
+  public Item[] getItems() {
+    return items.clone();
+  }
+
+  @Nullable
+  @Override
+  public Item getItem(int slot) {
+    return slot >= 0 && slot < items.length ? items[slot] : null;
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark.fake;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import net.runelite.api.MenuAction;
+import net.runelite.api.MenuEntry;
+import net.runelite.api.widgets.Widget;
+
+/**
+ * A fake {@link MenuEntry} with the values read from a {@code MenuOptionClicked}
+ */
+public abstract class FakeMenuEntry implements MenuEntry {
+
+  @Nonnull
+  private String option = "";
+  @Nonnull
+  private String target = "";
+  private int identifier;
+  @Nonnull
+  private MenuAction type = MenuAction.UNKNOWN;
+  private int param0;
+  private int param1;
+  private int itemId = -1;
+  @Nullable
+  private Widget widget;
+
+  protected FakeMenuEntry() {
+  }
+
+  @Nonnull
+  public static FakeMenuEntry create() {
+    return Fake.create(FakeMenuEntry.class);
+  }
+
+  /**
+   * Set the widget returned by {@link #getWidget()}, which a real menu entry looks up from its params
+   */
+  public void setFakeWidget(@Nullable Widget widget) {
+    this.widget = widget;
+  }
+
+  @Override
+  public String getOption() {
+    return option;
+  }
+
+  @Override
+  public FakeMenuEntry setOption(String option) {
+    this.option = option;
+    return this;
+  }
+
+  @Override
+  public String getTarget() {
+    return target;
+  }
+
+  @Override
+  public FakeMenuEntry setTarget(String target) {
+    this.target = target;
+    return this;
+  }
+
+  @Override
+  public int getIdentifier() {
+    return identifier;
+  }
+
+  @Override
+  public FakeMenuEntry setIdentifier(int identifier) {
+    this.identifier = identifier;
+    return this;
+  }
+
+  @Override
+  public MenuAction getType() {
+    return type;
+  }
+
+  @Override
+  public FakeMenuEntry setType(MenuAction type) {
+    this.type = type;
+    return this;
+  }
+
+  @Override
+  public int getParam0() {
+    return param0;
+  }
+
+  @Override
+  public FakeMenuEntry setParam0(int param0) {
+    this.param0 = param0;
+    return this;
+  }
+
+  @Override
+  public int getParam1() {
+    return param1;
+  }
+
+  @Override
+  public FakeMenuEntry setParam1(int param1) {
+    this.param1 = param1;
+    return this;
+  }
+
+  @Override
+  public int getItemId() {
+    return itemId;
+  }
+
+  public FakeMenuEntry setItemId(int itemId) {
+    this.itemId = itemId;
+    return this;
+  }
+
+  @Nullable
+  @Override
+  public Widget getWidget() {
+    return widget;
+  }
+}
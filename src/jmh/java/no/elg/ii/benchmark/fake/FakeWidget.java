@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark.fake;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import net.runelite.api.widgets.Widget;
+
+/**
+ * A fake {@link Widget} which supports the parts of the widget tree used by the plugin
+ */
+public abstract class FakeWidget implements Widget {
+
+  private static final FakeWidget[] NO_CHILDREN = new FakeWidget[0];
+
+  private int id;
+  private int index;
+  private int itemId = -1;
+  private int itemQuantity;
+  private int opacity;
+  private boolean hidden;
+  @Nonnull
+  private String name = "";
+  @Nullable
+  private FakeWidget parent;
+  @Nonnull
+  private FakeWidget[] children = NO_CHILDREN;
+
+  protected FakeWidget() {
+  }
+
+  @Nonnull
+  public static FakeWidget create(int id, int index) {
+    FakeWidget widget = Fake.create(FakeWidget.class);
+    widget.id = id;
+    widget.index = index;
+    return widget;
+  }
+
+  /**
+   * Create {@code count} dynamic children of this widget
+   *
+   * @return The children, so they can be modified by the benchmark
+   */
+  @Nonnull
+  public FakeWidget[] createChildren(int count) {
+    FakeWidget[] fakes = new FakeWidget[count];
+    for (int i = 0; i < count; i++) {
+      FakeWidget child = create(id, i);
+      child.parent = this;
+      fakes[i] = child;
+    }
+    children = fakes;
+    return fakes;
+  }
+
+  /**
+   * @return The children of this widget as fakes
+   */
+  @Nonnull
+  public FakeWidget[] getFakeChildren() {
+    return children;
+  }
+
+  /**
+   * Make this widget look like an item slot
+   */
+  public void setItem(int itemId, int quantity) {
+    this.itemId = itemId;
+    this.itemQuantity = quantity;
+    this.name = itemId < 0 ? "" : "<col=ff9040>Item " + itemId + "</col>";
+  }
+
+  @Override
+  public int getId() {
+    return id;
+  }
+
+  @Override
+  public int getIndex() {
+    return index;
+  }
+
+  @Override
+  public int getItemId() {
+    return itemId;
+  }
+
+  @Override
+  public FakeWidget setItemId(int itemId) {
+    this.itemId = itemId;
+    return this;
+  }
+
+  @Override
+  public int getItemQuantity() {
+    return itemQuantity;
+  }
+
+  @Override
+  public FakeWidget setItemQuantity(int quantity) {
+    this.itemQuantity = quantity;
+    return this;
+  }
+
+  @Override
+  public int getOpacity() {
+    return opacity;
+  }
+
+  @Override
+  public FakeWidget setOpacity(int opacity) {
+    this.opacity = opacity;
+    return this;
+  }
+
+  @Override
+  public boolean isHidden() {
+    return hidden || parent != null && parent.isHidden();
+  }
+
+  @Override
+  public boolean isSelfHidden() {
+    return hidden;
+  }
+
+  @Override
+  public FakeWidget setHidden(boolean hidden) {
+    this.hidden = hidden;
+    return this;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public FakeWidget setName(String name) {
+    this.name = name;
+    return this;
+  }
+
+  @Nullable
+  @Override
+  public Widget getParent() {
+    return parent;
+  }
+
+  @Override
+  public Widget[] getDynamicChildren() {
+    return children;
+  }
+
+  @Override
+  public Widget[] getChildren() {
+    return children;
+  }
+
+  @Nullable
+  @Override
+  public Widget getChild(int index) {
+    return index >= 0 && index < children.length ? children[index] : null;
+  }
+}
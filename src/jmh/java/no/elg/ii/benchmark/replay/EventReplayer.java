@@ -0,0 +1,495 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark.replay;
+
+import static no.elg.ii.util.InventoryUtil.INVENTORY_ITEMS_CONTAINERS;
+import static no.elg.ii.util.InventoryUtil.INVENTORY_SIZE;
+import static no.elg.ii.util.WidgetUtils.FULLY_OPAQUE;
+import static no.elg.ii.util.WidgetUtils.THE_EMPTY_ITEM_ID;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.MenuAction;
+import net.runelite.api.events.BeforeRender;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.ScriptPostFired;
+import net.runelite.api.events.ScriptPreFired;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.gameval.InventoryID;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.ui.overlay.OverlayManager;
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.InstantInventoryPlugin;
+import no.elg.ii.benchmark.fake.FakeClient;
+import no.elg.ii.benchmark.fake.FakeConfig;
+import no.elg.ii.benchmark.fake.FakeItemContainer;
+import no.elg.ii.benchmark.fake.FakeMenuEntry;
+import no.elg.ii.benchmark.fake.FakeScriptEvent;
+import no.elg.ii.benchmark.fake.FakeWidget;
+import no.elg.ii.feature.state.InventoryState;
+import no.elg.ii.model.ItemMetadata;
+import no.elg.ii.model.PrayerInfo;
+import no.elg.ii.overlay.FrameTimingOverlay;
+import no.elg.ii.recording.EventRecordingReader;
+import no.elg.ii.recording.RecordedEventListener;
+import no.elg.ii.recording.RecordedEventType;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.ConfigService;
+import no.elg.ii.service.EventRecorderService;
+import no.elg.ii.service.InventoryService;
+import no.elg.ii.service.ItemMetadataService;
+import org.mockito.Answers;
+
+/**
+ * Replay a recording made with {@link InstantInventoryConfig#recordEvents()} through the plugin and its features,
+ * against a {@link FakeClient}. No game server or RuneLite client is needed.
+ * <p>
+ * The fake client is updated with the recorded widgets, containers, and varbits before each event is posted to the
+ * event bus. The clock and tick count follow the recording, while the events are replayed as fast as possible. For
+ * each event the time spent and the bytes allocated by the plugin are measured, including the tasks it queued on the
+ * client thread. The fakes answer with plain fields, so calls to them do not allocate, except
+ * {@link ItemContainer#getItems()} which copies the items like the real client does.
+ * <p>
+ * A prediction diverged when a slot stops being predicted and the inventory does not hold what was shown: the
+ * predicted item of a changed slot, or nothing for a hidden slot.
+ * <p>
+ * The client redraws the inventory widgets when the inventory changes, this is emulated for the slots which are not
+ * predicted. Predicted slots are left to the plugin, as it would overwrite them anyway.
+ * <p>
+ * Run with {@code ./gradlew replay -Precording=path/to/recording.iirec}
+ */
+@Slf4j
+public class EventReplayer implements RecordedEventListener {
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+  private static final int NO_SOURCE = -1;
+
+  private final FakeClient client = FakeClient.create();
+  private final FakeConfig config = new FakeConfig();
+  private final ReplayClock clock = new ReplayClock();
+  private final ReplayClientThread clientThread = new ReplayClientThread();
+  private final EventBus eventBus = new EventBus();
+
+  private final ReplayPlugin plugin;
+  private final InventoryState inventoryState;
+  private final InventoryService inventoryService;
+  private final ItemMetadataService itemMetadataService;
+  private final ConfigService configService;
+
+  private final Map<Integer, Integer> canonicalItemIds = new HashMap<>();
+  private final Map<Integer, FakeWidget> widgets = new HashMap<>();
+  private final Map<Integer, FakeItemContainer> containers = new HashMap<>();
+  /**
+   * The inventory widgets recorded since the last event
+   */
+  private final Set<Integer> recordedInventoryWidgets = new HashSet<>();
+
+  /**
+   * What the inventory should hold in each predicted slot, from before the current event
+   */
+  private final int[] expectedItemIds = new int[INVENTORY_SIZE];
+  private final int[] expectedQuantities = new int[INVENTORY_SIZE];
+
+  @Getter
+  private final ReplayReport report = new ReplayReport();
+  private final long allocationOverhead;
+  private int eventIndex;
+
+  public EventReplayer() {
+    ItemManager itemManager = mock(ItemManager.class, withSettings().defaultAnswer(Answers.RETURNS_MOCKS));
+    when(itemManager.canonicalize(anyInt())).thenAnswer(invocation -> {
+      int itemId = invocation.getArgument(0);
+      return canonicalItemIds.getOrDefault(itemId, itemId);
+    });
+    Injector injector = Guice.createInjector(binder -> {
+      binder.bind(Client.class).toInstance(client);
+      binder.bind(InstantInventoryConfig.class).toInstance(config);
+      binder.bind(ClientThread.class).toInstance(clientThread);
+      binder.bind(ClockService.class).toInstance(clock);
+      binder.bind(EventBus.class).toInstance(eventBus);
+      binder.bind(ItemManager.class).toInstance(itemManager);
+      binder.bind(OverlayManager.class).toInstance(mock(OverlayManager.class));
+      binder.bind(FrameTimingOverlay.class).toInstance(mock(FrameTimingOverlay.class));
+    });
+    plugin = injector.getInstance(ReplayPlugin.class);
+    inventoryState = injector.getInstance(InventoryState.class);
+    inventoryService = injector.getInstance(InventoryService.class);
+    itemMetadataService = injector.getInstance(ItemMetadataService.class);
+    configService = injector.getInstance(ConfigService.class);
+
+    // The prayer book is never recorded, so it is always loaded like in the benchmarks
+    widget(InterfaceID.Prayerbook.CONTAINER);
+    for (int prayerComponentId : PrayerInfo.INTERFACE_TO_BIT.keySet()) {
+      widget(prayerComponentId).createChildren(1);
+    }
+
+    long before = allocatedBytes();
+    allocationOverhead = allocatedBytes() - before;
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      log.error("Usage: EventReplayer <recording{}>", EventRecorderService.RECORDING_FILE_EXTENSION);
+      System.exit(1);
+    }
+    EventReplayer replayer = new EventReplayer();
+    try (InputStream in = new BufferedInputStream(new FileInputStream(args[0]))) {
+      replayer.replay(in);
+    }
+    replayer.getReport().log(log);
+  }
+
+  /**
+   * Replay a whole recording
+   */
+  public void replay(@Nonnull InputStream in) throws IOException {
+    plugin.start();
+    clientThread.runQueued();
+    try (EventRecordingReader reader = new EventRecordingReader(in)) {
+      while (reader.next(this)) {
+        // Every record is handled by this listener
+      }
+    } finally {
+      plugin.stop();
+    }
+  }
+
+  @Override
+  public void onMenuOptionClicked(long micros, int tick, @Nonnull String option, @Nonnull String target, int identifier, int menuActionId,
+                                  int param0, int param1, int itemId) {
+    // Inventory widgets which were not recorded with this click were not loaded
+    for (int componentId : INVENTORY_ITEMS_CONTAINERS) {
+      FakeWidget widget = widgets.get(componentId);
+      if (widget != null && !recordedInventoryWidgets.contains(componentId)) {
+        widget.setHidden(true);
+      }
+    }
+    recordedInventoryWidgets.clear();
+
+    FakeMenuEntry menuEntry = FakeMenuEntry.create();
+    menuEntry.setOption(option);
+    menuEntry.setTarget(target);
+    menuEntry.setIdentifier(identifier);
+    menuEntry.setType(MenuAction.of(menuActionId));
+    menuEntry.setParam0(param0);
+    menuEntry.setParam1(param1);
+    menuEntry.setItemId(itemId);
+    menuEntry.setFakeWidget(findWidget(param1, param0));
+    replay(RecordedEventType.MENU_OPTION_CLICKED, micros, tick, new MenuOptionClicked(menuEntry));
+  }
+
+  @Override
+  public void onGameTick(long micros, int tick) {
+    replay(RecordedEventType.GAME_TICK, micros, tick, GameTick.INSTANCE);
+  }
+
+  @Override
+  public void onBeforeRender(long micros, int tick) {
+    client.setGameCycle(client.getGameCycle() + 1);
+    replay(RecordedEventType.BEFORE_RENDER, micros, tick, BeforeRender.INSTANCE);
+  }
+
+  @Override
+  public void onItemContainerChanged(long micros, int tick, int containerId, @Nonnull int[] itemIds, @Nonnull int[] quantities, int size) {
+    FakeItemContainer container = containers.get(containerId);
+    if (container == null || container.getItems().length != size) {
+      container = client.addItemContainer(containerId, size);
+      containers.put(containerId, container);
+    }
+    for (int i = 0; i < size; i++) {
+      container.setItem(i, itemIds[i], quantities[i]);
+    }
+    if (containerId == InventoryID.INV || containerId == InventoryID.INV_PLAYER_TEMP) {
+      redrawInventoryWidgets(itemIds, quantities, size);
+    }
+    replay(RecordedEventType.ITEM_CONTAINER_CHANGED, micros, tick, new ItemContainerChanged(containerId, container));
+  }
+
+  @Override
+  public void onVarbitChanged(long micros, int tick, int varpId, int varbitId, int value) {
+    if (varbitId != NO_SOURCE) {
+      client.setVarbit(varbitId, value);
+    }
+    VarbitChanged event = new VarbitChanged();
+    event.setVarpId(varpId);
+    event.setVarbitId(varbitId);
+    event.setValue(value);
+    replay(RecordedEventType.VARBIT_CHANGED, micros, tick, event);
+  }
+
+  @Override
+  public void onScriptPreFired(long micros, int tick, int scriptId, int sourceComponentId, int sourceIndex) {
+    ScriptPreFired event = new ScriptPreFired(scriptId);
+    if (sourceComponentId != NO_SOURCE) {
+      event.setScriptEvent(FakeScriptEvent.create(findWidget(sourceComponentId, sourceIndex)));
+    }
+    replay(RecordedEventType.SCRIPT_PRE_FIRED, micros, tick, event);
+  }
+
+  @Override
+  public void onScriptPostFired(long micros, int tick, int scriptId) {
+    replay(RecordedEventType.SCRIPT_POST_FIRED, micros, tick, new ScriptPostFired(scriptId));
+  }
+
+  @Override
+  public void onChatMessage(long micros, int tick, @Nonnull String type, @Nonnull String message) {
+    ChatMessage event = new ChatMessage();
+    event.setType(chatMessageType(type));
+    event.setMessage(message);
+    replay(RecordedEventType.CHAT_MESSAGE, micros, tick, event);
+  }
+
+  @Override
+  public void onWidget(int componentId, boolean hidden, int childCount, @Nonnull int[] indices, @Nonnull int[] itemIds, @Nonnull int[] quantities,
+                       int count) {
+    FakeWidget widget = widget(componentId);
+    widget.setHidden(hidden);
+    if (widget.getChildren().length != childCount) {
+      widget.createChildren(childCount);
+      inventoryService.invalidateWidgetCache();
+    }
+    boolean inventoryWidget = INVENTORY_ITEMS_CONTAINERS.contains(componentId);
+    if (inventoryWidget) {
+      recordedInventoryWidgets.add(componentId);
+    }
+    Widget[] children = widget.getChildren();
+    for (int i = 0; i < count; i++) {
+      int index = indices[i];
+      // The predicted slots already show what the plugin predicted
+      if (index < children.length && !(inventoryWidget && inventoryState.isSlotActive(index))) {
+        setItem(widget.getFakeChildren()[index], itemIds[i], quantities[i]);
+      }
+    }
+  }
+
+  @Override
+  public void onItemMetadata(@Nonnull ItemMetadata metadata) {
+    itemMetadataService.put(metadata);
+    canonicalItemIds.put(metadata.getItemId(), metadata.getCanonicalId());
+  }
+
+  private void replay(@Nonnull RecordedEventType type, long micros, int tick, @Nonnull Object event) {
+    clock.setMicros(micros);
+    client.setTickCount(tick);
+    int predictedSlotMask = inventoryState.getActiveSlotMask();
+    rememberPredictions(predictedSlotMask);
+
+    long allocatedBefore = allocatedBytes();
+    long start = System.nanoTime();
+    eventBus.post(event);
+    clientThread.runQueued();
+    long nanos = System.nanoTime() - start;
+    long allocated = allocatedBytes() - allocatedBefore - allocationOverhead;
+
+    report.record(type, nanos, Math.max(0, allocated));
+    checkEndedPredictions(type, tick, predictedSlotMask & ~inventoryState.getActiveSlotMask());
+    eventIndex++;
+  }
+
+  private void rememberPredictions(int predictedSlotMask) {
+    int hideOpacity = configService.getSnapshot().getHideOpacity();
+    for (int mask = predictedSlotMask; mask != 0; mask &= mask - 1) {
+      int index = Integer.numberOfTrailingZeros(mask);
+      boolean hidden = inventoryState.getOpacity(index) == hideOpacity;
+      expectedItemIds[index] = hidden ? NO_SOURCE : inventoryState.getItemId(index);
+      expectedQuantities[index] = hidden ? 0 : inventoryState.getQuantity(index);
+    }
+  }
+
+  private void checkEndedPredictions(@Nonnull RecordedEventType type, int tick, int endedSlotMask) {
+    if (endedSlotMask == 0) {
+      return;
+    }
+    ItemContainer container = inventoryService.getCurrentInventoryContainer();
+    for (int mask = endedSlotMask; mask != 0; mask &= mask - 1) {
+      int index = Integer.numberOfTrailingZeros(mask);
+      Item item = container == null ? null : container.getItem(index);
+      int actualItemId = item == null ? NO_SOURCE : item.getId();
+      int actualQuantity = item == null ? 0 : item.getQuantity();
+      if (actualItemId != expectedItemIds[index] || actualQuantity != expectedQuantities[index]) {
+        report.addDivergence(new ReplayReport.Divergence(eventIndex, type, tick, index, expectedItemIds[index], expectedQuantities[index],
+          actualItemId, actualQuantity));
+      }
+    }
+  }
+
+  /**
+   * Emulate the client redrawing the inventory widgets after the inventory changed
+   */
+  private void redrawInventoryWidgets(@Nonnull int[] itemIds, @Nonnull int[] quantities, int size) {
+    for (int componentId : INVENTORY_ITEMS_CONTAINERS) {
+      FakeWidget widget = widgets.get(componentId);
+      if (widget == null) {
+        continue;
+      }
+      FakeWidget[] children = widget.getFakeChildren();
+      for (int index = 0; index < Math.min(children.length, size); index++) {
+        if (inventoryState.isSlotInactive(index)) {
+          setItem(children[index], itemIds[index], quantities[index]);
+        }
+      }
+    }
+  }
+
+  private static void setItem(@Nonnull FakeWidget widget, int itemId, int quantity) {
+    widget.setItem(itemId < 0 ? THE_EMPTY_ITEM_ID : itemId, quantity);
+    widget.setOpacity(FULLY_OPAQUE);
+  }
+
+  @Nonnull
+  private FakeWidget widget(int componentId) {
+    FakeWidget widget = widgets.get(componentId);
+    if (widget == null) {
+      widget = client.addWidget(componentId);
+      widgets.put(componentId, widget);
+    }
+    return widget;
+  }
+
+  /**
+   * @return The child at {@code index} of the widget, or the widget itself if it has no such child
+   */
+  @Nullable
+  private Widget findWidget(int componentId, int index) {
+    FakeWidget widget = widgets.get(componentId);
+    if (widget == null) {
+      return null;
+    }
+    Widget[] children = widget.getChildren();
+    return index >= 0 && index < children.length ? children[index] : widget;
+  }
+
+  @Nonnull
+  private static ChatMessageType chatMessageType(@Nonnull String name) {
+    try {
+      return ChatMessageType.valueOf(name);
+    } catch (IllegalArgumentException e) {
+      return ChatMessageType.UNKNOWN;
+    }
+  }
+
+  private static long allocatedBytes() {
+    return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Exposes the plugin lifecycle, which is protected
+   */
+  static class ReplayPlugin extends InstantInventoryPlugin {
+
+    void start() {
+      startUp();
+    }
+
+    void stop() {
+      shutDown();
+    }
+  }
+
+  /**
+   * A clock which follows the recording instead of the system clock
+   */
+  private static final class ReplayClock extends ClockService {
+
+    private long micros;
+
+    @Override
+    public void sample() {
+      // The time is set from the recording
+    }
+
+    void setMicros(long micros) {
+      long millis = micros / 1_000L - this.micros / 1_000L;
+      if (millis > 0) {
+        advanceMillis(millis);
+      }
+      this.micros = Math.max(this.micros, micros);
+    }
+  }
+
+  /**
+   * Run the tasks queued for later after every event, as the client would at the end of the client tick
+   */
+  private static final class ReplayClientThread extends ClientThread {
+
+    private final Queue<BooleanSupplier> queued = new ArrayDeque<>();
+
+    @Override
+    public void invokeLater(BooleanSupplier task) {
+      queued.add(task);
+    }
+
+    @Override
+    public void invokeAtTickEnd(Runnable task) {
+      queued.add(() -> {
+        task.run();
+        return true;
+      });
+    }
+
+    void runQueued() {
+      for (int i = queued.size(); i > 0; i--) {
+        BooleanSupplier task = queued.poll();
+        if (!task.getAsBoolean()) {
+          queued.add(task);
+        }
+      }
+    }
+  }
+}
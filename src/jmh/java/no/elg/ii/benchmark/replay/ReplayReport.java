@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.benchmark.replay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import lombok.Getter;
+import lombok.Value;
+import no.elg.ii.model.LatencyHistogram;
+import no.elg.ii.recording.RecordedEventType;
+import no.elg.ii.service.FrameTimingService;
+import org.slf4j.Logger;
+
+/**
+ * The result of replaying a recording: how long the plugin spent on each type of event, how much it allocated, and
+ * where the predicted inventory diverged from the actual inventory
+ */
+public class ReplayReport {
+
+  /**
+   * Only this many divergences are kept, the rest are only counted
+   */
+  private static final int MAX_KEPT_DIVERGENCES = 100;
+
+  private final LatencyHistogram[] latencies = new LatencyHistogram[RecordedEventType.VALUES.length];
+  private final long[] allocatedBytes = new long[RecordedEventType.VALUES.length];
+  private final List<Divergence> divergences = new ArrayList<>();
+  @Getter
+  private int divergenceCount;
+
+  {
+    for (int i = 0; i < latencies.length; i++) {
+      latencies[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * A prediction which ended while the inventory did not hold what the prediction showed
+   */
+  @Value
+  public static class Divergence {
+
+    /**
+     * Index of the event in the recording, counting only events
+     */
+    int eventIndex;
+    @Nonnull
+    RecordedEventType eventType;
+    int tick;
+    int slot;
+    int expectedItemId;
+    int expectedQuantity;
+    int actualItemId;
+    int actualQuantity;
+  }
+
+  void record(@Nonnull RecordedEventType type, long nanos, long allocated) {
+    latencies[type.ordinal()].record(nanos);
+    allocatedBytes[type.ordinal()] += allocated;
+  }
+
+  void addDivergence(@Nonnull Divergence divergence) {
+    divergenceCount++;
+    if (divergences.size() < MAX_KEPT_DIVERGENCES) {
+      divergences.add(divergence);
+    }
+  }
+
+  @Nonnull
+  public LatencyHistogram getLatency(@Nonnull RecordedEventType type) {
+    return latencies[type.ordinal()];
+  }
+
+  public long getAllocatedBytes(@Nonnull RecordedEventType type) {
+    return allocatedBytes[type.ordinal()];
+  }
+
+  /**
+   * @return The first {@value #MAX_KEPT_DIVERGENCES} divergences
+   */
+  @Nonnull
+  public List<Divergence> getDivergences() {
+    return Collections.unmodifiableList(divergences);
+  }
+
+  /**
+   * Log the report, one line per event type and divergence
+   */
+  public void log(@Nonnull Logger logger) {
+    logger.info(String.format("%-24s %8s %10s %10s %10s %12s", "Event", "Count", "p50", "p99", "Max", "Bytes/event"));
+    for (RecordedEventType type : RecordedEventType.VALUES) {
+      LatencyHistogram latency = getLatency(type);
+      if (latency.getCount() == 0) {
+        continue;
+      }
+      logger.info(String.format("%-24s %8d %10s %10s %10s %12d", type, latency.getCount(), FrameTimingService.formatNanos(latency.getPercentile(0.5)),
+        FrameTimingService.formatNanos(latency.getPercentile(0.99)), FrameTimingService.formatNanos(latency.getMax()),
+        getAllocatedBytes(type) / latency.getCount()));
+    }
+    logger.info("{} predictions diverged from the inventory", divergenceCount);
+    for (Divergence divergence : divergences) {
+      logger.info("  event {} ({}) tick {} slot {}: predicted item {} x{}, was item {} x{}", divergence.getEventIndex(), divergence.getEventType(),
+        divergence.getTick(), divergence.getSlot(), divergence.getExpectedItemId(), divergence.getExpectedQuantity(), divergence.getActualItemId(),
+        divergence.getActualQuantity());
+    }
+  }
+}
@@ -33,6 +33,9 @@ import static no.elg.ii.feature.features.DropFeature.DROP_CONFIG_KEY;
 import static no.elg.ii.feature.features.EquipFeature.EQUIP_CONFIG_KEY;
 import static no.elg.ii.feature.features.PrayerFeature.PRAYER_CONFIG_KEY;
 import static no.elg.ii.feature.features.WithdrawFeature.WITHDRAW_CONFIG_KEY;
+import static no.elg.ii.service.AdaptiveTimingService.ADAPTIVE_TIMING_CONFIG_KEY;
+import static no.elg.ii.service.AdaptiveTimingService.LEARNED_MAX_UNMODIFIED_TICKS_KEY;
+import static no.elg.ii.service.AdaptiveTimingService.LEARNED_MIN_CHANGED_MS_KEY;
 
 import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
@@ -87,7 +90,7 @@ public interface InstantInventoryConfig extends Config {
     keyName = CLEAN_CONFIG_KEY,
     section = FEATURE_SECTION,
     name = "Clean Herbs Instantly",
-    description = "Show the cleaned herb instantly",
+    description = "Show the cleaned herb instantly, also applies to emptying vials, buckets, and jugs",
     position = 1
   )
   default boolean instantClean() {
@@ -228,7 +231,8 @@ public interface InstantInventoryConfig extends Config {
         + "<p>"
         + "<p>When in PvP or Bossing it is recommended to set this to 1."
         + "<p>"
-        + "<p>This setting applies only items and not generally.",
+        + "<p>This setting applies only items and not generally."
+        + "<p>This is ignored when \"Adaptive Timing\" is enabled.",
     position = 10
   )
   @Units(Units.TICKS)
@@ -245,7 +249,8 @@ public interface InstantInventoryConfig extends Config {
         + "<p>The default value is half a game tick, i.e, 300ms."
         + "<p>This setting is affected by the ping and performance of the server. If you see widgets flicker back into existence, increase this value."
         + "<p>"
-        + "<p>This overwrites the \"Max Unmodified Ticks\" setting for inventory actions.",
+        + "<p>This overwrites the \"Max Unmodified Ticks\" setting for inventory actions."
+        + "<p>This is ignored when \"Adaptive Timing\" is enabled.",
     position = 20
   )
   @Units(Units.MILLISECONDS)
@@ -253,4 +258,125 @@ public interface InstantInventoryConfig extends Config {
     return Util.TICK_LENGTH_MS / 2;
   }
 
+  @ConfigItem(
+    section = ADVANCED_SECTION,
+    keyName = ADAPTIVE_TIMING_CONFIG_KEY,
+    name = "Adaptive Timing",
+    description =
+      "Learn how long the server takes to respond to your actions, and use it instead of \"Max Unmodified Ticks\" and \"Min Changed Millis\"."
+        + "<p>"
+        + "<p>With a high ping items flicker less, and with a low ping wrong predictions are reverted sooner."
+        + "<p>The learned values are remembered between sessions.",
+    position = 24
+  )
+  default boolean adaptiveTiming() {
+    return false;
+  }
+
+  @ConfigItem(
+    section = ADVANCED_SECTION,
+    keyName = "adaptiveTimingPercentile",
+    name = "Adaptive Timing Percentile",
+    description =
+      "How many percent of the server responses the learned timing should wait for when \"Adaptive Timing\" is enabled."
+        + "<p>A higher value gives less flickering, but wrong predictions stay visible for longer.",
+    position = 26
+  )
+  @Range(min = 50, max = 99)
+  @Units(Units.PERCENT)
+  default int adaptiveTimingPercentile() {
+    return 95;
+  }
+
+  @ConfigItem(
+    keyName = LEARNED_MIN_CHANGED_MS_KEY,
+    name = "",
+    description = "",
+    hidden = true
+  )
+  default int learnedMinChangedMs() {
+    return Util.TICK_LENGTH_MS / 2;
+  }
+
+  @ConfigItem(
+    keyName = LEARNED_MAX_UNMODIFIED_TICKS_KEY,
+    name = "",
+    description = "",
+    hidden = true
+  )
+  default int learnedMaxUnmodifiedTicks() {
+    return InventoryState.DEFAULT_MAX_UNMODIFIED_TICKS;
+  }
+
+  @ConfigItem(
+    section = ADVANCED_SECTION,
+    keyName = "forceWidgetsEveryFrame",
+    name = "Force Widgets Every Frame",
+    description =
+      "Re-apply the predicted items to the inventory widgets every frame."
+        + "<p>"
+        + "<p>When disabled, the widgets are only re-applied after an item is changed or the inventory is redrawn by the game."
+        + "<p>Enable this only if predicted items sometimes flicker back into view, as it uses more frame time.",
+    position = 30
+  )
+  default boolean forceWidgetsEveryFrame() {
+    return false;
+  }
+
+  @ConfigItem(
+    section = ADVANCED_SECTION,
+    keyName = "frameTimingOverlay",
+    name = "Frame Timing Overlay",
+    description =
+      "Show an overlay with how long the plugin spends in each event handler."
+        + "<p>The overlay shows the 50th percentile, 99th percentile and the maximum time of the last minute."
+        + "<p>This is intended for debugging.",
+    position = 40
+  )
+  default boolean frameTimingOverlay() {
+    return false;
+  }
+
+  @ConfigItem(
+    section = ADVANCED_SECTION,
+    keyName = "logFrameTimings",
+    name = "Log Frame Timings",
+    description =
+      "Log how long the plugin spends in each event handler to the client log once every minute."
+        + "<p>This is intended for debugging.",
+    position = 50
+  )
+  default boolean logFrameTimings() {
+    return false;
+  }
+
+  @ConfigItem(
+    section = ADVANCED_SECTION,
+    keyName = "recordEvents",
+    name = "Record Events",
+    description =
+      "Record the events the plugin reacts to, so a session can be replayed without the game."
+        + "<p>The recordings are saved in the .runelite/instant-inventory/recordings folder."
+        + "<p>This is intended for debugging.",
+    position = 60
+  )
+  default boolean recordEvents() {
+    return false;
+  }
+
+  @ConfigItem(
+    section = ADVANCED_SECTION,
+    keyName = "predictionMetricsOverlay",
+    name = "Prediction Overlay",
+    description =
+      "Show an overlay with how many predictions of each feature were confirmed by the server, did not match the"
+        + " inventory, or expired, and how long it took from the click until they were confirmed."
+        + "<p>The metrics are reset when the timing settings are changed."
+        + "<p>This is intended for debugging.",
+    position = 70
+  )
+  default boolean predictionMetricsOverlay() {
+    return false;
+  }
+
 }
@@ -26,8 +26,11 @@
  */
 package no.elg.ii;
 
+import static no.elg.ii.service.AdaptiveTimingService.ADAPTIVE_TIMING_CONFIG_KEY;
+
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Provides;
+import java.util.List;
 import java.util.Set;
 import javax.inject.Inject;
 import lombok.AllArgsConstructor;
@@ -35,8 +38,11 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
+import net.runelite.api.ItemContainer;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.gameval.InventoryID;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.EventBus;
@@ -44,11 +50,26 @@ import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.ui.overlay.OverlayManager;
 import no.elg.ii.feature.Feature;
 import no.elg.ii.feature.FeatureManager;
+import no.elg.ii.feature.MenuOptionRouter;
 import no.elg.ii.feature.state.InventoryState;
+import no.elg.ii.feature.state.PredictionStore;
+import no.elg.ii.model.TimedSubscriber;
+import no.elg.ii.overlay.FrameTimingOverlay;
+import no.elg.ii.overlay.PredictionMetricsOverlay;
+import no.elg.ii.service.AdaptiveTimingService;
+import no.elg.ii.service.BankItemIndexService;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.ConfigService;
 import no.elg.ii.service.DisallowModifiedWidgetInteractionService;
 import no.elg.ii.service.EnsureWidgetStateService;
+import no.elg.ii.service.EventRecorderService;
+import no.elg.ii.service.FrameTimingService;
+import no.elg.ii.service.InventoryService;
+import no.elg.ii.service.ItemMetadataService;
+import no.elg.ii.service.PredictionMetricsService;
 
 @Slf4j
 @AllArgsConstructor
@@ -60,6 +81,12 @@ import no.elg.ii.service.EnsureWidgetStateService;
 )
 public class InstantInventoryPlugin extends Plugin {
 
+  /**
+   * The config keys which change how predictions end, the prediction metrics are reset when one of them changes. The
+   * values learned by the {@link AdaptiveTimingService} are not included, as they change often.
+   */
+  private static final Set<String> PREDICTION_CONFIG_KEYS = Set.of("maxUnmodifiedTicks", "minChangedMs", ADAPTIVE_TIMING_CONFIG_KEY, "adaptiveTimingPercentile");
+
   @Inject
   @VisibleForTesting
   protected Client client;
@@ -81,26 +108,101 @@ public class InstantInventoryPlugin extends Plugin {
   @Inject
   protected ClientThread clientThread;
 
-  //TODO If more services are added which only reacts to events, this should be redesigned to be more generic
   @Inject
   EnsureWidgetStateService ensureWidgetStateService;
 
+  @Inject
+  InventoryService inventoryService;
+
+  @Inject
+  FrameTimingService frameTimingService;
+
+  @Inject
+  OverlayManager overlayManager;
+
+  @Inject
+  FrameTimingOverlay frameTimingOverlay;
+
+  @Inject
+  ConfigService configService;
+
+  @Inject
+  ClockService clockService;
+
+  @Inject
+  BankItemIndexService bankItemIndexService;
+
+  @Inject
+  ItemMetadataService itemMetadataService;
+
+  @Inject
+  MenuOptionRouter menuOptionRouter;
+
   @Inject
   DisallowModifiedWidgetInteractionService disallowModifiedWidgetInteractionService;
 
+  @Inject
+  EventRecorderService eventRecorderService;
+
+  @Inject
+  PredictionMetricsService predictionMetricsService;
+
+  @Inject
+  PredictionMetricsOverlay predictionMetricsOverlay;
+
+  @Inject
+  AdaptiveTimingService adaptiveTimingService;
+
+  @Inject
+  PredictionStore predictionStore;
+
+  /**
+   * The services which only react to events. They are registered in this order, and unregistered in the reverse order
+   */
+  private List<Object> eventSubscribers() {
+    return List.of(
+      clockService,
+      frameTimingService,
+      inventoryService,
+      ensureWidgetStateService,
+      disallowModifiedWidgetInteractionService,
+      menuOptionRouter,
+      bankItemIndexService,
+      itemMetadataService,
+      eventRecorderService,
+      adaptiveTimingService,
+      predictionStore
+    );
+  }
+
   @Override
   protected void startUp() {
+    configService.update();
+    frameTimingService.updateConfig();
+    clientThread.invoke(eventRecorderService::updateConfig);
+    clientThread.invoke(adaptiveTimingService::updateConfig);
+    for (Object subscriber : eventSubscribers()) {
+      eventBus.register(subscriber);
+    }
     featureManager.updateAllFeatureStatus();
-    eventBus.register(ensureWidgetStateService);
-    eventBus.register(disallowModifiedWidgetInteractionService);
+    overlayManager.add(frameTimingOverlay);
+    overlayManager.add(predictionMetricsOverlay);
   }
 
   @Override
   protected void shutDown() {
     // Disable all features when the plugin shuts down
     featureManager.disableAllFeatures();
-    eventBus.unregister(ensureWidgetStateService);
-    eventBus.unregister(disallowModifiedWidgetInteractionService);
+    List<Object> subscribers = eventSubscribers();
+    for (int i = subscribers.size() - 1; i >= 0; i--) {
+      eventBus.unregister(subscribers.get(i));
+    }
+    clientThread.invoke(predictionStore::resetAll);
+    clientThread.invoke(eventRecorderService::stop);
+    inventoryService.invalidateWidgetCache();
+    bankItemIndexService.invalidateIndex();
+    overlayManager.remove(frameTimingOverlay);
+    overlayManager.remove(predictionMetricsOverlay);
   }
 
   /* (non-javadoc)
@@ -110,7 +212,39 @@ public class InstantInventoryPlugin extends Plugin {
    */
   @Subscribe(priority = Integer.MAX_VALUE)
   public void onGameTick(GameTick event) {
-    clientThread.invokeLater(inventoryState::validateAll);
+    if (inventoryState.hasModifiedSlots()) {
+      clientThread.invokeLater(this::validateInventory);
+    }
+  }
+
+  /* (non-javadoc)
+   * Validate the changed slots as soon as the server has updated the inventory, timeouts are still handled each tick
+   */
+  @Subscribe
+  public void onItemContainerChanged(ItemContainerChanged event) {
+    int containerId = event.getContainerId();
+    if (containerId != InventoryID.INV && containerId != InventoryID.INV_PLAYER_TEMP) {
+      return;
+    }
+    ItemContainer itemContainer = event.getItemContainer();
+    if (itemContainer != inventoryService.getCurrentInventoryContainer()) {
+      return;
+    }
+    long start = frameTimingService.start();
+    try {
+      inventoryState.reconcile(itemContainer);
+    } finally {
+      frameTimingService.record(TimedSubscriber.RECONCILE_INVENTORY, start);
+    }
+  }
+
+  private void validateInventory() {
+    long start = frameTimingService.start();
+    try {
+      inventoryState.validateAll();
+    } finally {
+      frameTimingService.record(TimedSubscriber.VALIDATE_INVENTORY, start);
+    }
   }
 
   /* (non-javadoc)
@@ -124,13 +258,22 @@ public class InstantInventoryPlugin extends Plugin {
       for (Feature feature : activeFeatures) {
         feature.reset();
       }
+      predictionStore.resetAll();
     }
   }
 
   @Subscribe
   public void onConfigChanged(ConfigChanged configChanged) {
     if (InstantInventoryConfig.GROUP.equals(configChanged.getGroup())) {
+      configService.update();
       featureManager.updateAllFeatureStatus();
+      frameTimingService.updateConfig();
+      clientThread.invoke(eventRecorderService::updateConfig);
+      clientThread.invoke(adaptiveTimingService::updateConfig);
+      if (PREDICTION_CONFIG_KEYS.contains(configChanged.getKey())) {
+        // The old metrics describe predictions made with another config
+        clientThread.invoke(predictionMetricsService::reset);
+      }
     }
   }
 
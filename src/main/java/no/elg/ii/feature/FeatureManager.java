@@ -84,6 +84,13 @@ public class FeatureManager {
     }
   }
 
+  /**
+   * @return Whether the feature is currently enabled
+   */
+  public boolean isFeatureActive(@Nonnull Feature feature) {
+    return activeFeatures.contains(feature);
+  }
+
   /**
    * @return Thread safe view of the currently active features
    */
@@ -38,6 +38,8 @@ import net.runelite.client.callback.ClientThread;
 import no.elg.ii.InstantInventoryConfig;
 import no.elg.ii.InstantInventoryPlugin;
 import no.elg.ii.feature.state.InventoryState;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.service.FrameTimingService;
 import no.elg.ii.service.WidgetService;
 
 @Slf4j
@@ -56,7 +58,8 @@ public abstract class HideFeature implements Feature {
 
   @Inject
   @Getter
-  private InventoryState state;
+  @VisibleForTesting
+  public InventoryState state;
 
   @Inject
   public Client client;
@@ -64,7 +67,23 @@ public abstract class HideFeature implements Feature {
   @Inject
   public WidgetService widgetService;
 
+  @Inject
+  public FrameTimingService frameTimingService;
+
+  /**
+   * @return Which feature the hidden slots are attributed to in the prediction metrics
+   */
+  @Nonnull
+  protected abstract PredictionSource getPredictionSource();
+
   protected void hide(@Nonnull Widget widget) {
-    state.setSlot(widget, widgetService.getHideOpacity());
+    state.setSlot(widget, widgetService.getHideOpacity(), getPredictionSource(), true);
+  }
+
+  /**
+   * Hide every slot in {@code slotMask} which has an item in one of the open inventory widgets
+   */
+  protected void hideSlots(int slotMask) {
+    state.setSlotsFromWidgets(slotMask, widgetService.getHideOpacity(), getPredictionSource(), true);
   }
 }
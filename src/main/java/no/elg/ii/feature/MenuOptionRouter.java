@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.feature;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.eventbus.Subscribe;
+import no.elg.ii.feature.features.DepositFeature;
+import no.elg.ii.feature.features.DropFeature;
+import no.elg.ii.feature.features.EquipFeature;
+import no.elg.ii.feature.features.WithdrawFeature;
+import no.elg.ii.model.ItemTransformationRegistry;
+import no.elg.ii.model.MenuOptionIntent;
+import no.elg.ii.util.MenuOptionParser;
+
+/**
+ * The only feature subscriber of {@link MenuOptionClicked}. The clicked option is classified once as a
+ * {@link MenuOptionRoute} in a table of known options, and its amount is parsed once as a {@link MenuOptionIntent}. The
+ * event is only passed to the active feature owning that route.
+ * <p>
+ * Options with a quantity, like {@code Withdraw-10}, are classified by their prefix, which is only checked if the
+ * option is not in the table.
+ * <p>
+ * Clicks on a widget which does not show the actual item are consumed before this sees them, by the
+ * {@link no.elg.ii.service.DisallowModifiedWidgetInteractionService}
+ */
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class MenuOptionRouter {
+
+  @Inject
+  @VisibleForTesting
+  Features features;
+
+  @Inject
+  @VisibleForTesting
+  FeatureManager featureManager;
+
+  @Inject
+  @VisibleForTesting
+  ItemTransformationRegistry transformations;
+
+  /**
+   * Option to what it does
+   */
+  private Map<String, MenuOptionRoute> routes;
+  private String[] prefixes;
+  private MenuOptionRoute[] prefixRoutes;
+  /**
+   * The feature owning each route, indexed by {@link MenuOptionRoute#ordinal()}
+   */
+  private MenuOptionFeature[] owners;
+
+  @Subscribe
+  public void onMenuOptionClicked(final MenuOptionClicked event) {
+    if (event.isConsumed()) {
+      return;
+    }
+    MenuOptionRoute route = classify(event.getMenuOption());
+    if (route == null) {
+      return;
+    }
+    Widget widget = event.getWidget();
+    if (widget == null) {
+      return;
+    }
+    MenuOptionFeature feature = owners[route.ordinal()];
+    if (featureManager.isFeatureActive(feature)) {
+      feature.onMenuOptionClicked(event, widget, route, MenuOptionParser.parse(event.getMenuOption()));
+    }
+  }
+
+  /**
+   * @return What the menu option does, or {@code null} if no feature handles it
+   */
+  @Nullable
+  @VisibleForTesting
+  MenuOptionRoute classify(@Nullable String menuOption) {
+    if (menuOption == null) {
+      return null;
+    }
+    if (routes == null) {
+      buildRoutes();
+    }
+    MenuOptionRoute route = routes.get(menuOption);
+    if (route == null) {
+      for (int i = 0; i < prefixes.length; i++) {
+        if (menuOption.startsWith(prefixes[i])) {
+          return prefixRoutes[i];
+        }
+      }
+    }
+    return route;
+  }
+
+  /**
+   * @return Whether a click on the menu option is passed to an active feature
+   */
+  public boolean isRoutedToActiveFeature(@Nullable String menuOption) {
+    MenuOptionRoute route = classify(menuOption);
+    return route != null && featureManager.isFeatureActive(owners[route.ordinal()]);
+  }
+
+  /**
+   * @return The feature owning the menu option, or {@code null} if no feature handles it
+   */
+  @Nullable
+  @VisibleForTesting
+  MenuOptionFeature route(@Nullable String menuOption) {
+    MenuOptionRoute route = classify(menuOption);
+    return route == null ? null : owners[route.ordinal()];
+  }
+
+  private void buildRoutes() {
+    Map<String, MenuOptionRoute> routes = new HashMap<>();
+    routes.put(DropFeature.DROP_OPTION, MenuOptionRoute.DROP);
+    for (String option : transformations.getMenuOptions()) {
+      routes.put(option, MenuOptionRoute.TRANSFORM);
+    }
+    routes.put(DepositFeature.DEPOSIT_ALL_OPTION, MenuOptionRoute.DEPOSIT_ALL);
+    routes.put(DepositFeature.ADD_ALL_OPTION, MenuOptionRoute.DEPOSIT_ALL);
+    for (String option : EquipFeature.EQUIP_OPTIONS) {
+      routes.put(option, MenuOptionRoute.EQUIP);
+    }
+
+    prefixes = new String[]{DepositFeature.DEPOSIT_PREFIX_OPTION, WithdrawFeature.WITHDRAW_PREFIX_OPTION};
+    prefixRoutes = new MenuOptionRoute[]{MenuOptionRoute.DEPOSIT, MenuOptionRoute.WITHDRAW};
+
+    MenuOptionFeature[] owners = new MenuOptionFeature[MenuOptionRoute.VALUES.length];
+    owners[MenuOptionRoute.DROP.ordinal()] = features.getDropFeature();
+    owners[MenuOptionRoute.TRANSFORM.ordinal()] = features.getCleanHerbFeature();
+    owners[MenuOptionRoute.DEPOSIT_ALL.ordinal()] = features.getDepositFeature();
+    owners[MenuOptionRoute.DEPOSIT.ordinal()] = features.getDepositFeature();
+    owners[MenuOptionRoute.EQUIP.ordinal()] = features.getEquipFeature();
+    owners[MenuOptionRoute.WITHDRAW.ordinal()] = features.getWithdrawFeature();
+    this.owners = owners;
+    log.debug("Routing menu options {} and prefixes {}", routes, Arrays.asList(prefixes));
+    this.routes = routes;
+  }
+}
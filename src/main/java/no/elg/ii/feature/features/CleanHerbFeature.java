@@ -27,6 +27,7 @@
 package no.elg.ii.feature.features;
 
 import com.google.common.annotations.VisibleForTesting;
+import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.Getter;
@@ -36,15 +37,24 @@ import net.runelite.api.Client;
 import net.runelite.api.Skill;
 import net.runelite.api.events.MenuOptionClicked;
 import net.runelite.api.widgets.Widget;
-import net.runelite.client.eventbus.Subscribe;
-import no.elg.ii.feature.Feature;
+import no.elg.ii.feature.MenuOptionFeature;
+import no.elg.ii.feature.MenuOptionRoute;
 import no.elg.ii.feature.state.InventoryState;
-import no.elg.ii.model.HerbInfo;
+import no.elg.ii.model.ItemTransformation;
+import no.elg.ii.model.ItemTransformationRegistry;
+import no.elg.ii.model.MenuOptionIntent;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.model.TimedSubscriber;
+import no.elg.ii.service.FrameTimingService;
 import no.elg.ii.service.WidgetService;
 
+/**
+ * Instantly show the result of the {@link ItemTransformation}s in the {@link ItemTransformationRegistry}, such as
+ * cleaning herbs
+ */
 @Singleton
 @NoArgsConstructor
-public class CleanHerbFeature implements Feature {
+public class CleanHerbFeature implements MenuOptionFeature {
 
   public static final String CLEAN_OPTION = "Clean";
   public static final String CLEAN_CONFIG_KEY = "instantClean";
@@ -55,27 +65,35 @@ public class CleanHerbFeature implements Feature {
 
   @Inject
   @Getter
-  private InventoryState state;
+  @VisibleForTesting
+  public InventoryState state;
+
+  @Inject
+  @VisibleForTesting
+  public WidgetService widgetService;
 
   @Inject
-  private WidgetService widgetService;
+  @VisibleForTesting
+  public ItemTransformationRegistry transformations;
 
-  @Subscribe
-  public void onMenuOptionClicked(final MenuOptionClicked event) {
-    Widget widget = event.getWidget();
-    if (widget != null && !event.isConsumed()) {
-      String menuOption = event.getMenuOption();
-      if (CLEAN_OPTION.equals(menuOption)) {
-        int itemId = event.getItemId();
-        HerbInfo herbInfo = HerbInfo.HERBS.get(itemId);
-        if (herbInfo == null) {
-          return;
-        }
-        int herbloreLevel = client.getBoostedSkillLevel(Skill.HERBLORE);
-        if (herbloreLevel >= herbInfo.getMinLevel()) {
-          state.setSlot(widget.getIndex(), herbInfo.getCleanItemId(), widget.getItemQuantity(), widgetService.getChangeOpacity());
-        }
+  @Inject
+  @VisibleForTesting
+  public FrameTimingService frameTimingService;
+
+  @Override
+  public void onMenuOptionClicked(@Nonnull MenuOptionClicked event, @Nonnull Widget widget, @Nonnull MenuOptionRoute route, @Nonnull MenuOptionIntent intent) {
+    long start = frameTimingService.start();
+    try {
+      ItemTransformation transformation = transformations.find(event.getItemId(), event.getMenuOption());
+      if (transformation == null) {
+        return;
+      }
+      Skill skill = transformation.getSkill();
+      if (skill == null || client.getBoostedSkillLevel(skill) >= transformation.getMinLevel()) {
+        state.setSlot(widget.getIndex(), transformation.getResultItemId(), widget.getItemQuantity(), widgetService.getChangeOpacity(), PredictionSource.CLEAN, false);
       }
+    } finally {
+      frameTimingService.record(TimedSubscriber.CLEAN_CLICKED, start);
     }
   }
 
@@ -28,6 +28,7 @@ package no.elg.ii.feature.features;
 
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.NoArgsConstructor;
@@ -35,23 +36,27 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.events.MenuOptionClicked;
 import net.runelite.api.gameval.VarbitID;
-import net.runelite.api.widgets.ComponentID;
 import net.runelite.api.widgets.Widget;
-import net.runelite.client.eventbus.Subscribe;
-import net.runelite.client.game.ItemManager;
 import no.elg.ii.feature.HideFeature;
+import no.elg.ii.feature.MenuOptionFeature;
+import no.elg.ii.feature.MenuOptionRoute;
 import no.elg.ii.feature.state.InventoryState;
-import no.elg.ii.inventory.slot.InventorySlot;
+import no.elg.ii.feature.state.PredictedContainer;
+import no.elg.ii.feature.state.PredictionStore;
 import no.elg.ii.model.IndexedWidget;
+import no.elg.ii.model.MenuOptionIntent;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.model.TimedSubscriber;
+import no.elg.ii.service.BankItemIndexService;
 import no.elg.ii.service.InventoryService;
+import no.elg.ii.service.ItemMetadataService;
 import no.elg.ii.service.VarService;
 import no.elg.ii.util.Util;
-import no.elg.ii.util.WidgetUtils;
 
 @Slf4j
 @Singleton
 @NoArgsConstructor
-public class DepositFeature extends HideFeature {
+public class DepositFeature extends HideFeature implements MenuOptionFeature {
 
   public static final String DEPOSIT_PREFIX_OPTION = "Deposit-";
   public static final String DEPOSIT_ALL_OPTION = "Deposit inventory";
@@ -61,80 +66,78 @@ public class DepositFeature extends HideFeature {
   @Inject
   private InventoryService inventoryService;
   @Inject
-  private ItemManager itemManager;
+  private ItemMetadataService itemMetadataService;
   @Inject
   private InventoryState inventoryState;
   @Inject
   private VarService varService;
+  @Inject
+  private BankItemIndexService bankItemIndexService;
+  @Inject
+  private PredictionStore predictionStore;
 
   /**
    * @param indexedWidget The indexed widget to check
    * @return If this slot is unlocked or bank slot locks are disabled
    */
   public boolean isSlotUnlocked(IndexedWidget indexedWidget) {
-    int slotIndex = indexedWidget.getIndex();
+    return (unlockedSlotMask() & (1 << indexedWidget.getIndex())) != 0;
+  }
 
+  /**
+   * @return A mask of all unlocked slots, or all slots if bank slot locks are disabled
+   */
+  public int unlockedSlotMask() {
     if (varService.isVarbitTrue(VarbitID.BANK_SIDE_SLOT_IGNOREINVLOCKS)) {
-      return true;
+      return InventoryState.ALL_SLOTS_MASK;
     }
-    int slotMask = (1 << slotIndex); // Bit that should be set for the slot
-    return (slotMask & varService.varbitValue(VarbitID.BANK_SIDE_SLOT_OVERVIEW)) == 0;
+    return ~varService.varbitValue(VarbitID.BANK_SIDE_SLOT_OVERVIEW) & InventoryState.ALL_SLOTS_MASK;
   }
 
-  @Subscribe
-  public void onMenuOptionClicked(final MenuOptionClicked event) {
-    Widget widget = event.getWidget();
-    if (widget != null && !event.isConsumed()) {
-      String menuOption = event.getMenuOption();
-      if (DEPOSIT_ALL_OPTION.equals(menuOption) || ADD_ALL_OPTION.equals(menuOption)) {
+  @Override
+  public void onMenuOptionClicked(@Nonnull MenuOptionClicked event, @Nonnull Widget widget, @Nonnull MenuOptionRoute route, @Nonnull MenuOptionIntent intent) {
+    long start = frameTimingService.start();
+    try {
+      if (route == MenuOptionRoute.DEPOSIT_ALL) {
         log.debug("Hiding all items");
-        inventoryService.getAllOpenInventoryWidgets()
-          .filter(iw -> WidgetUtils.isNotEmpty(iw.getWidget()))
-          .filter(this::isSlotUnlocked)
-          .forEach(indexedWidget -> hide(indexedWidget.getWidget()));
+        hideSlots(unlockedSlotMask());
+        return;
+      }
+      int toTake = intent.resolveAmount(widget.getItemQuantity());
+      if (toTake == Util.NO_MENU_OPTION_NUMBER) {
         return;
       }
       int eventItemId = event.getItemId();
       int clickedIndex = widget.getIndex();
-      if (menuOption != null && (menuOption.startsWith(DEPOSIT_PREFIX_OPTION))) {
-        int toTake = Util.getNumberFromMenuOption(menuOption, widget);
-        if (toTake == Util.NO_MENU_OPTION_NUMBER) {
-          return;
-        }
-        int actualTaken;
-        if (toTake >= widget.getItemQuantity()) {
-          log.debug("Hiding {} items", toTake);
+      int actualTaken;
+      if (toTake >= widget.getItemQuantity()) {
+        log.debug("Hiding {} items", toTake);
 
-          Set<IndexedWidget> itemToTake = inventoryService.getAllOpenInventoryWidgets()
-            .filter(it -> {
-              InventorySlot slot = inventoryState.getSlot(it.getWidget().getIndex());
-              return it.getIndex() == clickedIndex || slot != null && !slot.hasValidItemId() && it.getWidget().getItemId() == eventItemId;
-            })
-            .filter(this::isSlotUnlocked)
-            .sorted()
-            .limit(toTake)
-            .collect(Collectors.toUnmodifiableSet());
-          itemToTake.forEach(indexedWidget -> hide(indexedWidget.getWidget()));
-          actualTaken = itemToTake.stream().mapToInt(iw -> iw.getWidget().getItemQuantity()).sum();
-        } else {
-          int ui = widget.getItemQuantity() - toTake;
-          log.debug("Updating item quantity from {} be {}", widget.getItemQuantity(), ui);
-          getState().setSlot(widget.getIndex(), widget.getItemId(), ui, widgetService.getChangeOpacity());
-          actualTaken = toTake;
-        }
+        int unlockedSlotMask = unlockedSlotMask();
+        Set<IndexedWidget> itemToTake = inventoryService.getAllOpenInventoryWidgets()
+          .filter(it -> it.getIndex() == clickedIndex || inventoryState.isSlotInactive(it.getWidget().getIndex()) && it.getWidget().getItemId() == eventItemId)
+          .filter(it -> (unlockedSlotMask & (1 << it.getIndex())) != 0)
+          .sorted()
+          .limit(toTake)
+          .collect(Collectors.toUnmodifiableSet());
+        itemToTake.forEach(indexedWidget -> hide(indexedWidget.getWidget()));
+        actualTaken = itemToTake.stream().mapToInt(iw -> iw.getWidget().getItemQuantity()).sum();
+      } else {
+        int ui = widget.getItemQuantity() - toTake;
+        log.debug("Updating item quantity from {} be {}", widget.getItemQuantity(), ui);
+        getState().setSlot(widget.getIndex(), widget.getItemId(), ui, widgetService.getChangeOpacity(), PredictionSource.DEPOSIT, false);
+        actualTaken = toTake;
+      }
 
-        int canonItemId = itemManager.canonicalize(eventItemId);
-        //Update widget in bank
-        Widget bankInventoryContainer = client.getWidget(ComponentID.BANK_ITEM_CONTAINER);
-        if (bankInventoryContainer != null) {
-          for (Widget bankWidget : bankInventoryContainer.getDynamicChildren()) {
-            if (itemManager.canonicalize(bankWidget.getItemId()) == canonItemId) {
-              widgetService.setQuantity(bankWidget, bankWidget.getItemQuantity() + actualTaken);
-              return;
-            }
-          }
-        }
+      int canonItemId = itemMetadataService.canonicalize(eventItemId);
+      //Update widget in bank
+      Widget bankWidget = bankItemIndexService.getBankWidget(canonItemId);
+      if (bankWidget != null) {
+        widgetService.setQuantity(bankWidget, bankWidget.getItemQuantity() + actualTaken);
+        predictionStore.setSlot(PredictedContainer.BANK, bankWidget.getIndex(), bankWidget.getItemId(), bankWidget.getItemQuantity(), PredictionSource.DEPOSIT, false);
       }
+    } finally {
+      frameTimingService.record(TimedSubscriber.DEPOSIT_CLICKED, start);
     }
   }
 
@@ -142,4 +145,9 @@ public class DepositFeature extends HideFeature {
   public @NonNull String getConfigKey() {
     return DEPOSIT_CONFIG_KEY;
   }
+
+  @Override
+  protected @NonNull PredictionSource getPredictionSource() {
+    return PredictionSource.DEPOSIT;
+  }
 }
@@ -26,56 +26,157 @@
  */
 package no.elg.ii.feature.features;
 
+import static no.elg.ii.inventory.slot.InventorySlot.INVALID_ITEM_ID;
+import static no.elg.ii.util.InventoryUtil.INVENTORY_SIZE;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.gameval.InventoryID;
 import net.runelite.api.gameval.VarbitID;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.eventbus.Subscribe;
-import net.runelite.client.game.ItemManager;
 import no.elg.ii.feature.HideFeature;
+import no.elg.ii.feature.MenuOptionFeature;
+import no.elg.ii.feature.MenuOptionRoute;
+import no.elg.ii.feature.state.InventoryState;
+import no.elg.ii.model.ItemMetadata;
+import no.elg.ii.model.MenuOptionIntent;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.model.TimedSubscriber;
+import no.elg.ii.service.InventoryService;
+import no.elg.ii.service.ItemMetadataService;
 import no.elg.ii.service.VarService;
 import no.elg.ii.util.WidgetUtils;
 
 @Slf4j
 @Singleton
 @NoArgsConstructor
-public class DropFeature extends HideFeature {
+public class DropFeature extends HideFeature implements MenuOptionFeature {
 
   public static final String DROP_OPTION = "Drop";
   public static final String DROP_CONFIG_KEY = "instantDrop";
 
   @Inject
-  private ItemManager itemManager;
+  @VisibleForTesting
+  ItemMetadataService itemMetadataService;
+
+  @Inject
+  @VisibleForTesting
+  VarService varService;
 
   @Inject
-  private VarService varService;
+  @VisibleForTesting
+  InventoryService inventoryService;
+
+  /**
+   * Bit {@code i} is set if dropping the item in inventory slot {@code i} will show the drop warning. Computed from the
+   * current inventory container, which is {@link InventoryID#INV_PLAYER_TEMP} while the group storage is open
+   */
+  private int dropWarningSlotMask;
+
+  /**
+   * The item id and quantity in each inventory slot when {@link #dropWarningSlotMask} was computed. A slot showing a
+   * prediction holds something else, so its bit does not apply
+   */
+  private final int[] maskedItemIds = new int[INVENTORY_SIZE];
+  private final int[] maskedQuantities = new int[INVENTORY_SIZE];
+
+  @Override
+  public void onEnable() {
+    clientThread.invoke(() -> updateDropWarningSlotMask(inventoryService.getCurrentInventoryContainer()));
+  }
 
   @Subscribe
-  public void onMenuOptionClicked(final MenuOptionClicked event) {
-    Widget widget = event.getWidget();
-    if (widget != null && !event.isConsumed()) {
-      String menuOption = event.getMenuOption();
-      if (DROP_OPTION.equals(menuOption)) {
-        log.debug("Dropped item {}", WidgetUtils.debugInfo(widget));
-        if (willDropWarningBeShownForItem(widget.getItemId(), widget.getItemQuantity())) {
-          log.debug("Drop warning will be shown, will not hide item");
-        } else {
-          hide(widget);
+  public void onItemContainerChanged(final ItemContainerChanged event) {
+    int containerId = event.getContainerId();
+    if (containerId != InventoryID.INV && containerId != InventoryID.INV_PLAYER_TEMP) {
+      return;
+    }
+    ItemContainer itemContainer = event.getItemContainer();
+    if (itemContainer == inventoryService.getCurrentInventoryContainer()) {
+      updateDropWarningSlotMask(itemContainer);
+    }
+  }
+
+  @Subscribe
+  public void onVarbitChanged(final VarbitChanged event) {
+    int varbitId = event.getVarbitId();
+    if (varbitId == VarbitID.OPTION_DROPWARNING_ON || varbitId == VarbitID.OPTION_DROPWARNING_VALUE) {
+      updateDropWarningSlotMask(inventoryService.getCurrentInventoryContainer());
+    }
+  }
+
+  @Override
+  public void onMenuOptionClicked(@Nonnull MenuOptionClicked event, @Nonnull Widget widget, @Nonnull MenuOptionRoute route, @Nonnull MenuOptionIntent intent) {
+    long start = frameTimingService.start();
+    try {
+      log.debug("Dropped item {}", WidgetUtils.debugInfo(widget));
+      if (willDropWarningBeShown(widget.getIndex(), event.getItemId(), widget.getItemQuantity())) {
+        log.debug("Drop warning will be shown, will not hide item");
+      } else {
+        hide(widget);
+      }
+    } finally {
+      frameTimingService.record(TimedSubscriber.DROP_CLICKED, start);
+    }
+  }
+
+  /**
+   * @return Whether the drop warning will be shown when dropping the item in the inventory slot at {@code index}
+   */
+  public boolean willDropWarningBeShownForSlot(int index) {
+    return InventoryState.isValidIndex(index) && (dropWarningSlotMask & (1 << index)) != 0;
+  }
+
+  /**
+   * @return Whether the drop warning will be shown when dropping {@code quantity} of {@code itemId} from the inventory
+   * slot at {@code index}. Only looks up the price when the slot holds something else than when the mask was computed,
+   * e.g., when the slot shows a prediction
+   */
+  private boolean willDropWarningBeShown(int index, int itemId, int quantity) {
+    if (InventoryState.isValidIndex(index) && maskedItemIds[index] == itemId && maskedQuantities[index] == quantity) {
+      return willDropWarningBeShownForSlot(index);
+    }
+    return willDropWarningBeShownForItem(itemId, quantity);
+  }
+
+  private void updateDropWarningSlotMask(@Nullable ItemContainer inventoryContainer) {
+    int mask = 0;
+    Arrays.fill(maskedItemIds, INVALID_ITEM_ID);
+    Arrays.fill(maskedQuantities, 0);
+    if (inventoryContainer != null) {
+      boolean warningOn = varService.isVarbitTrue(VarbitID.OPTION_DROPWARNING_ON);
+      Item[] items = inventoryContainer.getItems();
+      for (int index = 0; index < Math.min(items.length, INVENTORY_SIZE); index++) {
+        Item item = items[index];
+        maskedItemIds[index] = item.getId();
+        maskedQuantities[index] = item.getQuantity();
+        if (warningOn && item.getId() >= 0 && willDropWarningBeShownForItem(item.getId(), item.getQuantity())) {
+          mask |= 1 << index;
         }
       }
     }
+    dropWarningSlotMask = mask;
   }
 
   public boolean willDropWarningBeShownForItem(int itemId, int quantity) {
     if (varService.isVarbitFalse(VarbitID.OPTION_DROPWARNING_ON)) {
       return false;
     }
-    var canonItemId = itemManager.canonicalize(itemId);
-    var price = itemManager.getItemPriceWithSource(canonItemId, false);
+    ItemMetadata metadata = itemMetadataService.get(itemId);
+    int price = metadata != null ? metadata.getGePrice() : 0;
     return varService.varbitValue(VarbitID.OPTION_DROPWARNING_VALUE) < price * quantity;
   }
 
@@ -83,4 +184,9 @@ public class DropFeature extends HideFeature {
   public @NonNull String getConfigKey() {
     return DROP_CONFIG_KEY;
   }
+
+  @Override
+  protected @NonNull PredictionSource getPredictionSource() {
+    return PredictionSource.DROP;
+  }
 }
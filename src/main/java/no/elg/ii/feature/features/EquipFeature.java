@@ -27,9 +27,9 @@
 
 package no.elg.ii.feature.features;
 
+import static no.elg.ii.inventory.slot.InventorySlot.INVALID_ITEM_ID;
+
 import com.google.common.annotations.VisibleForTesting;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import javax.annotation.Nonnull;
@@ -51,13 +51,20 @@ import net.runelite.api.gameval.InventoryID;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.eventbus.Subscribe;
-import net.runelite.client.game.ItemEquipmentStats;
-import net.runelite.client.game.ItemManager;
-import net.runelite.client.game.ItemStats;
-import no.elg.ii.feature.Feature;
+import no.elg.ii.feature.MenuOptionFeature;
+import no.elg.ii.feature.MenuOptionRoute;
+import no.elg.ii.feature.state.ContainerState;
 import no.elg.ii.feature.state.InventoryState;
+import no.elg.ii.feature.state.PredictedContainer;
+import no.elg.ii.feature.state.PredictionStore;
 import no.elg.ii.model.IndexedWidget;
+import no.elg.ii.model.ItemMetadata;
+import no.elg.ii.model.MenuOptionIntent;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.model.TimedSubscriber;
+import no.elg.ii.service.FrameTimingService;
 import no.elg.ii.service.InventoryService;
+import no.elg.ii.service.ItemMetadataService;
 import no.elg.ii.service.WidgetService;
 import no.elg.ii.util.WidgetUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -66,14 +73,16 @@ import org.apache.commons.lang3.tuple.Pair;
 @Slf4j
 @Singleton
 @NoArgsConstructor
-public class EquipFeature implements Feature {
+public class EquipFeature implements MenuOptionFeature {
 
   public static final Set<String> EQUIP_OPTIONS = Set.of("Wear", "Wield", "Equip");
   public static final String EQUIP_CONFIG_KEY = "instantEquip";
 
+  private static final int NO_DISPLACED_SLOT = -1;
+
   @Inject
   @VisibleForTesting
-  ItemManager itemManager;
+  ItemMetadataService itemMetadataService;
 
   @Inject
   @VisibleForTesting
@@ -89,21 +98,21 @@ public class EquipFeature implements Feature {
   private WidgetService widgetService;
   @Inject
   private InventoryService inventoryService;
+  @Inject
+  private PredictionStore predictionStore;
 
-  /**
-   * The last tick each slot was equipped
-   */
-  private final Map</*slotIdx*/ Integer, /*last tick count changed*/ Integer> lastEquipped = new HashMap<>(EquipmentInventorySlot.values().length);
+  @Inject
+  @VisibleForTesting
+  public FrameTimingService frameTimingService;
 
-  @Subscribe
-  public void onMenuOptionClicked(final MenuOptionClicked event) {
-    Widget widget = event.getWidget();
-    if (widget != null && !event.isConsumed()) {
-      String menuOption = event.getMenuOption();
-      if (EQUIP_OPTIONS.contains(menuOption)) {
-        log.debug("'{}' item {}", menuOption, WidgetUtils.debugInfo(widget));
-        clientThread.invokeAtTickEnd(() -> equip(widget));
-      }
+  @Override
+  public void onMenuOptionClicked(@Nonnull MenuOptionClicked event, @Nonnull Widget widget, @Nonnull MenuOptionRoute route, @Nonnull MenuOptionIntent intent) {
+    long start = frameTimingService.start();
+    try {
+      log.debug("'{}' item {}", event.getMenuOption(), WidgetUtils.debugInfo(widget));
+      clientThread.invokeAtTickEnd(() -> equip(widget));
+    } finally {
+      frameTimingService.record(TimedSubscriber.EQUIP_CLICKED, start);
     }
   }
 
@@ -113,7 +122,19 @@ public class EquipFeature implements Feature {
   public void onChatMessage(ChatMessage event) {
     if (event.getType() == ChatMessageType.GAMEMESSAGE && TOO_LOW_LEVEL_MESSAGE.equals(event.getMessage())) {
       log.debug("Failed to equip item");
-      state.getActiveSlots().filter(is -> is.getSlot().getChangedTick() == client.getTickCount()).forEach(is -> state.resetState(is.getIndex()));
+      int tickCount = client.getTickCount();
+      for (int mask = state.getActiveSlotMask(); mask != 0; mask &= mask - 1) {
+        int index = Integer.numberOfTrailingZeros(mask);
+        if (state.getChangedTick(index) == tickCount) {
+          state.resetState(index);
+        }
+      }
+      ContainerState wornState = predictionStore.get(PredictedContainer.WORN);
+      for (int index = wornState.nextModifiedSlot(0); index >= 0; index = wornState.nextModifiedSlot(index + 1)) {
+        if (wornState.getChangedTick(index) == tickCount) {
+          predictionStore.resetSlot(PredictedContainer.WORN, index);
+        }
+      }
     }
   }
 
@@ -127,9 +148,12 @@ public class EquipFeature implements Feature {
     if (itemIds == null) {
       return;
     }
+    int clickedItemId = widget.getItemId();
+    int clickedQuantity = widget.getItemQuantity();
 
     @Nullable Item toReplaceItem = itemIds.getLeft();
     int opacity;
+    boolean expectEmpty;
     if (toReplaceItem != null) {
       log.trace("An item was equipped in the slot (to replace: {}), will replace it with {}", WidgetUtils.debugInfo(toReplaceItem), WidgetUtils.debugInfo(widget));
       Item extraItem = itemIds.getRight();
@@ -149,12 +173,41 @@ public class EquipFeature implements Feature {
         widgetService.setFakeWidgetItem(widget, toReplaceItem);
       }
       opacity = widgetService.getChangeOpacity();
+      expectEmpty = false;
     } else {
       log.trace("No other item to replace, will show the slot as empty");
       widgetService.setEmptyItem(widget);
       opacity = widgetService.getHideOpacity();
+      expectEmpty = true;
+    }
+    state.setSlot(widget, opacity, PredictionSource.EQUIP, expectEmpty);
+    predictWornEquipment(clickedItemId, clickedQuantity);
+  }
+
+  /**
+   * Show the equipped item in its slot of the worn equipment interfaces, and empty the slot of the item it displaces
+   */
+  private void predictWornEquipment(int itemId, int quantity) {
+    ItemMetadata equippedItem = itemMetadataService.get(itemId);
+    ItemContainer equipmentContainer = client.getItemContainer(InventoryID.WORN);
+    if (equippedItem == null || equipmentContainer == null) {
+      return;
+    }
+    int equipSlot = equippedItem.getEquipSlot();
+    Item wornItem = getWornItem(equipmentContainer, equipSlot);
+    if (equippedItem.isStackable() && wornItem != null && wornItem.getId() == itemId) {
+      //Stackable items, like ammunition, are added to the worn stack
+      quantity += wornItem.getQuantity();
+    }
+    widgetService.setFakeWornItem(equipSlot, itemId, quantity);
+    predictionStore.setSlot(PredictedContainer.WORN, equipSlot, itemId, quantity, PredictionSource.EQUIP, false);
+
+    int displacedSlot = getDisplacedSlot(equippedItem, equipmentContainer);
+    Item displacedItem = displacedSlot == NO_DISPLACED_SLOT ? null : getWornItem(equipmentContainer, displacedSlot);
+    if (displacedItem != null) {
+      widgetService.setFakeWornItem(displacedSlot, INVALID_ITEM_ID, 0);
+      predictionStore.setSlot(PredictedContainer.WORN, displacedSlot, displacedItem.getId(), displacedItem.getQuantity(), PredictionSource.EQUIP, true);
     }
-    state.setSlot(widget, opacity);
   }
 
   /**
@@ -164,43 +217,23 @@ public class EquipFeature implements Feature {
   @VisibleForTesting
   @Nullable
   public Pair<Item, Item> getEquipmentToReplace(Widget widget) {
-    final ItemStats itemStats = itemManager.getItemStats(widget.getItemId());
-    if (itemStats == null || !itemStats.isEquipable()) {
-      log.debug("Item has not status or is not equipable, will not equip it: {}", itemStats);
+    final ItemMetadata clickedItem = itemMetadataService.get(widget.getItemId());
+    if (clickedItem == null || !clickedItem.isEquipable()) {
+      log.debug("Item has no metadata or is not equipable, will not equip it: {}", clickedItem);
       return null;
     }
     Item toReplace = null;
     Item extra = null;
 
-    final ItemEquipmentStats clickedEquipment = itemStats.getEquipment();
-
     ItemContainer equipmentContainer = client.getItemContainer(InventoryID.WORN);
-    if (clickedEquipment != null && equipmentContainer != null) {
-      if (lastEquipped.getOrDefault(clickedEquipment.getSlot(), 0) == client.getTickCount()) {
-        log.debug("We have already equipped an item in the same slot this tick, will not replace it");
-        return null;
-      }
-      final int slotOfClickedItem = clickedEquipment.getSlot();
-      toReplace = equipmentContainer.getItem(slotOfClickedItem);
+    if (equipmentContainer != null) {
+      // An item equipped earlier this tick is not yet in the container, so replace what we predicted is worn
+      toReplace = getWornItem(equipmentContainer, clickedItem.getEquipSlot());
 
-      if (isWeaponSlot(slotOfClickedItem)) {
-        if (clickedEquipment.isTwoHanded()) {
-          extra = equipmentContainer.getItem(EquipmentInventorySlot.SHIELD.getSlotIdx());
-        }
-      } else if (isShieldSlot(slotOfClickedItem)) {
-        var weaponItem = equipmentContainer.getItem(EquipmentInventorySlot.WEAPON.getSlotIdx());
-        if (weaponItem != null) {
-          ItemStats weaponStat = itemManager.getItemStats(weaponItem.getId());
-          if (weaponStat != null && weaponStat.isEquipable()) {
-            ItemEquipmentStats weaponStatEquipment = weaponStat.getEquipment();
-            if (weaponStatEquipment != null && weaponStatEquipment.isTwoHanded()) {
-              //If we click a shield while have a two-handed weapon equipped, the weapon get unequipped
-              extra = weaponItem;
-            }
-          }
-        }
+      int displacedSlot = getDisplacedSlot(clickedItem, equipmentContainer);
+      if (displacedSlot != NO_DISPLACED_SLOT) {
+        extra = getWornItem(equipmentContainer, displacedSlot);
       }
-      lastEquipped.put(clickedEquipment.getSlot(), client.getTickCount());
     }
     if (extra != null && toReplace == null) {
       return Pair.of(extra, null);
@@ -208,6 +241,41 @@ public class EquipFeature implements Feature {
     return Pair.of(toReplace, extra);
   }
 
+  /**
+   * @return The slot which is emptied when {@code clickedItem} is equipped, or {@link #NO_DISPLACED_SLOT} if it only
+   * replaces its own slot
+   */
+  private int getDisplacedSlot(@Nonnull ItemMetadata clickedItem, @Nonnull ItemContainer equipmentContainer) {
+    int slotOfClickedItem = clickedItem.getEquipSlot();
+    if (isWeaponSlot(slotOfClickedItem) && clickedItem.isTwoHanded()) {
+      return EquipmentInventorySlot.SHIELD.getSlotIdx();
+    } else if (isShieldSlot(slotOfClickedItem)) {
+      Item weaponItem = getWornItem(equipmentContainer, EquipmentInventorySlot.WEAPON.getSlotIdx());
+      if (weaponItem != null) {
+        ItemMetadata weapon = itemMetadataService.get(weaponItem.getId());
+        if (weapon != null && weapon.isEquipable() && weapon.isTwoHanded()) {
+          //If we click a shield while have a two-handed weapon equipped, the weapon get unequipped
+          return EquipmentInventorySlot.WEAPON.getSlotIdx();
+        }
+      }
+    }
+    return NO_DISPLACED_SLOT;
+  }
+
+  /**
+   * @return The item in the equipment slot, or the predicted item if the slot has a prediction the server has yet to
+   * reset
+   */
+  @Nullable
+  private Item getWornItem(@Nonnull ItemContainer equipmentContainer, int equipSlot) {
+    ContainerState wornState = predictionStore.get(PredictedContainer.WORN);
+    if (wornState.isModified(equipSlot)) {
+      int itemId = wornState.getItemId(equipSlot);
+      return itemId >= 0 && !wornState.isExpectedEmpty(equipSlot) ? new Item(itemId, wornState.getQuantity(equipSlot)) : null;
+    }
+    return equipmentContainer.getItem(equipSlot);
+  }
+
   private static boolean isShieldSlot(int index) {
     return index == EquipmentInventorySlot.SHIELD.getSlotIdx();
   }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.feature.features;
+
+import static no.elg.ii.model.PrayerInfo.PRAYER_WIDGET_BITS;
+import static no.elg.ii.model.PrayerInfo.PRAYER_WIDGET_IDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.callback.ClientThread;
+import no.elg.ii.model.ConfigSnapshot;
+import no.elg.ii.service.ConfigService;
+import no.elg.ii.util.WidgetUtils;
+
+/**
+ * Render the predicted prayer state in the prayer book.
+ * <p>
+ * The background widget of each prayer is looked up once while the prayer book is open, and only prayers whose bit
+ * differs between the predicted, server and last rendered state are updated. Everything is redrawn when the prayer
+ * book is shown again, reloaded, the config changed, or when {@link ConfigSnapshot#isForceWidgetsEveryFrame()} is
+ * enabled.
+ */
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class PrayerBookRenderer {
+
+  /**
+   * Index of the background/highlight widget for a prayer
+   */
+  private static final int BACKGROUND_PRAYER_INDEX = 0;
+
+  /**
+   * Group id of the prayer book interface
+   */
+  public static final int PRAYER_BOOK_INTERFACE_ID = InterfaceID.Prayerbook.CONTAINER >>> 16;
+
+  @Inject
+  @VisibleForTesting
+  Client client;
+
+  @Inject
+  @VisibleForTesting
+  ClientThread clientThread;
+
+  @Inject
+  @VisibleForTesting
+  ConfigService configService;
+
+  /**
+   * Background widget of the prayer at the same index in {@link no.elg.ii.model.PrayerInfo#PRAYER_WIDGET_IDS}
+   */
+  private final Widget[] backgroundWidgets = new Widget[PRAYER_WIDGET_IDS.length];
+  private boolean backgroundWidgetsCached;
+
+  private boolean prayerBookVisible;
+  private boolean redrawAll = true;
+  private int renderedPrayerState;
+  private int renderedServerPrayerState;
+  @Nullable
+  private ConfigSnapshot renderedSnapshot;
+
+  /**
+   * Forget the cached widgets and redraw every prayer on the next render
+   */
+  public void invalidate() {
+    backgroundWidgetsCached = false;
+    redrawAll = true;
+    for (int i = 0; i < backgroundWidgets.length; i++) {
+      backgroundWidgets[i] = null;
+    }
+  }
+
+  /**
+   * @param prayerState       The predicted prayer state
+   * @param lastPrayerState   The predicted prayer state of the last tick
+   * @param serverPrayerState The prayer state according to the server
+   */
+  public void render(int prayerState, int lastPrayerState, int serverPrayerState) {
+    //Only update background widget when prayers was or is active
+    // The lastPrayerState is needed to make sure we disable the prayers when they are turned off
+    if (prayerState == 0 && lastPrayerState == 0) {
+      return;
+    }
+    Widget prayerContainer = client.getWidget(InterfaceID.Prayerbook.CONTAINER);
+    if (prayerContainer == null || prayerContainer.isHidden()) {
+      prayerBookVisible = false;
+      return;
+    }
+    if (!prayerBookVisible) {
+      // The prayer book might have been redrawn by the game while it was not visible
+      prayerBookVisible = true;
+      redrawAll = true;
+    }
+    if (!backgroundWidgetsCached) {
+      cacheBackgroundWidgets();
+    }
+    ConfigSnapshot snapshot = configService.getSnapshot();
+    if (snapshot != renderedSnapshot || snapshot.isForceWidgetsEveryFrame()) {
+      renderedSnapshot = snapshot;
+      redrawAll = true;
+    }
+    if (prayerState == 0 && renderedPrayerState != 0) {
+      // Every prayer must be reset as this render will not run when the last prayer state is also zero
+      redrawAll = true;
+    }
+
+    int changedBits = redrawAll ? -1 : (prayerState ^ renderedPrayerState) | (serverPrayerState ^ renderedServerPrayerState);
+    if (changedBits != 0) {
+      for (int i = 0; i < PRAYER_WIDGET_BITS.length; i++) {
+        int prayerBit = PRAYER_WIDGET_BITS[i];
+        Widget backgroundWidget = backgroundWidgets[i];
+        if ((changedBits & prayerBit) != 0 && backgroundWidget != null) {
+          renderPrayer(backgroundWidget, prayerBit, prayerState, serverPrayerState, snapshot);
+        }
+      }
+    }
+    renderedPrayerState = prayerState;
+    renderedServerPrayerState = serverPrayerState;
+    redrawAll = false;
+  }
+
+  private void cacheBackgroundWidgets() {
+    for (int i = 0; i < PRAYER_WIDGET_IDS.length; i++) {
+      Widget prayerWidget = client.getWidget(PRAYER_WIDGET_IDS[i]);
+      backgroundWidgets[i] = prayerWidget == null ? null : prayerWidget.getChild(BACKGROUND_PRAYER_INDEX);
+    }
+    backgroundWidgetsCached = true;
+    redrawAll = true;
+  }
+
+  private void renderPrayer(@Nonnull Widget backgroundWidget, int prayerBit, int prayerState, int serverPrayerState, @Nonnull ConfigSnapshot snapshot) {
+    // prayer is hidden when the bit is not set in the prayer state
+    boolean hidden = (prayerBit & prayerState) == 0;
+    boolean serverHidden = (prayerBit & serverPrayerState) == 0;
+    customizeWidget(backgroundWidget, hidden, serverHidden, snapshot);
+    if (prayerState == 0) {
+      // this render will not run next tick so make sure we are resetting everything
+      clientThread.invokeLater(() -> {
+        backgroundWidget.setHidden(hidden);
+        backgroundWidget.setOpacity(WidgetUtils.FULLY_OPAQUE);
+      });
+    }
+  }
+
+  private static void customizeWidget(@Nonnull Widget backgroundWidget, boolean hidden, boolean serverHidden, @Nonnull ConfigSnapshot snapshot) {
+    if (hidden != serverHidden) {
+      backgroundWidget.setHidden(false);
+      if (hidden) {
+        backgroundWidget.setOpacity(snapshot.getPrayerDisableOpacity());
+      } else {
+        backgroundWidget.setOpacity(snapshot.getPrayerEnableOpacity());
+      }
+    } else {
+      backgroundWidget.setHidden(serverHidden);
+      backgroundWidget.setOpacity(WidgetUtils.FULLY_OPAQUE);
+    }
+  }
+}
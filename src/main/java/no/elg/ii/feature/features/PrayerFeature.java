@@ -29,9 +29,8 @@ package no.elg.ii.feature.features;
 
 import static net.runelite.api.gameval.VarbitID.QUICKPRAYER_ACTIVE;
 import static net.runelite.api.gameval.VarbitID.QUICKPRAYER_SELECTED;
-import static no.elg.ii.model.PrayerInfo.INTERFACE_TO_BIT;
 
-import java.util.Map;
+import com.google.common.annotations.VisibleForTesting;
 import java.util.function.IntBinaryOperator;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
@@ -47,16 +46,16 @@ import net.runelite.api.events.BeforeRender;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.ScriptPostFired;
 import net.runelite.api.events.ScriptPreFired;
-import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.events.WidgetClosed;
+import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.widgets.Widget;
-import net.runelite.client.callback.ClientThread;
 import net.runelite.client.eventbus.Subscribe;
 import no.elg.ii.feature.Feature;
 import no.elg.ii.feature.state.PrayerState;
 import no.elg.ii.model.PrayerInfo;
+import no.elg.ii.model.TimedSubscriber;
+import no.elg.ii.service.FrameTimingService;
 import no.elg.ii.service.VarService;
-import no.elg.ii.service.WidgetService;
-import no.elg.ii.util.WidgetUtils;
 
 @Slf4j
 @Singleton
@@ -65,11 +64,6 @@ public class PrayerFeature implements Feature {
 
   public static final String PRAYER_CONFIG_KEY = "instantPrayer";
 
-  /**
-   * Index of the background/highlight widget for a prayer
-   */
-  private static final int BACKGROUND_PRAYER_INDEX = 0;
-
   /**
    * Script called when clicking a prayer in the prayer book
    */
@@ -96,15 +90,47 @@ public class PrayerFeature implements Feature {
   private VarService varService;
 
   @Inject
-  private ClientThread clientThread;
+  @VisibleForTesting
+  PrayerBookRenderer renderer;
 
   @Inject
-  private WidgetService widgetService;
+  @VisibleForTesting
+  public FrameTimingService frameTimingService;
 
   @Subscribe
   public void onBeforeRender(BeforeRender event) {
-    assert client.isClientThread();
-    render();
+    long start = frameTimingService.start();
+    try {
+      assert client.isClientThread();
+      renderer.render(state.getPrayerState(), state.getLastPrayerState(), state.getServerPrayerState());
+    } finally {
+      frameTimingService.record(TimedSubscriber.PRAYER_RENDER, start);
+    }
+  }
+
+  @Subscribe
+  public void onWidgetLoaded(final WidgetLoaded event) {
+    if (event.getGroupId() == PrayerBookRenderer.PRAYER_BOOK_INTERFACE_ID) {
+      renderer.invalidate();
+    }
+  }
+
+  @Subscribe
+  public void onWidgetClosed(final WidgetClosed event) {
+    if (event.getGroupId() == PrayerBookRenderer.PRAYER_BOOK_INTERFACE_ID) {
+      renderer.invalidate();
+    }
+  }
+
+  @Override
+  public void reset() {
+    Feature.super.reset();
+    renderer.invalidate();
+  }
+
+  @Override
+  public void onDisable() {
+    renderer.invalidate();
   }
 
   @Subscribe
@@ -119,18 +145,23 @@ public class PrayerFeature implements Feature {
    */
   @Subscribe
   public void onScriptPreFired(final ScriptPreFired event) {
-    assert client.isClientThread();
-    if (event.getScriptId() == TOGGLE_SINGLE_PRAYER_SCRIPT_ID && hasPrayerPoints()) {
-      ScriptEvent scriptEvent = event.getScriptEvent();
-      if (scriptEvent != null) {
-        Widget src = scriptEvent.getSource();
-        if (src != null) {
-          var prayerBit = INTERFACE_TO_BIT.getOrDefault(src.getId(), 0);
-          if (prayerBit != 0) {
-            updateBit(prayerBit, TOGGLE_OP);
+    long start = frameTimingService.start();
+    try {
+      assert client.isClientThread();
+      if (event.getScriptId() == TOGGLE_SINGLE_PRAYER_SCRIPT_ID && hasPrayerPoints()) {
+        ScriptEvent scriptEvent = event.getScriptEvent();
+        if (scriptEvent != null) {
+          Widget src = scriptEvent.getSource();
+          if (src != null) {
+            int prayerBit = PrayerInfo.interfaceToBit(src.getId());
+            if (prayerBit != 0) {
+              updateBit(prayerBit, TOGGLE_OP);
+            }
           }
         }
       }
+    } finally {
+      frameTimingService.record(TimedSubscriber.PRAYER_TOGGLE, start);
     }
   }
 
@@ -219,12 +250,6 @@ public class PrayerFeature implements Feature {
     assert (initState ^ tweakedState) == prayerBit
       : "Unexpected diff. expected=" + Integer.toBinaryString(prayerBit) + " actual=" + Integer.toBinaryString(initState ^ tweakedState);
 
-    if (initState == 0) {
-      if (log.isDebugEnabled()) {
-        log.debug("[{}] init state has no prayer, returning tweaked state", client.getTickCount());
-      }
-      return tweakedState;
-    }
     if ((tweakedState & prayerBit) == 0) {
       // A prayer was disabled, no need to check for conflicts
       // we know here (by assertions) that it was on in the initState
@@ -234,74 +259,14 @@ public class PrayerFeature implements Feature {
       return tweakedState;
     }
 
-    // A prayer was enabled, check for conflicts
-
-    int nextState = tweakedState;
-    for (int prayerConflictMask : PrayerInfo.CONFLICTING_PRAYERS) {
-      int activeInGroup = nextState & prayerConflictMask;
-      assert Integer.bitCount((initState & prayerConflictMask)) <= 1
-        : "Unexpected conflict in initState with a conflict mask. initState & prayerConflictMask= " + Integer.toBinaryString((initState & prayerConflictMask)) + " initState=" + Integer.toBinaryString(initState) + " prayerConflictMask=" + Integer.toBinaryString(prayerConflictMask);
-      if (Integer.bitCount(activeInGroup) > 1) {
-        // Keep only the just-enabled prayerBit in this conflict group
-        nextState = (nextState & ~prayerConflictMask) | prayerBit;
-      }
-    }
+    // A prayer was enabled, turn off all prayers conflicting with it
+    int nextState = tweakedState & ~PrayerInfo.conflictMask(prayerBit);
     if (log.isDebugEnabled()) {
       log.debug("[{}] init state {}, final state {} (diff {})", client.getTickCount(), Integer.toBinaryString(initState), Integer.toBinaryString(nextState), Integer.toBinaryString(initState ^ nextState));
     }
     return nextState;
   }
 
-  /**
-   * Modify whether the prayer book is active based on the internal prayer state.
-   */
-  private void render() {
-    //Only update background widget when prayers was or is active
-    // The lastPrayerState is needed to make sure we disable the prayers when they are turned off
-    int prayerState = state.getPrayerState();
-    if ((prayerState != 0 || state.getLastPrayerState() != 0)) {
-      Widget prayerContainer = client.getWidget(InterfaceID.Prayerbook.CONTAINER);
-      if (prayerContainer != null && !prayerContainer.isHidden()) {
-        int serverState = state.getServerPrayerState();
-        for (Map.Entry<Integer, Integer> entry : INTERFACE_TO_BIT.entrySet()) {
-          int prayerBit = entry.getValue();
-          int prayerWidgetId = entry.getKey();
-          Widget prayerWidget = client.getWidget(prayerWidgetId);
-          if (prayerWidget != null) {
-            Widget backgroundWidget = prayerWidget.getChild(BACKGROUND_PRAYER_INDEX);
-            if (backgroundWidget != null) {
-              // prayer is hidden when the bit is not set in the prayer state
-              boolean hidden = (prayerBit & prayerState) == 0;
-              boolean serverHidden = (prayerBit & serverState) == 0;
-              customizeWidget(backgroundWidget, hidden, serverHidden);
-              if (prayerState == 0) {
-                // this render will not run next tick so make sure we are resetting everything
-                clientThread.invokeLater(() -> {
-                  backgroundWidget.setHidden(hidden);
-                  backgroundWidget.setOpacity(WidgetUtils.FULLY_OPAQUE);
-                });
-              }
-            }
-          }
-        }
-      }
-    }
-  }
-
-  private void customizeWidget(@Nonnull Widget backgroundWidget, boolean hidden, boolean serverHidden) {
-    if (hidden != serverHidden) {
-      backgroundWidget.setHidden(false);
-      if (hidden) {
-        backgroundWidget.setOpacity(widgetService.getPrayerDisableOpacity());
-      } else {
-        backgroundWidget.setOpacity(widgetService.getPrayerEnableOpacity());
-      }
-    } else {
-      backgroundWidget.setHidden(serverHidden);
-      backgroundWidget.setOpacity(WidgetUtils.FULLY_OPAQUE);
-    }
-  }
-
   @Override
   public @NonNull String getConfigKey() {
     return PRAYER_CONFIG_KEY;
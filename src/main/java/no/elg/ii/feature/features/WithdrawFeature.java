@@ -29,10 +29,9 @@ package no.elg.ii.feature.features;
 
 import static no.elg.ii.util.InventoryUtil.findFirst;
 import static no.elg.ii.util.WidgetUtils.ZERO_QUANTITY_BANK_ITEM_OPACITY;
-import static no.elg.ii.util.WidgetUtils.isEmpty;
 
 import com.google.common.annotations.VisibleForTesting;
-import javax.annotation.Nullable;
+import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.Getter;
@@ -40,16 +39,21 @@ import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
-import net.runelite.api.ItemComposition;
 import net.runelite.api.events.MenuOptionClicked;
 import net.runelite.api.gameval.VarbitID;
 import net.runelite.api.widgets.ComponentID;
 import net.runelite.api.widgets.Widget;
-import net.runelite.client.eventbus.Subscribe;
-import net.runelite.client.game.ItemManager;
-import no.elg.ii.feature.Feature;
+import no.elg.ii.feature.MenuOptionFeature;
+import no.elg.ii.feature.MenuOptionRoute;
 import no.elg.ii.feature.state.InventoryState;
-import no.elg.ii.inventory.slot.InventorySlot;
+import no.elg.ii.feature.state.PredictedContainer;
+import no.elg.ii.feature.state.PredictionStore;
+import no.elg.ii.model.ItemMetadata;
+import no.elg.ii.model.MenuOptionIntent;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.model.TimedSubscriber;
+import no.elg.ii.service.FrameTimingService;
+import no.elg.ii.service.ItemMetadataService;
 import no.elg.ii.service.VarService;
 import no.elg.ii.service.WidgetService;
 import no.elg.ii.util.Util;
@@ -58,7 +62,7 @@ import no.elg.ii.util.WidgetUtils;
 @Slf4j
 @Singleton
 @NoArgsConstructor
-public class WithdrawFeature implements Feature {
+public class WithdrawFeature implements MenuOptionFeature {
 
   public static final String WITHDRAW_PREFIX_OPTION = "Withdraw-";
   public static final String WITHDRAW_CONFIG_KEY = "instantWithdraw";
@@ -69,7 +73,7 @@ public class WithdrawFeature implements Feature {
 
   @Inject
   @VisibleForTesting
-  public ItemManager itemManager;
+  public ItemMetadataService itemMetadataService;
 
   @Inject
   @Getter
@@ -78,85 +82,91 @@ public class WithdrawFeature implements Feature {
   private WidgetService widgetService;
   @Inject
   private VarService varService;
+  @Inject
+  private PredictionStore predictionStore;
 
-  @Subscribe
-  public void onMenuOptionClicked(final MenuOptionClicked event) {
-    Widget bankWidget = event.getWidget();
-    if (bankWidget != null && !event.isConsumed()) {
-      String menuOption = event.getMenuOption();
-      if (menuOption != null && menuOption.startsWith(WITHDRAW_PREFIX_OPTION)) {
-        int amount = Util.getNumberFromMenuOption(menuOption, bankWidget);
-        if (amount == Util.NO_MENU_OPTION_NUMBER) {
-          return;
-        }
-        log.debug("Withdrawing item {}", WidgetUtils.debugInfo(bankWidget));
-        withdraw(bankWidget, amount);
+  @Inject
+  @VisibleForTesting
+  public FrameTimingService frameTimingService;
+
+  @Override
+  public void onMenuOptionClicked(@Nonnull MenuOptionClicked event, @Nonnull Widget bankWidget, @Nonnull MenuOptionRoute route, @Nonnull MenuOptionIntent intent) {
+    long start = frameTimingService.start();
+    try {
+      int amount = intent.resolveAmount(bankWidget.getItemQuantity());
+      if (amount == Util.NO_MENU_OPTION_NUMBER) {
+        return;
       }
+      log.debug("Withdrawing item {}", WidgetUtils.debugInfo(bankWidget));
+      withdraw(bankWidget, amount);
+    } finally {
+      frameTimingService.record(TimedSubscriber.WITHDRAW_CLICKED, start);
     }
   }
 
   private void withdraw(Widget bankWidget, int amount) {
-    int originalItemId = bankWidget.getItemId();
-    ItemComposition originalComposition = itemManager.getItemComposition(originalItemId);
+    ItemMetadata originalItem = itemMetadataService.get(bankWidget.getItemId());
+    if (originalItem == null) {
+      return;
+    }
 
     //If we're withdrawing as a note, we need to get the item id of the note as the banked item is never the noted item
-    int bankWidgetItemId;
-    ItemComposition bankWidgetComposition;
-    if (isWithdrawingAsNote() && isItemNotable(originalComposition)) {
-      bankWidgetItemId = originalComposition.getLinkedNoteId();
-      bankWidgetComposition = itemManager.getItemComposition(bankWidgetItemId);
-    } else {
-      bankWidgetItemId = originalItemId;
-      bankWidgetComposition = originalComposition;
+    ItemMetadata bankWidgetItem = originalItem;
+    if (originalItem.isNotable() && isWithdrawingAsNote()) {
+      ItemMetadata notedItem = itemMetadataService.get(originalItem.getLinkedNoteId());
+      if (notedItem != null) {
+        bankWidgetItem = notedItem;
+      }
     }
+    int bankWidgetItemId = bankWidgetItem.getItemId();
 
     //Only withdraw the amount that is available
     int quantityToWithdraw = Math.min(bankWidget.getItemQuantity(), amount);
 
-    if (bankWidgetComposition.isStackable()) {
+    if (bankWidgetItem.isStackable()) {
       Widget inventoryWidget = findFirst(client, ComponentID.BANK_INVENTORY_ITEM_CONTAINER, w -> w.getItemId() == bankWidgetItemId);
       if (inventoryWidget != null) {
         //There is a matching widget, so we can just update the quantity
         updateBankItem(bankWidget, quantityToWithdraw);
         widgetService.updateQuantity(inventoryWidget, quantityToWithdraw);
-        getState().setSlot(inventoryWidget.getIndex(), bankWidgetItemId, inventoryWidget.getItemQuantity(), widgetService.getChangeOpacity());
+        getState().setSlot(inventoryWidget.getIndex(), bankWidgetItemId, inventoryWidget.getItemQuantity(), widgetService.getChangeOpacity(), PredictionSource.WITHDRAW, false);
       } else {
-        fillFirstEmpty(bankWidget, bankWidgetItemId, quantityToWithdraw);
+        fillEmptySlots(bankWidget, bankWidgetItemId, 1, quantityToWithdraw);
       }
     } else {
       //Item is not stackable, so we have to fill the inventory with the item until we run out of space or items
-      for (int i = 0; i < quantityToWithdraw; i++) {
-        boolean outOfSpace = fillFirstEmpty(bankWidget, bankWidgetItemId, 1);
-        if (outOfSpace) {
-          break;
-        }
-      }
+      fillEmptySlots(bankWidget, bankWidgetItemId, quantityToWithdraw, 1);
     }
   }
 
   /**
-   * @return Whether the item can be noted
+   * Fill the first {@code slotsToFill} free inventory slots with {@code quantityPerSlot} of the item each. The free
+   * slots are only computed once, and the bank widget is only updated once with the total withdrawn
    */
-  private boolean isItemNotable(ItemComposition itemComposition) {
-    return itemComposition.getLinkedNoteId() > 0;
-  }
-
-  /**
-   * @return {@code false} if there is no more space in the inventory, {@code true} otherwise
-   */
-  private boolean fillFirstEmpty(Widget bankWidget, int actualItemId, int quantityToWithdraw) {
-    var emptyWidget = findFirst(client, ComponentID.BANK_INVENTORY_ITEM_CONTAINER, widget -> {
-      @Nullable
-      InventorySlot slot = getState().getSlot(widget.getIndex());
-      return isEmpty(widget) && slot != null && !slot.hasValidItemId();
-    });
-    if (emptyWidget != null) {
-      widgetService.setFakeWidgetItem(emptyWidget, actualItemId, quantityToWithdraw);
-      updateBankItem(bankWidget, quantityToWithdraw);
-      getState().setSlot(emptyWidget.getIndex(), bankWidget.getItemId(), quantityToWithdraw, widgetService.getChangeOpacity());
-      return false;
+  private void fillEmptySlots(Widget bankWidget, int actualItemId, int slotsToFill, int quantityPerSlot) {
+    Widget inventoryContainer = client.getWidget(ComponentID.BANK_INVENTORY_ITEM_CONTAINER);
+    if (inventoryContainer == null) {
+      return;
+    }
+    Widget[] inventoryWidgets = inventoryContainer.getDynamicChildren();
+    int freeSlotMask = getState().freeSlotMask(inventoryWidgets);
+    int changeOpacity = widgetService.getChangeOpacity();
+    int filled = 0;
+    for (Widget emptyWidget : inventoryWidgets) {
+      if (filled >= slotsToFill || freeSlotMask == 0) {
+        break;
+      }
+      int slotBit = 1 << emptyWidget.getIndex();
+      if ((freeSlotMask & slotBit) != 0) {
+        freeSlotMask &= ~slotBit;
+        widgetService.setFakeWidgetItem(emptyWidget, actualItemId, quantityPerSlot);
+        getState().setSlot(emptyWidget.getIndex(), bankWidget.getItemId(), quantityPerSlot, changeOpacity, PredictionSource.WITHDRAW, false);
+        filled++;
+      }
+    }
+    if (filled > 0) {
+      updateBankItem(bankWidget, filled * quantityPerSlot);
     }
-    return true;
   }
 
   private void updateBankItem(@NonNull Widget bankWidget, int quantityToWithdraw) {
@@ -172,6 +182,7 @@ public class WithdrawFeature implements Feature {
     } else {
       widgetService.setAsChangeOpacity(bankWidget, false);
     }
+    predictionStore.setSlot(PredictedContainer.BANK, bankWidget.getIndex(), bankWidget.getItemId(), bankWidget.getItemQuantity(), PredictionSource.WITHDRAW, false);
   }
 
   /**
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.feature.state;
+
+import static no.elg.ii.inventory.slot.InventorySlot.INVALID_ITEM_ID;
+import static no.elg.ii.inventory.slot.InventorySlot.NO_CHANGED_TICK;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import no.elg.ii.model.ConfigSnapshot;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.PredictionMetricsService;
+
+/**
+ * The predicted item and quantity of each slot in one {@link PredictedContainer}, stored as parallel primitive arrays
+ * sized to the container. Which slots are predicted is kept as a bit set in a {@code long[]}, so iterating over the
+ * predicted slots skips 64 unpredicted slots at a time and nothing is allocated.
+ * <p>
+ * To iterate over the predicted slots without allocating use
+ * <pre>{@code
+ * for (int index = state.nextModifiedSlot(0); index >= 0; index = state.nextModifiedSlot(index + 1)) {
+ *   ...
+ * }
+ * }</pre>
+ * <p>
+ * The earliest tick a slot can expire and the earliest time a slot which was too early to compare can be compared are
+ * kept, so {@link #validateDue(ItemContainer, int, long, ConfigSnapshot, PredictionMetricsService, SlotResetListener)}
+ * does nothing until a slot is due.
+ * <p>
+ * The state should only be modified by the client thread
+ */
+@Slf4j
+public final class ContainerState {
+
+  /**
+   * Called for every slot which is reset
+   */
+  @FunctionalInterface
+  public interface SlotResetListener {
+
+    /**
+     * @param index The index of the slot which was reset
+     * @param item  The actual item in the slot, or {@code null} if the container does not have the slot
+     */
+    void onSlotReset(int index, @Nullable Item item);
+  }
+
+  @Getter
+  @Nonnull
+  private final PredictedContainer container;
+
+  private int[] itemIds;
+  private int[] quantities;
+  private int[] changedTicks;
+  private long[] changedMs;
+  private PredictionSource[] sources;
+
+  /**
+   * Bit {@code i % 64} of word {@code i / 64} is set when slot {@code i} is predicted
+   */
+  private long[] modifiedWords;
+
+  /**
+   * Bit {@code i % 64} of word {@code i / 64} is set when slot {@code i} is predicted to become empty, rather than to
+   * hold its item
+   */
+  private long[] expectEmptyWords;
+
+  /**
+   * Bit {@code i % 64} of word {@code i / 64} is set when the prediction in slot {@code i} has been confirmed by the
+   * container, so its outcome has been recorded
+   */
+  private long[] confirmedWords;
+
+  /**
+   * Bit {@code i % 64} of word {@code i / 64} is set when slot {@code i} has not been compared since it was predicted,
+   * or was too early to compare the last time
+   */
+  private long[] uncomparedWords;
+
+  private int modifiedCount;
+
+  /**
+   * No predicted slot was changed before this tick, so none can expire before this tick plus
+   * {@link ConfigSnapshot#getMaxUnmodifiedTicks()}. May be earlier than the actual earliest tick
+   */
+  private int earliestChangedTick = Integer.MAX_VALUE;
+
+  /**
+   * No uncompared slot was changed before this time, so none can be compared before this time plus
+   * {@link ConfigSnapshot#getMinChangedMs()}. May be earlier than the actual earliest time
+   */
+  private long earliestUncomparedMs = Long.MAX_VALUE;
+
+  public ContainerState(@Nonnull PredictedContainer container) {
+    this.container = container;
+    allocate(container.getSize());
+  }
+
+  /**
+   * @return How many slots there is room for
+   */
+  public int capacity() {
+    return itemIds.length;
+  }
+
+  /**
+   * Predict that the slot at {@code index} will hold {@code quantity} of {@code itemId}
+   */
+  public void setSlot(int index, int itemId, int quantity, int tickCount, long millis) {
+    setSlot(index, itemId, quantity, PredictionSource.UNKNOWN, false, tickCount, millis);
+  }
+
+  /**
+   * Predict that the slot at {@code index} will hold {@code quantity} of {@code itemId}
+   *
+   * @param source      The feature which made the prediction
+   * @param expectEmpty Whether the slot is predicted to become empty, rather than to hold {@code itemId}. The item
+   *                    should then be what the slot holds until the server has handled the action
+   */
+  public void setSlot(int index, int itemId, int quantity, @Nonnull PredictionSource source, boolean expectEmpty, int tickCount, long millis) {
+    if (index < 0) {
+      log.debug("Tried to set invalid index {} in {}", index, container);
+      return;
+    }
+    if (index >= capacity()) {
+      allocate(Math.max(index + 1, capacity() * 2));
+    }
+    itemIds[index] = itemId;
+    quantities[index] = quantity;
+    changedTicks[index] = tickCount;
+    changedMs[index] = millis;
+    sources[index] = source;
+    if (!isModified(index)) {
+      modifiedWords[index >>> 6] |= 1L << index;
+      modifiedCount++;
+    }
+    if (expectEmpty) {
+      expectEmptyWords[index >>> 6] |= 1L << index;
+    } else {
+      expectEmptyWords[index >>> 6] &= ~(1L << index);
+    }
+    confirmedWords[index >>> 6] &= ~(1L << index);
+    uncomparedWords[index >>> 6] |= 1L << index;
+    earliestChangedTick = Math.min(earliestChangedTick, tickCount);
+    earliestUncomparedMs = Math.min(earliestUncomparedMs, millis);
+  }
+
+  public boolean isModified(int index) {
+    return index >= 0 && index < capacity() && (modifiedWords[index >>> 6] & (1L << index)) != 0;
+  }
+
+  public boolean hasModifiedSlots() {
+    return modifiedCount != 0;
+  }
+
+  /**
+   * @return The index of the first predicted slot at or after {@code fromIndex}, or -1 if there is none
+   */
+  public int nextModifiedSlot(int fromIndex) {
+    if (fromIndex < 0 || fromIndex >= capacity()) {
+      return -1;
+    }
+    int wordIndex = fromIndex >>> 6;
+    long word = modifiedWords[wordIndex] & (-1L << fromIndex);
+    while (word == 0) {
+      if (++wordIndex == modifiedWords.length) {
+        return -1;
+      }
+      word = modifiedWords[wordIndex];
+    }
+    return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+  /**
+   * @return The predicted item id of the slot at {@code index}. The slot must be predicted
+   */
+  public int getItemId(int index) {
+    return itemIds[index];
+  }
+
+  /**
+   * @return Whether the slot at {@code index} is predicted to become empty. The slot must be predicted
+   */
+  public boolean isExpectedEmpty(int index) {
+    return (expectEmptyWords[index >>> 6] & (1L << index)) != 0;
+  }
+
+  /**
+   * @return The predicted quantity of the slot at {@code index}. The slot must be predicted
+   */
+  public int getQuantity(int index) {
+    return quantities[index];
+  }
+
+  /**
+   * @return The tick the slot at {@code index} was predicted. The slot must be predicted
+   */
+  public int getChangedTick(int index) {
+    return changedTicks[index];
+  }
+
+  /**
+   * @return The feature which predicted the slot at {@code index}. The slot must be predicted
+   */
+  @Nonnull
+  public PredictionSource getSource(int index) {
+    return sources[index];
+  }
+
+  /**
+   * Stop predicting the slot at {@code index}, the caller is responsible for restoring what is shown
+   */
+  public void clearSlot(int index) {
+    if (!isModified(index)) {
+      return;
+    }
+    itemIds[index] = INVALID_ITEM_ID;
+    quantities[index] = 0;
+    changedTicks[index] = NO_CHANGED_TICK;
+    changedMs[index] = 0L;
+    sources[index] = PredictionSource.UNKNOWN;
+    long bit = 1L << index;
+    modifiedWords[index >>> 6] &= ~bit;
+    expectEmptyWords[index >>> 6] &= ~bit;
+    confirmedWords[index >>> 6] &= ~bit;
+    uncomparedWords[index >>> 6] &= ~bit;
+    if (--modifiedCount == 0) {
+      earliestChangedTick = Integer.MAX_VALUE;
+      earliestUncomparedMs = Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * @return Whether a predicted slot may have expired, or a slot which was too early to compare can now be compared
+   */
+  public boolean isDue(int tickCount, long nowMillis, @Nonnull ConfigSnapshot snapshot) {
+    return modifiedCount != 0
+           && ((long) tickCount - earliestChangedTick >= snapshot.getMaxUnmodifiedTicks() || nowMillis - earliestUncomparedMs >= snapshot.getMinChangedMs());
+  }
+
+  /**
+   * Compare every predicted slot with the container, and reset the slots the {@link SlotVerdict} says must be reset.
+   * Should be called when the container changed
+   *
+   * @param metrics  Where the outcome of every prediction which is confirmed or reset is recorded
+   * @param listener Called for every slot which was reset, after it has been cleared
+   */
+  public void validate(@Nonnull ItemContainer itemContainer, int tickCount, long nowMillis, @Nonnull ConfigSnapshot snapshot,
+                       @Nonnull PredictionMetricsService metrics, @Nonnull SlotResetListener listener) {
+    validateSlots(false, itemContainer, tickCount, nowMillis, snapshot, metrics, listener);
+  }
+
+  /**
+   * Like {@link #validate(ItemContainer, int, long, ConfigSnapshot, PredictionMetricsService, SlotResetListener)}, but
+   * only compares the slots which may have expired or were too early to compare. Does nothing unless
+   * {@link #isDue(int, long, ConfigSnapshot)}, so it is cheap to call every tick
+   */
+  public void validateDue(@Nonnull ItemContainer itemContainer, int tickCount, long nowMillis, @Nonnull ConfigSnapshot snapshot,
+                          @Nonnull PredictionMetricsService metrics, @Nonnull SlotResetListener listener) {
+    if (isDue(tickCount, nowMillis, snapshot)) {
+      validateSlots(true, itemContainer, tickCount, nowMillis, snapshot, metrics, listener);
+    }
+  }
+
+  private void validateSlots(boolean dueOnly, @Nonnull ItemContainer itemContainer, int tickCount, long nowMillis, @Nonnull ConfigSnapshot snapshot,
+                             @Nonnull PredictionMetricsService metrics, @Nonnull SlotResetListener listener) {
+    int nextEarliestChangedTick = Integer.MAX_VALUE;
+    long nextEarliestUncomparedMs = Long.MAX_VALUE;
+    for (int index = nextModifiedSlot(0); index >= 0; index = nextModifiedSlot(index + 1)) {
+      long bit = 1L << index;
+      boolean uncompared = (uncomparedWords[index >>> 6] & bit) != 0;
+      if (!dueOnly
+          || (long) tickCount - changedTicks[index] >= snapshot.getMaxUnmodifiedTicks()
+          || uncompared && nowMillis - changedMs[index] >= snapshot.getMinChangedMs()) {
+        if (validateSlot(index, itemContainer, tickCount, nowMillis, snapshot, metrics, listener)) {
+          continue;
+        }
+        uncompared = (uncomparedWords[index >>> 6] & bit) != 0;
+      }
+      nextEarliestChangedTick = Math.min(nextEarliestChangedTick, changedTicks[index]);
+      if (uncompared) {
+        nextEarliestUncomparedMs = Math.min(nextEarliestUncomparedMs, changedMs[index]);
+      }
+    }
+    earliestChangedTick = nextEarliestChangedTick;
+    earliestUncomparedMs = nextEarliestUncomparedMs;
+  }
+
+  /**
+   * @return Whether the slot was reset
+   */
+  private boolean validateSlot(int index, @Nonnull ItemContainer itemContainer, int tickCount, long nowMillis, @Nonnull ConfigSnapshot snapshot,
+                               @Nonnull PredictionMetricsService metrics, @Nonnull SlotResetListener listener) {
+    Item item = itemContainer.getItem(index);
+    int actualItemId = item == null ? INVALID_ITEM_ID : item.getId();
+    int actualQuantity = item == null ? INVALID_ITEM_ID : item.getQuantity();
+    long msSinceChange = nowMillis - changedMs[index];
+    long bit = 1L << index;
+    // Record the confirmation even when it is too early to reset, to not skew the latency
+    boolean confirmed = (confirmedWords[index >>> 6] & bit) != 0;
+    if (!confirmed && SlotVerdict.isConfirmed(itemIds[index], quantities[index], isExpectedEmpty(index), actualItemId, actualQuantity)) {
+      confirmedWords[index >>> 6] |= bit;
+      confirmed = true;
+      metrics.record(sources[index], PredictionOutcome.CONFIRMED, msSinceChange * ClockService.NANOS_PER_MILLI);
+    }
+    SlotVerdict verdict = SlotVerdict.of(itemIds[index], quantities[index], changedTicks[index], msSinceChange, actualItemId, actualQuantity,
+      tickCount, snapshot);
+    if (verdict == SlotVerdict.TOO_EARLY) {
+      uncomparedWords[index >>> 6] |= bit;
+    } else {
+      uncomparedWords[index >>> 6] &= ~bit;
+    }
+    if (!verdict.isReset()) {
+      return false;
+    }
+    log.debug("Resetting slot {} in {} as it is {}", index, container, verdict);
+    if (!confirmed) {
+      metrics.record(sources[index], verdict.getOutcome(), msSinceChange * ClockService.NANOS_PER_MILLI);
+    }
+    clearSlot(index);
+    listener.onSlotReset(index, item);
+    return true;
+  }
+
+  /**
+   * Reset every predicted slot
+   *
+   * @param itemContainer The container to pass the actual items from, or {@code null} if it is not available
+   * @param listener      Called for every slot which was reset, after it has been cleared
+   */
+  public void resetAll(@Nullable ItemContainer itemContainer, @Nonnull SlotResetListener listener) {
+    for (int index = nextModifiedSlot(0); index >= 0; index = nextModifiedSlot(index + 1)) {
+      clearSlot(index);
+      listener.onSlotReset(index, itemContainer == null ? null : itemContainer.getItem(index));
+    }
+  }
+
+  private void allocate(int size) {
+    int oldSize = itemIds == null ? 0 : itemIds.length;
+    int words = (size + 63) >>> 6;
+    itemIds = itemIds == null ? new int[size] : Arrays.copyOf(itemIds, size);
+    quantities = quantities == null ? new int[size] : Arrays.copyOf(quantities, size);
+    changedTicks = changedTicks == null ? new int[size] : Arrays.copyOf(changedTicks, size);
+    changedMs = changedMs == null ? new long[size] : Arrays.copyOf(changedMs, size);
+    sources = sources == null ? new PredictionSource[size] : Arrays.copyOf(sources, size);
+    modifiedWords = modifiedWords == null ? new long[words] : Arrays.copyOf(modifiedWords, words);
+    expectEmptyWords = expectEmptyWords == null ? new long[words] : Arrays.copyOf(expectEmptyWords, words);
+    confirmedWords = confirmedWords == null ? new long[words] : Arrays.copyOf(confirmedWords, words);
+    uncomparedWords = uncomparedWords == null ? new long[words] : Arrays.copyOf(uncomparedWords, words);
+    Arrays.fill(itemIds, oldSize, size, INVALID_ITEM_ID);
+    Arrays.fill(changedTicks, oldSize, size, NO_CHANGED_TICK);
+    Arrays.fill(sources, oldSize, size, PredictionSource.UNKNOWN);
+  }
+}
@@ -27,17 +27,17 @@
 package no.elg.ii.feature.state;
 
 import static no.elg.ii.inventory.slot.InventorySlot.INVALID_ITEM_ID;
+import static no.elg.ii.inventory.slot.InventorySlot.NO_CHANGED_TICK;
+import static no.elg.ii.inventory.slot.InventorySlot.RESET_ITEM_ID;
 import static no.elg.ii.util.InventoryUtil.INVENTORY_SIZE;
+import static no.elg.ii.util.WidgetUtils.FULLY_TRANSPARENT;
 
 import com.google.common.annotations.VisibleForTesting;
 import java.util.Arrays;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -46,14 +46,19 @@ import net.runelite.api.Item;
 import net.runelite.api.ItemContainer;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.widgets.Widget;
-import no.elg.ii.InstantInventoryConfig;
 import no.elg.ii.InstantInventoryPlugin;
 import no.elg.ii.feature.Feature;
-import no.elg.ii.inventory.slot.IndexedInventorySlot;
 import no.elg.ii.inventory.slot.InventorySlot;
-import no.elg.ii.model.IndexedWidget;
+import no.elg.ii.model.ConfigSnapshot;
+import no.elg.ii.model.PredictionOutcome;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.ConfigService;
 import no.elg.ii.service.InventoryService;
+import no.elg.ii.service.PredictionMetricsService;
 import no.elg.ii.service.WidgetService;
+import no.elg.ii.util.TimingWheel;
+import no.elg.ii.util.WidgetUtils;
 
 /**
  * Hold the state of the players inventory. The state is checked every server tick in
@@ -61,13 +66,22 @@ import no.elg.ii.service.WidgetService;
  * <p>
  * A {@link Feature} uses this class to handle how to render the changes on the client. Typically, a
  * feature will modify the rendering of a given item in the inventory of the player when the
- * {@link #getSlot(int)} is different to {@link InventorySlot#INVALID_ITEM_ID}.
+ * {@link #getItemId(int)} is different to {@link InventorySlot#INVALID_ITEM_ID}.
+ * <p>
+ * The state is stored as parallel primitive arrays indexed by inventory slot, and a bit mask of which slots currently
+ * hold a valid item id. This is to not allocate anything when the state is read every frame or every tick.
+ * To iterate over the active slots without allocating use
+ * <pre>{@code
+ * for (int mask = state.getActiveSlotMask(); mask != 0; mask &= mask - 1) {
+ *   int index = Integer.numberOfTrailingZeros(mask);
+ *   ...
+ * }
+ * }</pre>
  * <p>
  * The state should only be modified by the client thread
  */
 @EqualsAndHashCode
 @Slf4j
-@AllArgsConstructor
 @NoArgsConstructor
 @Singleton
 public class InventoryState implements FeatureState {
@@ -78,13 +92,128 @@ public class InventoryState implements FeatureState {
   public static final int DEFAULT_MAX_UNMODIFIED_TICKS = 1;
 
   /**
-   * The tick the item was modified
+   * A mask with a bit set for every slot in the inventory
+   */
+  public static final int ALL_SLOTS_MASK = (1 << INVENTORY_SIZE) - 1;
+
+  /**
+   * How many older predictions a slot can hold while waiting for the server, in addition to the one shown
+   */
+  public static final int MAX_PENDING_PREDICTIONS = 4;
+
+  /**
+   * How many ticks ahead a slot can time out without being looked at before it is due
+   */
+  private static final int EXPIRY_WHEEL_BUCKETS = 64;
+
+  /**
+   * The item id of each slot, or {@link InventorySlot#INVALID_ITEM_ID}/{@link InventorySlot#RESET_ITEM_ID} if the
+   * slot is not modified
+   */
+  private final int[] itemIds = new int[INVENTORY_SIZE];
+
+  /**
+   * How many of the item in each slot
+   */
+  private final int[] quantities = new int[INVENTORY_SIZE];
+
+  /**
+   * The opacity each slot should be rendered with
+   */
+  private final int[] opacities = new int[INVENTORY_SIZE];
+
+  /**
+   * The tick each slot was modified, or {@link InventorySlot#NO_CHANGED_TICK} if it has not been modified
+   */
+  private final int[] changedTicks = new int[INVENTORY_SIZE];
+
+  /**
+   * When each slot was modified in {@link ClockService#getMillis()}. This is to remove flickering
+   */
+  private final long[] changedMs = new long[INVENTORY_SIZE];
+
+  /**
+   * Which feature made the prediction in each slot
+   */
+  private final PredictionSource[] sources = new PredictionSource[INVENTORY_SIZE];
+
+  /**
+   * The older predictions of each slot which the server has yet to reach, oldest first. Slot {@code i} uses the
+   * entries from {@code i * MAX_PENDING_PREDICTIONS} to {@code i * MAX_PENDING_PREDICTIONS + pendingCounts[i]}
    */
-  private final InventorySlot[] slots = new InventorySlot[INVENTORY_SIZE];
+  private final int[] pendingItemIds = new int[INVENTORY_SIZE * MAX_PENDING_PREDICTIONS];
+  private final int[] pendingQuantities = new int[INVENTORY_SIZE * MAX_PENDING_PREDICTIONS];
+  private final long[] pendingChangedMs = new long[INVENTORY_SIZE * MAX_PENDING_PREDICTIONS];
+  private final boolean[] pendingExpectEmpty = new boolean[INVENTORY_SIZE * MAX_PENDING_PREDICTIONS];
+  private final PredictionSource[] pendingSources = new PredictionSource[INVENTORY_SIZE * MAX_PENDING_PREDICTIONS];
+
+  /**
+   * How many older predictions each slot is waiting on
+   */
+  private final int[] pendingCounts = new int[INVENTORY_SIZE];
+
+  /**
+   * Bit {@code i} is set when the oldest pending prediction of slot {@code i} is the current state of the inventory
+   * container, i.e., the server has caught up to it and its outcome has already been recorded
+   */
+  private int reachedPendingSlotMask;
+
+  /**
+   * Bit {@code i} is set when slot {@code i} has a valid item id
+   */
+  private int activeSlotMask;
+
+  /**
+   * Bit {@code i} is set when slot {@code i} has a changed tick, i.e., it must be validated
+   */
+  private int modifiedSlotMask;
+
+  /**
+   * Bit {@code i} is set when slot {@code i} must be compared with the inventory container once its
+   * {@link ConfigSnapshot#getMinChangedMs()} has passed
+   */
+  private int unvalidatedSlotMask;
+
+  /**
+   * Bit {@code i} is set when slot {@code i} is predicted to become empty, rather than to hold its item id and quantity
+   */
+  private int expectEmptySlotMask;
+
+  /**
+   * Bit {@code i} is set when the prediction in slot {@code i} has been confirmed by the inventory container, i.e., its
+   * outcome has already been recorded
+   */
+  private int confirmedSlotMask;
+
+  /**
+   * When each modified slot times out, and when its {@link ConfigSnapshot#getMinChangedMs()} has passed
+   */
+  @EqualsAndHashCode.Exclude
+  private final TimingWheel expiryWheel = new TimingWheel(EXPIRY_WHEEL_BUCKETS);
+
+  /**
+   * The item id in each slot of the inventory container when it was last reconciled
+   *
+   * @see #reconcile(ItemContainer)
+   */
+  private final int[] lastContainerItemIds = new int[INVENTORY_SIZE];
+
+  /**
+   * The quantity in each slot of the inventory container when it was last reconciled
+   */
+  private final int[] lastContainerQuantities = new int[INVENTORY_SIZE];
+
+  /**
+   * Bit {@code i} is set when slot {@code i} has changed, or the inventory has been redrawn, since the widgets were
+   * last forced to reflect the state
+   *
+   * @see no.elg.ii.service.EnsureWidgetStateService
+   */
+  private int dirtySlotMask;
 
   @Inject
   @VisibleForTesting
-  InstantInventoryConfig config;
+  ConfigService configService;
 
   @Inject
   @VisibleForTesting
@@ -96,16 +225,54 @@ public class InventoryState implements FeatureState {
   @Inject
   private WidgetService widgetService;
 
+  @Inject
+  @VisibleForTesting
+  ClockService clock;
+
+  @Inject
+  @EqualsAndHashCode.Exclude
+  private PredictionMetricsService predictionMetricsService;
+
   {
-    Arrays.fill(slots, InventorySlot.UNMODIFIED_SLOT);
+    Arrays.fill(itemIds, INVALID_ITEM_ID);
+    Arrays.fill(sources, PredictionSource.UNKNOWN);
+    Arrays.fill(pendingSources, PredictionSource.UNKNOWN);
+    Arrays.fill(opacities, FULLY_TRANSPARENT);
+    Arrays.fill(changedTicks, NO_CHANGED_TICK);
+    Arrays.fill(lastContainerItemIds, INVALID_ITEM_ID);
+  }
+
+  @VisibleForTesting
+  public InventoryState(ConfigService configService, Client client, InventoryService inventoryService, WidgetService widgetService, ClockService clock) {
+    this(configService, client, inventoryService, widgetService, clock, new PredictionMetricsService());
+  }
+
+  @VisibleForTesting
+  public InventoryState(ConfigService configService, Client client, InventoryService inventoryService, WidgetService widgetService, ClockService clock,
+                        PredictionMetricsService predictionMetricsService) {
+    this.configService = configService;
+    this.client = client;
+    this.inventoryService = inventoryService;
+    this.widgetService = widgetService;
+    this.clock = clock;
+    this.predictionMetricsService = predictionMetricsService;
   }
 
   /**
    * Update the {@code itemId} at {@code index} will also update which tick the item was modified
    */
   public void setSlot(Widget widget, int opacity) {
-    int index = widget.getIndex();
-    setSlot(index, new InventorySlot(client.getTickCount(), widget.getItemId(), widget.getItemQuantity(), opacity));
+    setSlot(widget, opacity, PredictionSource.UNKNOWN, false);
+  }
+
+  /**
+   * Update the slot of the widget to the item currently shown by the widget
+   *
+   * @param source      The feature which made the prediction
+   * @param expectEmpty Whether the slot is predicted to become empty, rather than to hold the item of the widget
+   */
+  public void setSlot(Widget widget, int opacity, @Nonnull PredictionSource source, boolean expectEmpty) {
+    setSlot(widget.getIndex(), widget.getItemId(), widget.getItemQuantity(), opacity, source, expectEmpty);
   }
 
   /**
@@ -115,19 +282,190 @@ public class InventoryState implements FeatureState {
    * @param itemId The new itemId, intended to be the current item in the players inventory
    */
   public void setSlot(int index, int itemId, int quantity, int opacity) {
-    setSlot(index, new InventorySlot(client.getTickCount(), itemId, quantity, opacity));
+    setSlot(index, itemId, quantity, opacity, PredictionSource.UNKNOWN, false);
   }
 
-  private void setSlot(int index, @Nonnull InventorySlot slot) {
+  /**
+   * Update the {@code itemId} at {@code index} will also update which tick the item was modified
+   *
+   * @param index       The index of the item
+   * @param itemId      The new itemId, intended to be the current item in the players inventory
+   * @param source      The feature which made the prediction
+   * @param expectEmpty Whether the slot is predicted to become empty, rather than to hold {@code itemId}
+   */
+  public void setSlot(int index, int itemId, int quantity, int opacity, @Nonnull PredictionSource source, boolean expectEmpty) {
     assert this.client.isClientThread();
     if (isValidIndex(index)) {
-      log.trace("Setting index {} to {}", index, slot);
-      slots[index] = slot;
+      if (log.isTraceEnabled()) {
+        log.trace("Setting index {} to item id {}, quantity {}, opacity {}", index, itemId, quantity, opacity);
+      }
+      queuePendingPrediction(index);
+      itemIds[index] = itemId;
+      quantities[index] = quantity;
+      opacities[index] = opacity;
+      changedTicks[index] = client.getTickCount();
+      changedMs[index] = clock.getMillis();
+      updateActiveBit(index);
+      setPrediction(index, source, expectEmpty);
+      modifiedSlotMask |= 1 << index;
+      dirtySlotMask |= 1 << index;
+      scheduleExpiry(index, configService.getSnapshot());
     } else {
-      log.debug("Tried to set invalid index {} to {}", index, slot);
+      log.debug("Tried to set invalid index {} to item id {}", index, itemId);
+    }
+  }
+
+  /**
+   * Set every slot in {@code slotMask} to the item shown in its first non-empty open inventory widget. The tick and
+   * time is only read once for all the slots.
+   *
+   * @param slotMask The slots to set, slots without a non-empty open inventory widget are skipped
+   * @return The mask of the slots which were set
+   */
+  public int setSlotsFromWidgets(int slotMask, int opacity) {
+    return setSlotsFromWidgets(slotMask, opacity, PredictionSource.UNKNOWN, false);
+  }
+
+  /**
+   * Set every slot in {@code slotMask} to the item shown in its first non-empty open inventory widget. The tick and
+   * time is only read once for all the slots.
+   *
+   * @param slotMask    The slots to set, slots without a non-empty open inventory widget are skipped
+   * @param source      The feature which made the prediction
+   * @param expectEmpty Whether the slots are predicted to become empty, rather than to hold the item of the widget
+   * @return The mask of the slots which were set
+   */
+  public int setSlotsFromWidgets(int slotMask, int opacity, @Nonnull PredictionSource source, boolean expectEmpty) {
+    assert this.client.isClientThread();
+    int tickCount = client.getTickCount();
+    long millis = clock.getMillis();
+    int setSlotMask = 0;
+    for (int mask = slotMask & ALL_SLOTS_MASK; mask != 0; mask &= mask - 1) {
+      int index = Integer.numberOfTrailingZeros(mask);
+      Widget widget = firstNonEmptyWidget(index);
+      if (widget != null) {
+        queuePendingPrediction(index);
+        itemIds[index] = widget.getItemId();
+        quantities[index] = widget.getItemQuantity();
+        opacities[index] = opacity;
+        changedTicks[index] = tickCount;
+        changedMs[index] = millis;
+        updateActiveBit(index);
+        setPrediction(index, source, expectEmpty);
+        setSlotMask |= 1 << index;
+      }
+    }
+    modifiedSlotMask |= setSlotMask;
+    dirtySlotMask |= setSlotMask;
+    ConfigSnapshot snapshot = configService.getSnapshot();
+    for (int mask = setSlotMask; mask != 0; mask &= mask - 1) {
+      scheduleExpiry(Integer.numberOfTrailingZeros(mask), snapshot);
+    }
+    if (log.isTraceEnabled()) {
+      log.trace("Set slots {} from widgets with opacity {}", Integer.toBinaryString(setSlotMask), opacity);
+    }
+    return setSlotMask;
+  }
+
+  private void setPrediction(int index, PredictionSource source, boolean expectEmpty) {
+    sources[index] = source;
+    if (expectEmpty) {
+      expectEmptySlotMask |= 1 << index;
+    } else {
+      expectEmptySlotMask &= ~(1 << index);
+    }
+    confirmedSlotMask &= ~(1 << index);
+  }
+
+  /**
+   * Keep the prediction currently in the slot at {@code index} if the server has yet to confirm it, so a new prediction
+   * in the same slot does not reset when the server reaches the older one first
+   */
+  private void queuePendingPrediction(int index) {
+    int bit = 1 << index;
+    if ((modifiedSlotMask & bit) == 0 || (confirmedSlotMask & bit) != 0) {
+      return;
+    }
+    boolean expectEmpty = (expectEmptySlotMask & bit) != 0;
+    if (itemIds[index] < 0 && !expectEmpty) {
+      return;
+    }
+    int base = index * MAX_PENDING_PREDICTIONS;
+    int count = pendingCounts[index];
+    if (count == MAX_PENDING_PREDICTIONS) {
+      log.debug("Too many pending predictions in slot {}, forgetting the oldest", index);
+      removeOldestPending(index, 1);
+      count--;
+    }
+    int pos = base + count;
+    pendingItemIds[pos] = itemIds[index];
+    pendingQuantities[pos] = quantities[index];
+    pendingChangedMs[pos] = changedMs[index];
+    pendingExpectEmpty[pos] = expectEmpty;
+    pendingSources[pos] = sources[index];
+    pendingCounts[index] = count + 1;
+  }
+
+  /**
+   * Remove the {@code amount} oldest pending predictions of the slot at {@code index}
+   */
+  private void removeOldestPending(int index, int amount) {
+    int base = index * MAX_PENDING_PREDICTIONS;
+    int remaining = pendingCounts[index] - amount;
+    System.arraycopy(pendingItemIds, base + amount, pendingItemIds, base, remaining);
+    System.arraycopy(pendingQuantities, base + amount, pendingQuantities, base, remaining);
+    System.arraycopy(pendingChangedMs, base + amount, pendingChangedMs, base, remaining);
+    System.arraycopy(pendingExpectEmpty, base + amount, pendingExpectEmpty, base, remaining);
+    System.arraycopy(pendingSources, base + amount, pendingSources, base, remaining);
+    pendingCounts[index] = remaining;
+    reachedPendingSlotMask &= ~(1 << index);
+  }
+
+  /**
+   * @return How many older predictions the slot at {@code index} is waiting on
+   */
+  public int getPendingCount(int index) {
+    if (isInvalidIndex(index)) {
+      return 0;
     }
+    // The oldest pending prediction is no longer waited on once the server has reached it
+    return pendingCounts[index] - ((reachedPendingSlotMask >>> index) & 1);
+  }
+
+  /**
+   * Schedule the slot at {@code index} to time out, and to be compared with the inventory container once it is no
+   * longer too early to reset it
+   */
+  private void scheduleExpiry(int index, ConfigSnapshot snapshot) {
+    expiryWheel.scheduleTick(index, timeoutTick(index, snapshot));
+    expiryWheel.scheduleMillis(index, changedMs[index] + snapshot.getMinChangedMs());
+    unvalidatedSlotMask |= 1 << index;
+  }
+
+  /**
+   * @return The tick the slot at {@code index} times out, saturated so a huge max unmodified ticks does not wrap around
+   */
+  private int timeoutTick(int index, ConfigSnapshot snapshot) {
+    return (int) Math.min((long) changedTicks[index] + snapshot.getMaxUnmodifiedTicks(), Integer.MAX_VALUE);
   }
 
+  @Nullable
+  private Widget firstNonEmptyWidget(int index) {
+    int widgetCount = inventoryService.getOpenInventoryWidgetCount(index);
+    for (int n = 0; n < widgetCount; n++) {
+      Widget widget = inventoryService.getOpenInventoryWidget(index, n);
+      if (WidgetUtils.isNotEmpty(widget)) {
+        return widget;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Note: This allocates a new {@link InventorySlot} for modified slots, prefer the primitive getters on hot paths
+   *
+   * @return A snapshot of the slot at {@code index}, or {@code null} if the index is invalid
+   */
   @Nullable
   public InventorySlot getSlot(int index) {
     assert this.client.isClientThread();
@@ -135,7 +473,118 @@ public class InventoryState implements FeatureState {
       log.debug("Tried to get invalid index {}", index);
       return null;
     }
-    return slots[index];
+    if (changedTicks[index] == NO_CHANGED_TICK) {
+      if (itemIds[index] == INVALID_ITEM_ID) {
+        return InventorySlot.UNMODIFIED_SLOT;
+      } else if (itemIds[index] == RESET_ITEM_ID) {
+        return InventorySlot.RESET_SLOT;
+      }
+    }
+    return new InventorySlot(changedTicks[index], changedMs[index], itemIds[index], quantities[index], opacities[index]);
+  }
+
+  /**
+   * @return The item id of the slot at {@code index}. The index must be valid
+   */
+  public int getItemId(int index) {
+    return itemIds[index];
+  }
+
+  /**
+   * @return The quantity of the slot at {@code index}. The index must be valid
+   */
+  public int getQuantity(int index) {
+    return quantities[index];
+  }
+
+  /**
+   * @return The opacity of the slot at {@code index}. The index must be valid
+   */
+  public int getOpacity(int index) {
+    return opacities[index];
+  }
+
+  /**
+   * @return The tick the slot at {@code index} was changed. The index must be valid
+   */
+  public int getChangedTick(int index) {
+    return changedTicks[index];
+  }
+
+  /**
+   * @return When the slot at {@code index} was changed in milliseconds. The index must be valid
+   */
+  public long getChangedMs(int index) {
+    return changedMs[index];
+  }
+
+  /**
+   * @return The feature which made the prediction in the slot at {@code index}. The index must be valid
+   */
+  @Nonnull
+  public PredictionSource getSource(int index) {
+    return sources[index];
+  }
+
+  /**
+   * @return A mask where bit {@code i} is set if slot {@code i} has a valid item id
+   */
+  public int getActiveSlotMask() {
+    assert this.client.isClientThread();
+    return activeSlotMask;
+  }
+
+  /**
+   * @return A mask where bit {@code i} is set if slot {@code i} must be re-applied to its widgets
+   */
+  public int getDirtySlotMask() {
+    return dirtySlotMask;
+  }
+
+  /**
+   * Mark every slot as dirty, i.e., the widgets of every active slot must be re-applied. Used when the client has
+   * redrawn the inventory and may have overwritten our changes.
+   */
+  public void markAllSlotsDirty() {
+    dirtySlotMask = ALL_SLOTS_MASK;
+  }
+
+  /**
+   * Unmark the given slots as dirty
+   *
+   * @param mask The slots to unmark
+   */
+  public void clearDirtySlots(int mask) {
+    dirtySlotMask &= ~mask;
+  }
+
+  /**
+   * @return Whether the slot at {@code index} has a valid item id, i.e., is currently modified by us
+   */
+  public boolean isSlotActive(int index) {
+    return isValidIndex(index) && (activeSlotMask & (1 << index)) != 0;
+  }
+
+  /**
+   * @return Whether the slot at {@code index} is a valid index and is not currently modified by us
+   */
+  public boolean isSlotInactive(int index) {
+    return isValidIndex(index) && (activeSlotMask & (1 << index)) == 0;
+  }
+
+  /**
+   * @param inventoryWidgets The item widgets of an inventory container
+   * @return A mask where bit {@code i} is set if slot {@code i} is empty and not predicted to hold an item
+   */
+  public int freeSlotMask(@Nonnull Widget[] inventoryWidgets) {
+    int freeSlotMask = 0;
+    for (Widget widget : inventoryWidgets) {
+      int index = widget.getIndex();
+      if (isValidIndex(index) && WidgetUtils.isEmpty(widget)) {
+        freeSlotMask |= 1 << index;
+      }
+    }
+    return freeSlotMask & ~activeSlotMask;
   }
 
   public static boolean isValidIndex(int index) {
@@ -146,19 +595,32 @@ public class InventoryState implements FeatureState {
     return index < 0 || index >= INVENTORY_SIZE;
   }
 
-  /**
-   * @return The slots and its index we're currently modifying
-   */
-  public Stream<IndexedInventorySlot> getActiveSlots() {
-    assert this.client.isClientThread();
-    //noinspection DataFlowIssue Safe as we are always within the size of the inventory
-    return IntStream.range(0, slots.length).mapToObj(i -> new IndexedInventorySlot(i, getSlot(i))).filter((iis) -> iis.getSlot().hasValidItemId());
+  private void updateActiveBit(int index) {
+    if (itemIds[index] >= 0) {
+      activeSlotMask |= 1 << index;
+    } else {
+      activeSlotMask &= ~(1 << index);
+    }
   }
 
   @Override
   public void resetAll() {
-    for (int i = 0; i < INVENTORY_SIZE; i++) {
-      resetState(i);
+    resetSlots(ALL_SLOTS_MASK);
+  }
+
+  /**
+   * Reset every slot in {@code slotMask} to the initial state. The inventory container is only read once for all
+   * the slots.
+   */
+  public void resetSlots(int slotMask) {
+    assert this.client.isClientThread();
+    int validSlotMask = slotMask & ALL_SLOTS_MASK;
+    for (int mask = validSlotMask; mask != 0; mask &= mask - 1) {
+      clearSlot(Integer.numberOfTrailingZeros(mask));
+    }
+    ItemContainer inventoryContainer = inventoryService.getCurrentInventoryContainer();
+    if (inventoryContainer != null) {
+      widgetService.restoreWidgetsInSlots(validSlotMask, inventoryContainer);
     }
   }
 
@@ -179,14 +641,31 @@ public class InventoryState implements FeatureState {
   private void resetState(int index, @Nullable Item item, boolean hasItem) {
     assert this.client.isClientThread();
     if (isValidIndex(index)) {
-      log.trace("Resetting index {}", index);
-      slots[index] = InventorySlot.RESET_SLOT;
+      clearSlot(index);
       resetWidgetInSlot(index, item, hasItem);
     } else {
       log.debug("Tried to reset invalid index {}", index);
     }
   }
 
+  private void clearSlot(int index) {
+    log.trace("Resetting index {}", index);
+    itemIds[index] = RESET_ITEM_ID;
+    quantities[index] = 0;
+    opacities[index] = FULLY_TRANSPARENT;
+    changedTicks[index] = NO_CHANGED_TICK;
+    changedMs[index] = 0L;
+    activeSlotMask &= ~(1 << index);
+    modifiedSlotMask &= ~(1 << index);
+    unvalidatedSlotMask &= ~(1 << index);
+    expectEmptySlotMask &= ~(1 << index);
+    confirmedSlotMask &= ~(1 << index);
+    sources[index] = PredictionSource.UNKNOWN;
+    pendingCounts[index] = 0;
+    reachedPendingSlotMask &= ~(1 << index);
+    expiryWheel.cancel(index);
+  }
+
   /**
    * Update all inventory widgets to reflect the actual state of the inventory
    */
@@ -202,41 +681,131 @@ public class InventoryState implements FeatureState {
       }
       item = inventoryContainer.getItem(index);
     }
+    widgetService.restoreWidgetsInSlot(index, item);
+  }
 
-    Stream<IndexedWidget> indexedWidgetStream = inventoryService.getAllOpenInventoryWidgets().filter(it -> it.getIndex() == index);
-    if (item == null || item.getId() < 0) {
-      //There is no item at this index, so we hide the widget
-      //Make sure items that are not in the inventory are hidden
-      indexedWidgetStream.forEach(it -> widgetService.setAsFullyOpaque(it.getWidget()));
-    } else {
-      //Update the item to the actual item
-      indexedWidgetStream.forEach(it -> {
-        widgetService.setAsFullyOpaque(it.getWidget());
-        widgetService.updateVisibleWidget(it.getWidget(), item);
-      });
-    }
+  /**
+   * @return How many milliseconds since the slot at {@code index} was changed
+   */
+  public long msSinceChange(int index) {
+    return clock.getMillis() - changedMs[index];
   }
 
-  public static long msSinceChange(InventorySlot slot) {
-    return System.currentTimeMillis() - slot.getChangedMs();
+  /**
+   * @return If the inventory slot at {@code index} has still "Invulnerability Frames" left
+   */
+  public boolean isTooEarlyToReset(int index) {
+    return msSinceChange(index) < configService.getSnapshot().getMinChangedMs();
   }
 
   /**
-   * @return If this inventory slot has still "Invulnerability Frames" left
+   * @return Whether any slot is modified and must be validated
    */
-  public boolean isTooEarlyToReset(InventorySlot slot) {
-    return msSinceChange(slot) < config.minChangedMs();
+  public boolean hasModifiedSlots() {
+    return modifiedSlotMask != 0;
   }
 
+  /**
+   * Validate the slots which are due this tick, i.e., the slots which have timed out and the slots which have not been
+   * compared with the inventory container since they were too early to reset
+   */
   @Override
   public void validateAll() {
+    if (modifiedSlotMask == 0) {
+      return;
+    }
+    ItemContainer itemContainer = inventoryService.getCurrentInventoryContainer();
+    if (itemContainer == null) {
+      return;
+    }
+    int tickCount = client.getTickCount();
+    int dueSlotMask = expiryWheel.advanceTo(tickCount) | (expiryWheel.expireMillis(clock.getMillis()) & unvalidatedSlotMask);
+    validateSlots(dueSlotMask, itemContainer, tickCount);
+  }
+
+  /**
+   * Validate the slots which are no longer too early to reset, without waiting for the next tick. Called every frame, so
+   * a {@link ConfigSnapshot#getMinChangedMs()} shorter than a tick is enforced when it passes rather than at the next
+   * tick.
+   */
+  public void validateDueMillis() {
+    long millis = clock.getMillis();
+    if (unvalidatedSlotMask == 0 || !expiryWheel.isMillisDue(millis)) {
+      return;
+    }
     ItemContainer itemContainer = inventoryService.getCurrentInventoryContainer();
-    if (itemContainer != null) {
-      for (int index = 0; index < INVENTORY_SIZE; index++) {
-        Item item = itemContainer.getItem(index);
-        validateState(index, item);
+    if (itemContainer == null) {
+      return;
+    }
+    int dueSlotMask = expiryWheel.expireMillis(millis) & unvalidatedSlotMask;
+    if (dueSlotMask != 0) {
+      validateSlots(dueSlotMask, itemContainer, client.getTickCount());
+    }
+  }
+
+  private void validateSlots(int dueSlotMask, @Nonnull ItemContainer itemContainer, int tickCount) {
+    for (int mask = dueSlotMask & modifiedSlotMask; mask != 0; mask &= mask - 1) {
+      int index = Integer.numberOfTrailingZeros(mask);
+      validateState(index, itemContainer.getItem(index));
+      rescheduleIfModified(index, tickCount);
+    }
+  }
+
+  /**
+   * Make sure a slot which is still modified after being validated will be validated again. The deadlines might have
+   * been computed with an older config.
+   */
+  private void rescheduleIfModified(int index, int tickCount) {
+    if ((modifiedSlotMask & (1 << index)) == 0) {
+      return;
+    }
+    ConfigSnapshot snapshot = configService.getSnapshot();
+    if (!expiryWheel.isTickScheduled(index)) {
+      expiryWheel.scheduleTick(index, Math.max(timeoutTick(index, snapshot), tickCount + 1));
+    }
+    if (isTooEarlyToReset(index)) {
+      expiryWheel.scheduleMillis(index, changedMs[index] + snapshot.getMinChangedMs());
+      unvalidatedSlotMask |= 1 << index;
+    } else {
+      unvalidatedSlotMask &= ~(1 << index);
+    }
+  }
+
+  /**
+   * Compare the inventory container with how it was the last time this was called, and only validate the modified
+   * slots which are different. Slots which have not changed are left for {@link #validateAll()} to time out. Slots
+   * which are too early to reset are compared again by the first {@link #validateAll()} after they no longer are.
+   *
+   * @param inventoryContainer The current inventory container, which has just changed
+   * @return A mask of the slots which changed in the container
+   */
+  public int reconcile(@Nonnull ItemContainer inventoryContainer) {
+    assert this.client.isClientThread();
+    Item[] items = inventoryContainer.getItems();
+    int changedSlotMask = 0;
+    for (int index = 0; index < INVENTORY_SIZE; index++) {
+      int itemId;
+      int quantity;
+      if (index < items.length) {
+        itemId = items[index].getId();
+        quantity = items[index].getQuantity();
+      } else {
+        itemId = INVALID_ITEM_ID;
+        quantity = 0;
+      }
+      if (lastContainerItemIds[index] != itemId || lastContainerQuantities[index] != quantity) {
+        lastContainerItemIds[index] = itemId;
+        lastContainerQuantities[index] = quantity;
+        changedSlotMask |= 1 << index;
       }
     }
+    int tickCount = client.getTickCount();
+    for (int mask = changedSlotMask & modifiedSlotMask; mask != 0; mask &= mask - 1) {
+      int index = Integer.numberOfTrailingZeros(mask);
+      validateState(index, inventoryContainer.getItem(index));
+      rescheduleIfModified(index, tickCount);
+    }
+    return changedSlotMask;
   }
 
   /**
@@ -251,34 +820,113 @@ public class InventoryState implements FeatureState {
    */
   public void validateState(int index, @Nullable Item item) {
     assert this.client.isClientThread();
-    InventorySlot slot = getSlot(index);
-    if (slot == null || slot == InventorySlot.UNMODIFIED_SLOT || slot == InventorySlot.RESET_SLOT) {
-      // This item is not modified (or at least not by us) so we do not need to do anything
+    if (isInvalidIndex(index)) {
+      log.debug("Tried to validate invalid index {}", index);
       return;
     }
-
-    if (isTooEarlyToReset(slot)) {
-      log.debug("Not resetting slot {} as it is too early", index);
+    int modifiedTick = changedTicks[index];
+    if (modifiedTick == NO_CHANGED_TICK) {
+      // This item is not modified (or at least not by us) so we do not need to do anything
       return;
     }
+
     int actualItemId = item == null ? INVALID_ITEM_ID : item.getId();
     int actualQuantity = item == null ? INVALID_ITEM_ID : item.getQuantity();
+    // Record the confirmation even when it is too early to reset, to not skew the latency
+    boolean reachedPending = false;
+    if ((confirmedSlotMask & (1 << index)) == 0) {
+      if (isPredicted(index, actualItemId, actualQuantity)) {
+        confirmedSlotMask |= 1 << index;
+        confirmPending(index, pendingCounts[index]);
+        removeOldestPending(index, pendingCounts[index]);
+        predictionMetricsService.record(sources[index], PredictionOutcome.CONFIRMED, nanosSinceChange(index));
+      } else {
+        reachedPending = retireReachedPending(index, actualItemId, actualQuantity);
+      }
+    }
 
-    int itemId = slot.getItemId();
-    int quantity = slot.getQuantity();
-    int modifiedTick = slot.getChangedTick();
-    // Item at index changed so we must reset the slot
-    if (slot.hasValidItemId() && (itemId != actualItemId || quantity != actualQuantity)) {
-      log.debug("Item at index {} changed from item id {} to {} or from quantity {} to {}, resetting the item", index, itemId, actualItemId, quantity, actualQuantity);
-      resetState(index, item, true);
-      return;
+    int itemId = itemIds[index];
+    int quantity = quantities[index];
+    int tickCount = client.getTickCount();
+    SlotVerdict verdict = SlotVerdict.of(itemId, quantity, modifiedTick, msSinceChange(index), actualItemId, actualQuantity, tickCount, configService.getSnapshot());
+    switch (verdict) {
+      case TOO_EARLY:
+        log.debug("Not resetting slot {} as it is too early", index);
+        break;
+      case MISMATCH:
+        if (reachedPending) {
+          // The server has processed an older action on this slot, keep showing the newest prediction on top of it
+          log.debug("Slot {} reached an older prediction of item id {} quantity {}, waiting for the newest", index, actualItemId, actualQuantity);
+          break;
+        }
+        // Item at index changed so we must reset the slot
+        log.debug("Item at index {} changed from item id {} to {} or from quantity {} to {}, resetting the item", index, itemId, actualItemId, quantity, actualQuantity);
+        recordUnconfirmed(index, PredictionOutcome.MISMATCH);
+        resetState(index, item, true);
+        break;
+      case EXPIRED:
+        // The item at the given index have not changes in some time, we reset to not operate on stale data
+        log.debug("Item at index {} has not changed in {} tick ({} ms), resetting the item", index, tickCount - modifiedTick, msSinceChange(index));
+        recordUnconfirmed(index, PredictionOutcome.EXPIRED);
+        resetState(index, item, true);
+        break;
+      default:
+        break;
     }
+  }
 
-    // The item at the given index have not changes in some time, we reset to
-    int ticksSinceModified = client.getTickCount() - modifiedTick;
-    if (slot.hasChangedTick() && ticksSinceModified >= config.maxUnmodifiedTicks()) {
-      log.debug("Item at index {} has not changed in {} tick ({} ms), resetting the item", index, ticksSinceModified, msSinceChange(slot));
-      resetState(index, item, true);
+  /**
+   * @return Whether the actual item in the slot at {@code index} is what the prediction expected
+   */
+  private boolean isPredicted(int index, int actualItemId, int actualQuantity) {
+    return SlotVerdict.isConfirmed(itemIds[index], quantities[index], (expectEmptySlotMask & (1 << index)) != 0, actualItemId, actualQuantity);
+  }
+
+  /**
+   * Find the newest pending prediction of the slot at {@code index} which the actual item matches. Every pending
+   * prediction older than it is retired, and it becomes the oldest pending prediction.
+   *
+   * @return Whether the actual item matched a pending prediction
+   */
+  private boolean retireReachedPending(int index, int actualItemId, int actualQuantity) {
+    int base = index * MAX_PENDING_PREDICTIONS;
+    for (int n = pendingCounts[index] - 1; n >= 0; n--) {
+      int pos = base + n;
+      if (SlotVerdict.isConfirmed(pendingItemIds[pos], pendingQuantities[pos], pendingExpectEmpty[pos], actualItemId, actualQuantity)) {
+        confirmPending(index, n + 1);
+        removeOldestPending(index, n);
+        reachedPendingSlotMask |= 1 << index;
+        return true;
+      }
     }
+    return false;
+  }
+
+  /**
+   * Record the {@code amount} oldest pending predictions of the slot at {@code index} as confirmed, skipping the
+   * oldest if it was already reached
+   */
+  private void confirmPending(int index, int amount) {
+    recordPending(index, amount, PredictionOutcome.CONFIRMED);
+  }
+
+  private void recordPending(int index, int amount, PredictionOutcome outcome) {
+    int base = index * MAX_PENDING_PREDICTIONS;
+    int first = (reachedPendingSlotMask & (1 << index)) != 0 ? 1 : 0;
+    long nanos = clock.getNanos();
+    for (int n = first; n < amount; n++) {
+      predictionMetricsService.record(pendingSources[base + n], outcome, nanos - pendingChangedMs[base + n] * ClockService.NANOS_PER_MILLI);
+    }
+  }
+
+  private void recordUnconfirmed(int index, PredictionOutcome outcome) {
+    if ((confirmedSlotMask & (1 << index)) == 0) {
+      recordPending(index, pendingCounts[index], outcome);
+      predictionMetricsService.record(sources[index], outcome, nanosSinceChange(index));
+    }
+  }
+
+  private long nanosSinceChange(int index) {
+    return clock.getNanos() - changedMs[index] * ClockService.NANOS_PER_MILLI;
   }
 }
@@ -33,7 +33,8 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.gameval.VarbitID;
-import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.ConfigService;
 
 @Slf4j
 @NoArgsConstructor
@@ -43,7 +44,10 @@ public class PrayerState implements FeatureState {
   Client client;
 
   @Inject
-  InstantInventoryConfig pluginConfig;
+  ConfigService configService;
+
+  @Inject
+  ClockService clock;
 
   /**
    * Last tick server prayer state. Might be modified by client
@@ -67,7 +71,7 @@ public class PrayerState implements FeatureState {
 
   public void setPrayerState(int state) {
     this.prayerState = state;
-    lastManuallyModified = System.currentTimeMillis();
+    lastManuallyModified = clock.getMillis();
   }
 
   @Override
@@ -89,7 +93,7 @@ public class PrayerState implements FeatureState {
     } else {
       // Skip reading server value as it likely does not reflect the clicked state.
       // This will prevent flickering of prayer icons when clicking fast on multiple conflicting prayers
-      log.debug("Skipping prayer state revalidation, a manual modification was done ~ {} ms ago. Must wait at least {} ms", System.currentTimeMillis() - lastManuallyModified, pluginConfig.minChangedMs());
+      log.debug("Skipping prayer state revalidation, a manual modification was done ~ {} ms ago. Must wait at least {} ms", clock.getMillis() - lastManuallyModified, configService.getSnapshot().getMinChangedMs());
     }
   }
 
@@ -98,7 +102,7 @@ public class PrayerState implements FeatureState {
    * @return Whether we should revalidate the state from server. This is to avoid overwriting manual changes too early
    */
   private boolean shouldRevalidate() {
-    return System.currentTimeMillis() - lastManuallyModified >= pluginConfig.minChangedMs();
+    return clock.getMillis() - lastManuallyModified >= configService.getSnapshot().getMinChangedMs();
   }
 
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.feature.state;
+
+import javax.annotation.Nullable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import net.runelite.api.gameval.InventoryID;
+import no.elg.ii.util.InventoryUtil;
+
+/**
+ * The item containers, besides the inventory, which features can predict changes to. The inventory ({@link InventoryID#INV}
+ * and {@link InventoryID#INV_PLAYER_TEMP}) is kept by the {@link InventoryState}, which also renders the predictions
+ * every frame.
+ *
+ * @see PredictionStore
+ */
+@Getter
+@AllArgsConstructor
+public enum PredictedContainer {
+  WORN(InventoryID.WORN, InventoryUtil.WORN_EQUIPMENT_SIZE),
+  BANK(InventoryID.BANK, 1410);
+
+  /**
+   * Cached as {@link #values()} creates a new array every call
+   */
+  public static final PredictedContainer[] VALUES = values();
+
+  private final int containerId;
+
+  /**
+   * How many slots the container has, the storage will grow if the container turns out to be larger
+   */
+  private final int size;
+
+  /**
+   * @return The predicted container with the given container id, or {@code null} if it is not predicted
+   */
+  @Nullable
+  public static PredictedContainer fromContainerId(int containerId) {
+    for (PredictedContainer container : VALUES) {
+      if (container.containerId == containerId) {
+        return container;
+      }
+    }
+    return null;
+  }
+}
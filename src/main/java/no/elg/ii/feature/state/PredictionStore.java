@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.feature.state;
+
+import com.google.common.annotations.VisibleForTesting;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.eventbus.Subscribe;
+import no.elg.ii.model.ConfigSnapshot;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.service.BankItemIndexService;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.ConfigService;
+import no.elg.ii.service.PredictionMetricsService;
+import no.elg.ii.service.WidgetService;
+
+/**
+ * The predictions of every container, keyed by container. The inventory is kept by the {@link #getInventory()
+ * InventoryState}, while every other {@link PredictedContainer} has a {@link ContainerState}. All containers are reset by
+ * the same {@link SlotVerdict} rules.
+ * <p>
+ * The predicted slots are compared with their container as soon as it changes, and every tick the slots which are due are
+ * compared to time them out. When a slot is reset the widget showing it is restored to the actual item. The outcome of
+ * every prediction is recorded by the {@link PredictionMetricsService}, like the inventory.
+ */
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class PredictionStore {
+
+  @Inject
+  @VisibleForTesting
+  Client client;
+
+  @Inject
+  @VisibleForTesting
+  ClockService clock;
+
+  @Inject
+  @VisibleForTesting
+  ConfigService configService;
+
+  @Inject
+  @VisibleForTesting
+  WidgetService widgetService;
+
+  @Inject
+  @VisibleForTesting
+  BankItemIndexService bankItemIndexService;
+
+  @Inject
+  @VisibleForTesting
+  PredictionMetricsService predictionMetricsService;
+
+  @Inject
+  @Getter
+  private InventoryState inventory;
+
+  private final ContainerState[] states = new ContainerState[PredictedContainer.VALUES.length];
+
+  /**
+   * Created once per container to not allocate a listener every validation
+   */
+  private final ContainerState.SlotResetListener[] restoreListeners = new ContainerState.SlotResetListener[PredictedContainer.VALUES.length];
+
+  {
+    for (PredictedContainer container : PredictedContainer.VALUES) {
+      states[container.ordinal()] = new ContainerState(container);
+      restoreListeners[container.ordinal()] = (index, item) -> restoreWidget(container, index, item);
+    }
+  }
+
+  @Nonnull
+  public ContainerState get(@Nonnull PredictedContainer container) {
+    return states[container.ordinal()];
+  }
+
+  /**
+   * Predict that the slot at {@code index} in {@code container} will hold {@code quantity} of {@code itemId}
+   *
+   * @param source      The feature which made the prediction
+   * @param expectEmpty Whether the slot is predicted to become empty, rather than to hold {@code itemId}
+   */
+  public void setSlot(@Nonnull PredictedContainer container, int index, int itemId, int quantity, @Nonnull PredictionSource source, boolean expectEmpty) {
+    assert client.isClientThread();
+    get(container).setSlot(index, itemId, quantity, source, expectEmpty, client.getTickCount(), clock.getMillis());
+  }
+
+  @Subscribe
+  public void onItemContainerChanged(ItemContainerChanged event) {
+    PredictedContainer container = PredictedContainer.fromContainerId(event.getContainerId());
+    if (container != null) {
+      validate(container, event.getItemContainer(), false);
+    }
+  }
+
+  @Subscribe
+  public void onGameTick(GameTick event) {
+    for (ContainerState state : states) {
+      if (state.hasModifiedSlots()) {
+        validate(state.getContainer(), client.getItemContainer(state.getContainer().getContainerId()), true);
+      }
+    }
+  }
+
+  /**
+   * @param dueOnly Whether to only compare the slots which may have expired or were too early to compare, as the
+   *                container has not changed
+   */
+  private void validate(@Nonnull PredictedContainer container, @Nullable ItemContainer itemContainer, boolean dueOnly) {
+    ContainerState state = get(container);
+    if (!state.hasModifiedSlots()) {
+      return;
+    }
+    if (itemContainer == null) {
+      // The container is gone, e.g., the bank was closed, so the predictions can never be confirmed
+      state.resetAll(null, restoreListeners[container.ordinal()]);
+      return;
+    }
+    int tickCount = client.getTickCount();
+    long millis = clock.getMillis();
+    ConfigSnapshot snapshot = configService.getSnapshot();
+    ContainerState.SlotResetListener listener = restoreListeners[container.ordinal()];
+    if (dueOnly) {
+      state.validateDue(itemContainer, tickCount, millis, snapshot, predictionMetricsService, listener);
+    } else {
+      state.validate(itemContainer, tickCount, millis, snapshot, predictionMetricsService, listener);
+    }
+  }
+
+  /**
+   * Reset every prediction in every container, except the inventory
+   */
+  public void resetAll() {
+    for (ContainerState state : states) {
+      PredictedContainer container = state.getContainer();
+      state.resetAll(client.getItemContainer(container.getContainerId()), restoreListeners[container.ordinal()]);
+    }
+  }
+
+  /**
+   * Reset the slot at {@code index} in {@code container} and restore its widget, e.g., when the server refused the action
+   */
+  public void resetSlot(@Nonnull PredictedContainer container, int index) {
+    ContainerState state = get(container);
+    if (state.isModified(index)) {
+      state.clearSlot(index);
+      ItemContainer itemContainer = client.getItemContainer(container.getContainerId());
+      restoreWidget(container, index, itemContainer == null ? null : itemContainer.getItem(index));
+    }
+  }
+
+  private void restoreWidget(@Nonnull PredictedContainer container, int index, @Nullable Item item) {
+    if (container == PredictedContainer.WORN) {
+      widgetService.restoreWornItem(index, item);
+    } else if (container == PredictedContainer.BANK) {
+      Widget bankWidget = bankItemIndexService.getBankWidgetInSlot(index);
+      if (bankWidget != null) {
+        widgetService.setAsFullyOpaque(bankWidget);
+        if (item != null && item.getId() >= 0) {
+          widgetService.updateVisibleWidget(bankWidget, item);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.feature.state;
+
+import static no.elg.ii.inventory.slot.InventorySlot.NO_CHANGED_TICK;
+
+import javax.annotation.Nonnull;
+import no.elg.ii.model.ConfigSnapshot;
+import no.elg.ii.model.PredictionOutcome;
+
+/**
+ * What should happen to a predicted slot when it is compared with the actual item in its container. Shared by every
+ * container with predictions, so they are all reset by the same rules.
+ *
+ * @see InventoryState#validateState(int, net.runelite.api.Item)
+ * @see ContainerState#validate
+ */
+public enum SlotVerdict {
+  /**
+   * The slot is not predicted
+   */
+  UNMODIFIED,
+  /**
+   * The slot has been predicted for less than {@link ConfigSnapshot#getMinChangedMs()}, so it must not be reset yet
+   */
+  TOO_EARLY,
+  /**
+   * The prediction is still valid
+   */
+  KEEP,
+  /**
+   * The container holds something else than the prediction, so the slot must be reset
+   */
+  MISMATCH,
+  /**
+   * The prediction is older than {@link ConfigSnapshot#getMaxUnmodifiedTicks()}, so the slot must be reset to not
+   * show stale data
+   */
+  EXPIRED;
+
+  /**
+   * @param itemId         The predicted item id, a negative id is never a mismatch
+   * @param quantity       The predicted quantity
+   * @param changedTick    The tick the slot was predicted, or {@link no.elg.ii.inventory.slot.InventorySlot#NO_CHANGED_TICK}
+   * @param msSinceChange  How many milliseconds since the slot was predicted
+   * @param actualItemId   The item id in the container
+   * @param actualQuantity The quantity in the container
+   * @param tickCount      The current tick
+   */
+  @Nonnull
+  public static SlotVerdict of(int itemId, int quantity, int changedTick, long msSinceChange, int actualItemId, int actualQuantity, int tickCount,
+                               @Nonnull ConfigSnapshot snapshot) {
+    if (changedTick == NO_CHANGED_TICK) {
+      return UNMODIFIED;
+    }
+    if (msSinceChange < snapshot.getMinChangedMs()) {
+      return TOO_EARLY;
+    }
+    if (itemId >= 0 && (itemId != actualItemId || quantity != actualQuantity)) {
+      return MISMATCH;
+    }
+    if (changedTick >= 0 && tickCount - changedTick >= snapshot.getMaxUnmodifiedTicks()) {
+      return EXPIRED;
+    }
+    return KEEP;
+  }
+
+  /**
+   * Whether the container has reached the prediction, which is when its outcome is recorded as
+   * {@link PredictionOutcome#CONFIRMED}. Shared by every container, so a prediction is confirmed by the
+   * same rules as it is reset.
+   *
+   * @param itemId      The predicted item id
+   * @param quantity    The predicted quantity
+   * @param expectEmpty Whether the slot is predicted to become empty, rather than to hold {@code itemId}
+   */
+  public static boolean isConfirmed(int itemId, int quantity, boolean expectEmpty, int actualItemId, int actualQuantity) {
+    if (expectEmpty) {
+      return actualItemId < 0;
+    }
+    return itemId >= 0 && itemId == actualItemId && quantity == actualQuantity;
+  }
+
+  /**
+   * @return Whether the slot must be reset
+   */
+  public boolean isReset() {
+    return this == MISMATCH || this == EXPIRED;
+  }
+
+  /**
+   * @return The outcome to record for an unconfirmed prediction which is reset by this verdict. Must only be called when
+   * {@link #isReset()}
+   */
+  @Nonnull
+  public PredictionOutcome getOutcome() {
+    return this == MISMATCH ? PredictionOutcome.MISMATCH : PredictionOutcome.EXPIRED;
+  }
+}
@@ -31,6 +31,11 @@ import static no.elg.ii.util.WidgetUtils.FULLY_TRANSPARENT;
 
 import lombok.Value;
 
+/**
+ * An immutable snapshot of a single slot in {@link no.elg.ii.feature.state.InventoryState}.
+ * <p>
+ * The state itself is stored in primitive arrays, so this class is only a view of it at the time of creation.
+ */
 @Value
 public class InventorySlot {
 
@@ -45,17 +50,17 @@ public class InventorySlot {
    */
   public static final int NO_CHANGED_TICK = -1;
 
-  public static final InventorySlot UNMODIFIED_SLOT = new InventorySlot(NO_CHANGED_TICK, INVALID_ITEM_ID, 0, FULLY_TRANSPARENT);
-  public static final InventorySlot RESET_SLOT = new InventorySlot(NO_CHANGED_TICK, RESET_ITEM_ID, 0, FULLY_TRANSPARENT);
+  public static final InventorySlot UNMODIFIED_SLOT = new InventorySlot(NO_CHANGED_TICK, 0L, INVALID_ITEM_ID, 0, FULLY_TRANSPARENT);
+  public static final InventorySlot RESET_SLOT = new InventorySlot(NO_CHANGED_TICK, 0L, RESET_ITEM_ID, 0, FULLY_TRANSPARENT);
 
   /**
    * When this slot was modified, or {@link InventorySlot#NO_CHANGED_TICK} if it has not been (or cannot be) modified
    */
   int changedTick;
   /**
-   * When this slot was modified in milliseconds. This is to remove flickering
+   * When this slot was modified in {@link no.elg.ii.service.ClockService#getMillis()}. This is to remove flickering
    */
-  long changedMs = System.currentTimeMillis();
+  long changedMs;
   /**
    * The item id of this slot, or {@link InventorySlot#INVALID_ITEM_ID} if this slot is not a real item
    */
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.model;
+
+import static no.elg.ii.util.WidgetUtils.FULLY_TRANSPARENT;
+
+import com.google.common.annotations.VisibleForTesting;
+import javax.annotation.Nonnull;
+import lombok.Getter;
+import lombok.ToString;
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.util.Util;
+import no.elg.ii.util.WidgetUtils;
+
+/**
+ * An immutable copy of the {@link InstantInventoryConfig} values read in the hot paths.
+ * <p>
+ * Every call to the config goes through the {@code ConfigManager}, so reading from this instead avoids the lookup and
+ * the conversion of opacity percentages for every slot or widget.
+ *
+ * @see no.elg.ii.service.ConfigService
+ */
+@Getter
+@ToString
+public final class ConfigSnapshot {
+
+  private static final int FULLY_OPAQUE_INT_PERCENT = 100;
+  private static final int FULLY_TRANSPARENT_INT_PERCENT = 0;
+
+  private final int maxUnmodifiedTicks;
+  private final int minChangedMs;
+  private final boolean forceWidgetsEveryFrame;
+  private final boolean frameTimingOverlay;
+  private final boolean logFrameTimings;
+  private final boolean recordEvents;
+  private final boolean predictionMetricsOverlay;
+
+  /**
+   * When enabled, {@link #maxUnmodifiedTicks} and {@link #minChangedMs} are the learned values
+   */
+  private final boolean adaptiveTiming;
+  private final int adaptiveTimingPercentile;
+
+  /**
+   * Opacity values between {@link WidgetUtils#FULLY_OPAQUE} and {@link WidgetUtils#FULLY_TRANSPARENT}
+   */
+  private final int hideOpacity;
+  private final int changeOpacity;
+  private final int prayerDisableOpacity;
+  private final int prayerEnableOpacity;
+
+  public ConfigSnapshot(@Nonnull InstantInventoryConfig config) {
+    adaptiveTiming = config.adaptiveTiming();
+    adaptiveTimingPercentile = config.adaptiveTimingPercentile();
+    if (adaptiveTiming) {
+      maxUnmodifiedTicks = config.learnedMaxUnmodifiedTicks();
+      minChangedMs = config.learnedMinChangedMs();
+    } else {
+      maxUnmodifiedTicks = config.maxUnmodifiedTicks();
+      minChangedMs = config.minChangedMs();
+    }
+    forceWidgetsEveryFrame = config.forceWidgetsEveryFrame();
+    frameTimingOverlay = config.frameTimingOverlay();
+    logFrameTimings = config.logFrameTimings();
+    recordEvents = config.recordEvents();
+    predictionMetricsOverlay = config.predictionMetricsOverlay();
+    hideOpacity = intPercentToOpacityValue(config.hideOpacityPercent());
+    changeOpacity = intPercentToOpacityValue(config.changeOpacityPercent());
+    prayerDisableOpacity = intPercentToOpacityValue(config.prayerDisableOpacityPercent());
+    prayerEnableOpacity = intPercentToOpacityValue(config.prayerEnableOpacityPercent());
+  }
+
+  /**
+   * Convert a number between {@link #FULLY_TRANSPARENT_INT_PERCENT} and {@link #FULLY_OPAQUE_INT_PERCENT} to the
+   * corresponding opacity value between {@link WidgetUtils#FULLY_OPAQUE} and {@link WidgetUtils#FULLY_TRANSPARENT}
+   */
+  @VisibleForTesting
+  static int intPercentToOpacityValue(int opacityPercent) {
+    int validOpacityIntPercent = Util.coerceIn(opacityPercent, FULLY_TRANSPARENT_INT_PERCENT, FULLY_OPAQUE_INT_PERCENT);
+    double percent = validOpacityIntPercent / (double) FULLY_OPAQUE_INT_PERCENT;
+    return (int) ((1d - percent) * FULLY_TRANSPARENT);
+  }
+}
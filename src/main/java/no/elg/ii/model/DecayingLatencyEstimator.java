@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.model;
+
+/**
+ * Estimate percentiles of a stream of latencies in milliseconds using constant memory. Older samples weigh
+ * exponentially less than newer samples, so the estimate follows the latency when it changes, e.g., after changing
+ * world. Recording a value never allocates.
+ * <p>
+ * The latencies are counted in {@link #BUCKET_MS} wide buckets, anything above {@link #MAX_MS} is counted in the last
+ * bucket.
+ */
+public class DecayingLatencyEstimator {
+
+  public static final int BUCKET_MS = 10;
+  public static final int MAX_MS = 3_000;
+  private static final int BUCKET_COUNT = MAX_MS / BUCKET_MS + 1;
+
+  /**
+   * When the weight of a new sample grows above this, all the weights are scaled down to avoid overflowing
+   */
+  private static final double RENORMALIZE_THRESHOLD = 1e100;
+
+  private final double[] weights = new double[BUCKET_COUNT];
+
+  /**
+   * How much the samples recorded so far are worth compared to the next sample, between 0 and 1
+   */
+  private final double decay;
+
+  /**
+   * The weight of the next sample. Instead of multiplying every bucket by {@link #decay} for each sample, the weight
+   * of new samples is divided by it.
+   */
+  private double sampleWeight = 1.0;
+
+  private double totalWeight;
+
+  /**
+   * @param halfLife After how many samples a sample is worth half as much as a new sample
+   */
+  public DecayingLatencyEstimator(int halfLife) {
+    decay = Math.pow(0.5, 1.0 / halfLife);
+  }
+
+  /**
+   * @param millis The latency to record, negative values are recorded as zero
+   */
+  public void record(long millis) {
+    weights[bucketIndex(millis)] += sampleWeight;
+    totalWeight += sampleWeight;
+    sampleWeight /= decay;
+    if (sampleWeight > RENORMALIZE_THRESHOLD) {
+      renormalize();
+    }
+  }
+
+  /**
+   * Record {@code samples} samples of the given latency at once, i.e., to start from a previously learned value
+   */
+  public void seed(long millis, int samples) {
+    for (int i = 0; i < samples; i++) {
+      record(millis);
+    }
+  }
+
+  /**
+   * @return How many new samples the recorded samples are worth
+   */
+  public double getEffectiveSamples() {
+    return totalWeight / sampleWeight;
+  }
+
+  /**
+   * @param percentile The percentile to find, between 0 and 1
+   * @return The upper bound of the bucket which holds the given percentile in milliseconds, or -1 if nothing has been
+   * recorded
+   */
+  public long getPercentile(double percentile) {
+    if (totalWeight <= 0) {
+      return -1;
+    }
+    double target = percentile * totalWeight;
+    double seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += weights[i];
+      if (seen >= target) {
+        return bucketUpperBound(i);
+      }
+    }
+    return MAX_MS;
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      weights[i] = 0;
+    }
+    totalWeight = 0;
+    sampleWeight = 1.0;
+  }
+
+  private void renormalize() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      weights[i] /= sampleWeight;
+    }
+    totalWeight /= sampleWeight;
+    sampleWeight = 1.0;
+  }
+
+  private static int bucketIndex(long millis) {
+    if (millis <= 0) {
+      return 0;
+    }
+    return (int) Math.min(BUCKET_COUNT - 1, (millis + BUCKET_MS - 1) / BUCKET_MS);
+  }
+
+  private static long bucketUpperBound(int index) {
+    return Math.min((long) index * BUCKET_MS, MAX_MS);
+  }
+}
@@ -27,7 +27,6 @@
 
 package no.elg.ii.model;
 
-import com.google.common.collect.Streams.FunctionWithIndex;
 import lombok.NonNull;
 import lombok.Value;
 import net.runelite.api.widgets.Widget;
@@ -43,8 +42,4 @@ public class IndexedWidget implements Comparable<IndexedWidget> {
   public int compareTo(IndexedWidget o) {
     return Integer.compare(index, o.index);
   }
-
-  @SuppressWarnings("UnstableApiUsage")
-  public static final FunctionWithIndex<Widget, IndexedWidget> indexWidget =
-    (from, index) -> new IndexedWidget((int) index, from);
 }
\ No newline at end of file
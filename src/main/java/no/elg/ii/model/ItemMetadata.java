@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.model;
+
+import lombok.Value;
+
+/**
+ * The item information the features need when an item is clicked
+ */
+@Value
+public class ItemMetadata {
+
+  /**
+   * Equipment slot of items which cannot be equipped
+   */
+  public static final int NOT_EQUIPABLE_SLOT = -1;
+
+  int itemId;
+  /**
+   * The item id with variations, placeholders, and notes removed
+   */
+  int canonicalId;
+  boolean stackable;
+  /**
+   * The noted/unnoted version of this item, or a non-positive value if it cannot be noted
+   */
+  int linkedNoteId;
+  /**
+   * The equipment slot index, or {@link #NOT_EQUIPABLE_SLOT} if the item cannot be equipped
+   */
+  int equipSlot;
+  boolean twoHanded;
+  /**
+   * The Grand Exchange price of the canonical item when this was created
+   */
+  int gePrice;
+
+  public boolean isEquipable() {
+    return equipSlot != NOT_EQUIPABLE_SLOT;
+  }
+
+  public boolean isNotable() {
+    return linkedNoteId > 0;
+  }
+}
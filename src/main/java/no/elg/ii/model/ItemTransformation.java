@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Elg
+ * Copyright (c) 2026 Elg
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -25,15 +25,30 @@
  *
  */
 
-package no.elg.ii.inventory.slot;
+package no.elg.ii.model;
 
-import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.NonNull;
 import lombok.Value;
+import net.runelite.api.Skill;
 
+/**
+ * A menu option which changes one item into another in the same inventory slot, such as cleaning a herb
+ */
 @Value
-public class IndexedInventorySlot {
+public class ItemTransformation {
 
-  int index;
-  @Nonnull
-  InventorySlot slot;
+  int sourceItemId;
+  @NonNull
+  String menuOption;
+  int resultItemId;
+  /**
+   * The minimum (boosted) level of {@link #skill} required
+   */
+  int minLevel;
+  /**
+   * The skill required, or {@code null} if there is no requirement
+   */
+  @Nullable
+  Skill skill;
 }
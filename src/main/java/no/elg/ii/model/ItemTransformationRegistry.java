@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.model;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+import net.runelite.api.gameval.ItemID;
+import no.elg.ii.util.IntIntMap;
+
+/**
+ * All {@link ItemTransformation}s, loaded from {@link #RESOURCE_NAME}.
+ * <p>
+ * Each non-empty line which does not start with {@code #} is a tab separated entry of the source item, menu option,
+ * result item, minimum level and skill. Items are either a field name in {@link ItemID} or a number, and the skill is
+ * a {@link Skill} name or {@code -} if there is no requirement.
+ */
+@Slf4j
+@Singleton
+public class ItemTransformationRegistry {
+
+  public static final String RESOURCE_NAME = "item_transformations.tsv";
+
+  private static final int NO_ENTRY = -1;
+  private static final String NO_SKILL = "-";
+
+  private final ItemTransformation[] transformations;
+  /**
+   * Index of the next transformation with the same source item, or {@link #NO_ENTRY}
+   */
+  private final int[] nextWithSameSource;
+  /**
+   * Source item id to the index of its first transformation
+   */
+  private final IntIntMap firstBySource;
+
+  public ItemTransformationRegistry() {
+    this(loadBundled());
+  }
+
+  @VisibleForTesting
+  public ItemTransformationRegistry(@Nonnull List<ItemTransformation> transformations) {
+    this.transformations = transformations.toArray(new ItemTransformation[0]);
+    nextWithSameSource = new int[this.transformations.length];
+    Arrays.fill(nextWithSameSource, NO_ENTRY);
+    firstBySource = new IntIntMap(this.transformations.length);
+    // Insert in reverse to keep the file order when chaining
+    for (int i = this.transformations.length - 1; i >= 0; i--) {
+      int sourceItemId = this.transformations[i].getSourceItemId();
+      nextWithSameSource[i] = firstBySource.get(sourceItemId, NO_ENTRY);
+      firstBySource.put(sourceItemId, i);
+    }
+  }
+
+  /**
+   * @return The transformation of {@code itemId} by {@code menuOption}, or {@code null} if there is none
+   */
+  @Nullable
+  public ItemTransformation find(int itemId, @Nullable String menuOption) {
+    if (menuOption == null || itemId == IntIntMap.EMPTY_KEY) {
+      return null;
+    }
+    for (int i = firstBySource.get(itemId, NO_ENTRY); i != NO_ENTRY; i = nextWithSameSource[i]) {
+      ItemTransformation transformation = transformations[i];
+      if (transformation.getMenuOption().equals(menuOption)) {
+        return transformation;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return All menu options which can transform an item
+   */
+  @Nonnull
+  public Set<String> getMenuOptions() {
+    Set<String> menuOptions = new HashSet<>();
+    for (ItemTransformation transformation : transformations) {
+      menuOptions.add(transformation.getMenuOption());
+    }
+    return menuOptions;
+  }
+
+  public int size() {
+    return transformations.length;
+  }
+
+  @Nonnull
+  private static List<ItemTransformation> loadBundled() {
+    InputStream stream = ItemTransformationRegistry.class.getResourceAsStream(RESOURCE_NAME);
+    if (stream == null) {
+      log.error("Failed to find the bundled item transformations {}", RESOURCE_NAME);
+      return List.of();
+    }
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+      return parse(reader);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read " + RESOURCE_NAME, e);
+    }
+  }
+
+  /**
+   * Entries which cannot be parsed are logged and skipped
+   */
+  @VisibleForTesting
+  @Nonnull
+  public static List<ItemTransformation> parse(@Nonnull BufferedReader reader) throws IOException {
+    List<ItemTransformation> transformations = new ArrayList<>();
+    String line;
+    int lineNumber = 0;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      String[] columns = line.split("\t");
+      if (columns.length != 5) {
+        log.warn("Skipping item transformation on line {}, expected 5 columns but got {}: {}", lineNumber, columns.length, line);
+        continue;
+      }
+      try {
+        int sourceItemId = parseItemId(columns[0].trim());
+        String menuOption = columns[1].trim();
+        int resultItemId = parseItemId(columns[2].trim());
+        int minLevel = Integer.parseInt(columns[3].trim());
+        String skillName = columns[4].trim();
+        Skill skill = NO_SKILL.equals(skillName) ? null : Skill.valueOf(skillName);
+        transformations.add(new ItemTransformation(sourceItemId, menuOption, resultItemId, minLevel, skill));
+      } catch (IllegalArgumentException e) {
+        log.warn("Skipping item transformation on line {}: {}", lineNumber, e.getMessage());
+      }
+    }
+    return transformations;
+  }
+
+  private static int parseItemId(@Nonnull String item) {
+    if (!item.isEmpty() && Character.isDigit(item.charAt(0))) {
+      return Integer.parseInt(item);
+    }
+    try {
+      return ItemID.class.getField(item).getInt(null);
+    } catch (NoSuchFieldException | IllegalAccessException e) {
+      throw new IllegalArgumentException("Unknown item " + item, e);
+    }
+  }
+}
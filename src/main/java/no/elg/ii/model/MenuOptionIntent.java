@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.model;
+
+import static no.elg.ii.util.Util.NO_MENU_OPTION_NUMBER;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * What a menu option with an amount, like {@code Withdraw-10}, wants to do. Instances are immutable, so they can be
+ * cached and reused for every click on the same option.
+ *
+ * @see no.elg.ii.util.MenuOptionParser
+ */
+@Value
+public class MenuOptionIntent {
+
+  public enum AmountKind {
+    /**
+     * The option has no amount, or the amount could not be understood
+     */
+    NONE,
+    /**
+     * One of the fixed amounts (1, 5, or 10)
+     */
+    FIXED,
+    /**
+     * Any other number. Usually the amount last entered with {@link #X}, but it is not checked against it
+     */
+    OTHER_FIXED,
+    ALL,
+    ALL_BUT_ONE,
+    /**
+     * The amount will be asked for, so it is not known yet
+     */
+    X
+  }
+
+  /**
+   * The option text before the amount, e.g., {@code Withdraw}
+   */
+  @NonNull
+  String verb;
+  @NonNull
+  AmountKind amountKind;
+  /**
+   * The number in the option when {@link #amountKind} is {@link AmountKind#FIXED} or {@link AmountKind#OTHER_FIXED},
+   * otherwise {@code 0}
+   */
+  int amount;
+
+  /**
+   * @param itemQuantity How many of the item there are where it is taken from
+   * @return How many items the option will move, or {@link no.elg.ii.util.Util#NO_MENU_OPTION_NUMBER} if it is not
+   * known
+   */
+  public int resolveAmount(int itemQuantity) {
+    switch (amountKind) {
+      case FIXED:
+      case OTHER_FIXED:
+        return amount;
+      case ALL:
+        return Integer.MAX_VALUE;
+      case ALL_BUT_ONE:
+        return itemQuantity > 1 ? itemQuantity - 1 : NO_MENU_OPTION_NUMBER;
+      default:
+        return NO_MENU_OPTION_NUMBER;
+    }
+  }
+}
@@ -86,14 +86,56 @@ public final class PrayerInfo {
    */
   public static final Map<Integer, Integer> INTERFACE_TO_BIT;
 
+  /**
+   * The interface ids of {@link #INTERFACE_TO_BIT} sorted ascending, as a primitive array for fast iteration
+   *
+   * @see #PRAYER_WIDGET_BITS
+   */
+  public static final int[] PRAYER_WIDGET_IDS;
+
+  /**
+   * The bit of the prayer with the interface id at the same index in {@link #PRAYER_WIDGET_IDS}
+   */
+  public static final int[] PRAYER_WIDGET_BITS;
+
+  /**
+   * The interface group of the prayer book, which every key in {@link #INTERFACE_TO_BIT} belongs to
+   */
+  private static final int PRAYER_BOOK_GROUP_ID = InterfaceID.Prayerbook.PRAYER1 >>> 16;
+
+  /**
+   * The bit of the prayer in the prayer book indexed by the child id of its interface, or {@code 0} if the child is not
+   * a prayer
+   *
+   * @see #interfaceToBit(int)
+   */
+  private static final int[] PRAYER_BITS_BY_CHILD;
+
   /**
    * Groups of conflicting prayers
    */
   public final static int[] CONFLICTING_PRAYERS;
 
+  /**
+   * The prayers turned off when enabling a prayer, indexed by the bit index of the prayer. Made from the groups in
+   * {@link #CONFLICTING_PRAYERS} which contains the prayer.
+   *
+   * @see #conflictMask(int)
+   */
+  private static final int[] PRAYER_CONFLICTS;
+
   static {
     PRAYER_TO_BIT = setupPrayerToBit();
     INTERFACE_TO_BIT = setupInterfaceToBit();
+    PRAYER_WIDGET_IDS = INTERFACE_TO_BIT.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+    PRAYER_WIDGET_BITS = new int[PRAYER_WIDGET_IDS.length];
+    for (int i = 0; i < PRAYER_WIDGET_IDS.length; i++) {
+      PRAYER_WIDGET_BITS[i] = INTERFACE_TO_BIT.get(PRAYER_WIDGET_IDS[i]);
+    }
+    PRAYER_BITS_BY_CHILD = new int[(PRAYER_WIDGET_IDS[PRAYER_WIDGET_IDS.length - 1] & 0xFFFF) + 1];
+    for (int i = 0; i < PRAYER_WIDGET_IDS.length; i++) {
+      PRAYER_BITS_BY_CHILD[PRAYER_WIDGET_IDS[i] & 0xFFFF] = PRAYER_WIDGET_BITS[i];
+    }
     // Endgame prayers conflict with (almost) everything else
     int endgame = prayerToBits(CHIVALRY, PIETY, RIGOUR, AUGURY);
     // Ranged and magic prayers
@@ -111,6 +153,39 @@ public final class PrayerInfo {
       rangedAndMagic | endgame, //
       endgame,//
     };
+    PRAYER_CONFLICTS = new int[Integer.SIZE];
+    for (int bitIndex = 0; bitIndex < Integer.SIZE; bitIndex++) {
+      int prayerBit = 1 << bitIndex;
+      int conflicts = 0;
+      for (int prayerConflictMask : CONFLICTING_PRAYERS) {
+        if ((prayerConflictMask & prayerBit) != 0) {
+          conflicts |= prayerConflictMask;
+        }
+      }
+      PRAYER_CONFLICTS[bitIndex] = conflicts & ~prayerBit;
+    }
+  }
+
+  /**
+   * Same as {@code INTERFACE_TO_BIT.getOrDefault(interfaceId, 0)} without boxing the interface id
+   *
+   * @param interfaceId The packed interface id of a widget
+   * @return The bit of the prayer with the given interface id, or {@code 0} if the widget is not a prayer
+   */
+  public static int interfaceToBit(int interfaceId) {
+    int child = interfaceId & 0xFFFF;
+    if (interfaceId >>> 16 != PRAYER_BOOK_GROUP_ID || child >= PRAYER_BITS_BY_CHILD.length) {
+      return 0;
+    }
+    return PRAYER_BITS_BY_CHILD[child];
+  }
+
+  /**
+   * @param prayerBit The bit of a single prayer
+   * @return The bits of the prayers which are turned off when the given prayer is enabled
+   */
+  public static int conflictMask(int prayerBit) {
+    return PRAYER_CONFLICTS[Integer.numberOfTrailingZeros(prayerBit)];
   }
 
   /**
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * How a prediction in the inventory ended
+ *
+ * @see no.elg.ii.feature.state.InventoryState#validateState(int, net.runelite.api.Item)
+ */
+@Getter
+@AllArgsConstructor
+public enum PredictionOutcome {
+  /**
+   * The inventory changed to what was predicted
+   */
+  CONFIRMED("Confirmed"),
+  /**
+   * The inventory changed to something else than what was predicted
+   */
+  MISMATCH("Mismatch"),
+  /**
+   * The inventory did not change to what was predicted within the max unmodified ticks
+   */
+  EXPIRED("Expired");
+
+  /**
+   * Cached as {@link #values()} creates a new array every call
+   */
+  public static final PredictionOutcome[] VALUES = values();
+
+  private final String displayName;
+}
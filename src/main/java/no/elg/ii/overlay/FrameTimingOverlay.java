@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.overlay;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+import no.elg.ii.model.LatencyHistogram;
+import no.elg.ii.model.TimedSubscriber;
+import no.elg.ii.service.ConfigService;
+import no.elg.ii.service.FrameTimingService;
+
+/**
+ * Debug overlay showing the timings recorded by the {@link FrameTimingService}
+ */
+@Singleton
+public class FrameTimingOverlay extends OverlayPanel {
+
+  private static final int PREFERRED_WIDTH = 230;
+
+  @Inject
+  private ConfigService configService;
+
+  @Inject
+  private FrameTimingService frameTimingService;
+
+  public FrameTimingOverlay() {
+    setPosition(OverlayPosition.TOP_LEFT);
+    panelComponent.setPreferredSize(new Dimension(PREFERRED_WIDTH, 0));
+  }
+
+  @Override
+  public Dimension render(Graphics2D graphics) {
+    if (!configService.getSnapshot().isFrameTimingOverlay()) {
+      return null;
+    }
+    panelComponent.getChildren().add(TitleComponent.builder().text("Instant Inventory timings").build());
+    panelComponent.getChildren().add(LineComponent.builder().left("Subscriber").right("p50 / p99 / max").build());
+    for (TimedSubscriber subscriber : TimedSubscriber.VALUES) {
+      LatencyHistogram histogram = frameTimingService.getHistogram(subscriber);
+      if (histogram.getCount() > 0) {
+        String timings = FrameTimingService.formatNanos(histogram.getPercentile(0.5))
+          + " / " + FrameTimingService.formatNanos(histogram.getPercentile(0.99))
+          + " / " + FrameTimingService.formatNanos(histogram.getMax());
+        panelComponent.getChildren().add(LineComponent.builder().left(subscriber.getDisplayName()).right(timings).build());
+      }
+    }
+    return super.render(graphics);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.overlay;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+import no.elg.ii.model.ConfigSnapshot;
+import no.elg.ii.model.LatencyHistogram;
+import no.elg.ii.model.PredictionOutcome;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.ConfigService;
+import no.elg.ii.service.PredictionMetricsService;
+
+/**
+ * Debug overlay showing how the predictions of each feature ended, recorded by the {@link PredictionMetricsService}
+ */
+@Singleton
+public class PredictionMetricsOverlay extends OverlayPanel {
+
+  private static final int PREFERRED_WIDTH = 230;
+
+  @Inject
+  private ConfigService configService;
+
+  @Inject
+  private PredictionMetricsService predictionMetricsService;
+
+  public PredictionMetricsOverlay() {
+    setPosition(OverlayPosition.TOP_LEFT);
+    panelComponent.setPreferredSize(new Dimension(PREFERRED_WIDTH, 0));
+  }
+
+  @Override
+  public Dimension render(Graphics2D graphics) {
+    if (!configService.getSnapshot().isPredictionMetricsOverlay()) {
+      return null;
+    }
+    panelComponent.getChildren().add(TitleComponent.builder().text("Instant Inventory predictions").build());
+    panelComponent.getChildren().add(LineComponent.builder().left("Feature").right("ok / mismatch / expired").build());
+    for (PredictionSource source : PredictionSource.VALUES) {
+      if (predictionMetricsService.getTotalCount(source) == 0) {
+        continue;
+      }
+      String outcomes = predictionMetricsService.getCount(source, PredictionOutcome.CONFIRMED)
+        + " / " + predictionMetricsService.getCount(source, PredictionOutcome.MISMATCH)
+        + " / " + predictionMetricsService.getCount(source, PredictionOutcome.EXPIRED);
+      panelComponent.getChildren().add(LineComponent.builder().left(source.getDisplayName()).right(outcomes).build());
+      LatencyHistogram latency = predictionMetricsService.getConfirmationLatency(source);
+      if (latency.getCount() > 0) {
+        String timings = formatMillis(latency.getPercentile(0.5)) + " / " + formatMillis(latency.getPercentile(0.99));
+        panelComponent.getChildren().add(LineComponent.builder().left("  confirmed p50 / p99").right(timings).build());
+      }
+    }
+    ConfigSnapshot snapshot = configService.getSnapshot();
+    if (snapshot.isAdaptiveTiming()) {
+      String learned = snapshot.getMinChangedMs() + "ms / " + snapshot.getMaxUnmodifiedTicks() + " ticks";
+      panelComponent.getChildren().add(LineComponent.builder().left("Learned timing").right(learned).build());
+    }
+    return super.render(graphics);
+  }
+
+  @Nonnull
+  private static String formatMillis(long nanos) {
+    return nanos / ClockService.NANOS_PER_MILLI + "ms";
+  }
+}
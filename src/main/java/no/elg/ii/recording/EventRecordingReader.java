@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.recording;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.annotation.Nonnull;
+import no.elg.ii.model.ItemMetadata;
+
+/**
+ * Read a recording written by {@link EventRecordingWriter}
+ * <p>
+ * Usage:
+ * <pre>{@code
+ * try (EventRecordingReader reader = new EventRecordingReader(in)) {
+ *   while (reader.next(listener)) {
+ *   }
+ * }
+ * }</pre>
+ */
+public class EventRecordingReader implements Closeable {
+
+  private final DataInputStream in;
+  private long micros;
+  private int tick;
+
+  private int[] indices = new int[0];
+  private int[] itemIds = new int[0];
+  private int[] quantities = new int[0];
+
+  /**
+   * @throws IOException If the stream is not a recording, or is of an unsupported version
+   */
+  public EventRecordingReader(@Nonnull InputStream in) throws IOException {
+    this.in = new DataInputStream(in);
+    int magic = this.in.readInt();
+    if (magic != EventRecordingWriter.MAGIC) {
+      throw new IOException("Not an event recording, magic was " + Integer.toHexString(magic));
+    }
+    int version = this.in.readUnsignedShort();
+    if (version != EventRecordingWriter.VERSION) {
+      throw new IOException("Unsupported event recording version " + version);
+    }
+  }
+
+  /**
+   * Read the next record and pass it to the listener
+   *
+   * @return {@code false} if the end of the recording has been reached
+   * @throws IOException If the recording is corrupt
+   */
+  public boolean next(@Nonnull RecordedEventListener listener) throws IOException {
+    int ordinal = in.read();
+    if (ordinal < 0) {
+      return false;
+    }
+    RecordedEventType type = RecordedEventType.fromOrdinal(ordinal);
+    if (type == null) {
+      throw new IOException("Unknown record type " + ordinal);
+    }
+    try {
+      read(type, listener);
+    } catch (EOFException e) {
+      // The client might have been closed while writing the last record
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  private void read(@Nonnull RecordedEventType type, @Nonnull RecordedEventListener listener) throws IOException {
+    switch (type) {
+      case WIDGET: {
+        int componentId = readSignedVarInt();
+        boolean hidden = in.readBoolean();
+        int childCount = readVarInt();
+        int count = readVarInt();
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+          indices[i] = readVarInt();
+          itemIds[i] = readSignedVarInt();
+          quantities[i] = readVarInt();
+        }
+        listener.onWidget(componentId, hidden, childCount, indices, itemIds, quantities, count);
+        return;
+      }
+      case ITEM_METADATA:
+        listener.onItemMetadata(new ItemMetadata(readVarInt(), readVarInt(), in.readBoolean(), readSignedVarInt(), readSignedVarInt(), in.readBoolean(),
+          readSignedVarInt()));
+        return;
+      default:
+        break;
+    }
+
+    micros += readVarLong();
+    tick += readSignedVarInt();
+    switch (type) {
+      case MENU_OPTION_CLICKED:
+        listener.onMenuOptionClicked(micros, tick, in.readUTF(), in.readUTF(), readSignedVarInt(), readSignedVarInt(), readSignedVarInt(),
+          readSignedVarInt(), readSignedVarInt());
+        break;
+      case GAME_TICK:
+        listener.onGameTick(micros, tick);
+        break;
+      case BEFORE_RENDER:
+        listener.onBeforeRender(micros, tick);
+        break;
+      case ITEM_CONTAINER_CHANGED: {
+        int containerId = readSignedVarInt();
+        int size = readVarInt();
+        ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+          itemIds[i] = readSignedVarInt();
+          quantities[i] = readVarInt();
+        }
+        listener.onItemContainerChanged(micros, tick, containerId, itemIds, quantities, size);
+        break;
+      }
+      case VARBIT_CHANGED:
+        listener.onVarbitChanged(micros, tick, readSignedVarInt(), readSignedVarInt(), readSignedVarInt());
+        break;
+      case SCRIPT_PRE_FIRED:
+        listener.onScriptPreFired(micros, tick, readSignedVarInt(), readSignedVarInt(), readSignedVarInt());
+        break;
+      case SCRIPT_POST_FIRED:
+        listener.onScriptPostFired(micros, tick, readSignedVarInt());
+        break;
+      case CHAT_MESSAGE:
+        listener.onChatMessage(micros, tick, in.readUTF(), in.readUTF());
+        break;
+      default:
+        throw new IOException("Unhandled record type " + type);
+    }
+  }
+
+  private void ensureCapacity(int count) {
+    if (indices.length < count) {
+      indices = new int[count];
+      itemIds = new int[count];
+      quantities = new int[count];
+    }
+  }
+
+  private int readSignedVarInt() throws IOException {
+    int value = readVarInt();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private int readVarInt() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable length integer");
+  }
+
+  private long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable length integer");
+  }
+}
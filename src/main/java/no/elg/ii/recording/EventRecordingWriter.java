@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.recording;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.annotation.Nonnull;
+import no.elg.ii.model.ItemMetadata;
+
+/**
+ * Write the events consumed by the plugin to a compact binary stream, which can be read back with
+ * {@link EventRecordingReader}.
+ * <p>
+ * The stream starts with {@link #MAGIC} and {@link #VERSION}. Every record starts with the ordinal of its
+ * {@link RecordedEventType}. Events are followed by the microseconds since the previous event and the change in tick
+ * count, both as variable length integers, so the common case of many events in the same tick only uses a few bytes.
+ * Item ids, quantities, and other numbers are also written as variable length integers, negative numbers are zigzag
+ * encoded.
+ * <p>
+ * Not thread safe.
+ */
+public class EventRecordingWriter implements Closeable, Flushable {
+
+  /**
+   * "IIRE" in ASCII
+   */
+  public static final int MAGIC = 0x49495245;
+  public static final int VERSION = 1;
+
+  private final DataOutputStream out;
+  private long lastMicros;
+  private int lastTick;
+
+  public EventRecordingWriter(@Nonnull OutputStream out) throws IOException {
+    this.out = new DataOutputStream(out);
+    this.out.writeInt(MAGIC);
+    this.out.writeShort(VERSION);
+  }
+
+  public void writeMenuOptionClicked(long micros, int tick, @Nonnull String option, @Nonnull String target, int identifier, int menuActionId,
+                                     int param0, int param1, int itemId) throws IOException {
+    writeEventHeader(RecordedEventType.MENU_OPTION_CLICKED, micros, tick);
+    out.writeUTF(option);
+    out.writeUTF(target);
+    writeSignedVarInt(identifier);
+    writeSignedVarInt(menuActionId);
+    writeSignedVarInt(param0);
+    writeSignedVarInt(param1);
+    writeSignedVarInt(itemId);
+  }
+
+  public void writeGameTick(long micros, int tick) throws IOException {
+    writeEventHeader(RecordedEventType.GAME_TICK, micros, tick);
+  }
+
+  public void writeBeforeRender(long micros, int tick) throws IOException {
+    writeEventHeader(RecordedEventType.BEFORE_RENDER, micros, tick);
+  }
+
+  /**
+   * @param size How many of the first elements of {@code itemIds} and {@code quantities} are in the container
+   */
+  public void writeItemContainerChanged(long micros, int tick, int containerId, @Nonnull int[] itemIds, @Nonnull int[] quantities, int size)
+    throws IOException {
+    writeEventHeader(RecordedEventType.ITEM_CONTAINER_CHANGED, micros, tick);
+    writeSignedVarInt(containerId);
+    writeVarInt(size);
+    for (int i = 0; i < size; i++) {
+      writeSignedVarInt(itemIds[i]);
+      writeVarInt(quantities[i]);
+    }
+  }
+
+  public void writeVarbitChanged(long micros, int tick, int varpId, int varbitId, int value) throws IOException {
+    writeEventHeader(RecordedEventType.VARBIT_CHANGED, micros, tick);
+    writeSignedVarInt(varpId);
+    writeSignedVarInt(varbitId);
+    writeSignedVarInt(value);
+  }
+
+  /**
+   * @param sourceComponentId The component id of the source widget of the script event, or {@code -1} if none
+   * @param sourceIndex       The index of the source widget of the script event, or {@code -1} if none
+   */
+  public void writeScriptPreFired(long micros, int tick, int scriptId, int sourceComponentId, int sourceIndex) throws IOException {
+    writeEventHeader(RecordedEventType.SCRIPT_PRE_FIRED, micros, tick);
+    writeSignedVarInt(scriptId);
+    writeSignedVarInt(sourceComponentId);
+    writeSignedVarInt(sourceIndex);
+  }
+
+  public void writeScriptPostFired(long micros, int tick, int scriptId) throws IOException {
+    writeEventHeader(RecordedEventType.SCRIPT_POST_FIRED, micros, tick);
+    writeSignedVarInt(scriptId);
+  }
+
+  /**
+   * @param type The name of the chat message type
+   */
+  public void writeChatMessage(long micros, int tick, @Nonnull String type, @Nonnull String message) throws IOException {
+    writeEventHeader(RecordedEventType.CHAT_MESSAGE, micros, tick);
+    out.writeUTF(type);
+    out.writeUTF(message);
+  }
+
+  /**
+   * Write the item contents of some of the children of a widget
+   *
+   * @param childCount How many children the widget has
+   * @param indices    The index of each recorded child
+   * @param count      How many of the first elements of {@code indices}, {@code itemIds}, and {@code quantities} are
+   *                   recorded
+   */
+  public void writeWidget(int componentId, boolean hidden, int childCount, @Nonnull int[] indices, @Nonnull int[] itemIds, @Nonnull int[] quantities,
+                          int count) throws IOException {
+    out.writeByte(RecordedEventType.WIDGET.ordinal());
+    writeSignedVarInt(componentId);
+    out.writeBoolean(hidden);
+    writeVarInt(childCount);
+    writeVarInt(count);
+    for (int i = 0; i < count; i++) {
+      writeVarInt(indices[i]);
+      writeSignedVarInt(itemIds[i]);
+      writeVarInt(quantities[i]);
+    }
+  }
+
+  public void writeItemMetadata(@Nonnull ItemMetadata metadata) throws IOException {
+    out.writeByte(RecordedEventType.ITEM_METADATA.ordinal());
+    writeVarInt(metadata.getItemId());
+    writeVarInt(metadata.getCanonicalId());
+    out.writeBoolean(metadata.isStackable());
+    writeSignedVarInt(metadata.getLinkedNoteId());
+    writeSignedVarInt(metadata.getEquipSlot());
+    out.writeBoolean(metadata.isTwoHanded());
+    writeSignedVarInt(metadata.getGePrice());
+  }
+
+  /**
+   * @return How many bytes have been written
+   */
+  public int size() {
+    return out.size();
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  private void writeEventHeader(@Nonnull RecordedEventType type, long micros, int tick) throws IOException {
+    out.writeByte(type.ordinal());
+    writeVarLong(Math.max(0, micros - lastMicros));
+    writeSignedVarInt(tick - lastTick);
+    lastMicros = Math.max(lastMicros, micros);
+    lastTick = tick;
+  }
+
+  private void writeSignedVarInt(int value) throws IOException {
+    writeVarInt((value << 1) ^ (value >> 31));
+  }
+
+  private void writeVarInt(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  private void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.recording;
+
+import javax.annotation.Nonnull;
+import no.elg.ii.model.ItemMetadata;
+
+/**
+ * Receives the records read by {@link EventRecordingReader}. The {@code micros} of an event is the time since the
+ * start of the recording, and {@code tick} is the tick count of the client when the event was recorded.
+ * <p>
+ * Arrays passed to the listener are reused by the reader, and must be copied if they are kept.
+ */
+public interface RecordedEventListener {
+
+  default void onMenuOptionClicked(long micros, int tick, @Nonnull String option, @Nonnull String target, int identifier, int menuActionId,
+                                   int param0, int param1, int itemId) {
+  }
+
+  default void onGameTick(long micros, int tick) {
+  }
+
+  default void onBeforeRender(long micros, int tick) {
+  }
+
+  /**
+   * @param size How many of the first elements of {@code itemIds} and {@code quantities} are in the container
+   */
+  default void onItemContainerChanged(long micros, int tick, int containerId, @Nonnull int[] itemIds, @Nonnull int[] quantities, int size) {
+  }
+
+  default void onVarbitChanged(long micros, int tick, int varpId, int varbitId, int value) {
+  }
+
+  default void onScriptPreFired(long micros, int tick, int scriptId, int sourceComponentId, int sourceIndex) {
+  }
+
+  default void onScriptPostFired(long micros, int tick, int scriptId) {
+  }
+
+  default void onChatMessage(long micros, int tick, @Nonnull String type, @Nonnull String message) {
+  }
+
+  /**
+   * @param count How many of the first elements of {@code indices}, {@code itemIds}, and {@code quantities} are
+   *              recorded
+   * @see EventRecordingWriter#writeWidget(int, boolean, int, int[], int[], int[], int)
+   */
+  default void onWidget(int componentId, boolean hidden, int childCount, @Nonnull int[] indices, @Nonnull int[] itemIds, @Nonnull int[] quantities,
+                        int count) {
+  }
+
+  default void onItemMetadata(@Nonnull ItemMetadata metadata) {
+  }
+}
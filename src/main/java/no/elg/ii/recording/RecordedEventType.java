@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.recording;
+
+import javax.annotation.Nullable;
+
+/**
+ * The type of each record in an event recording, the ordinal is written as the first byte of the record so new types
+ * must only be added at the end.
+ *
+ * @see EventRecordingWriter
+ */
+public enum RecordedEventType {
+  MENU_OPTION_CLICKED,
+  GAME_TICK,
+  BEFORE_RENDER,
+  ITEM_CONTAINER_CHANGED,
+  VARBIT_CHANGED,
+  SCRIPT_PRE_FIRED,
+  SCRIPT_POST_FIRED,
+  CHAT_MESSAGE,
+  /**
+   * The contents of a widget at the time of the next event, not an event in itself
+   */
+  WIDGET,
+  /**
+   * The metadata of an item which appears in the recording, not an event in itself
+   */
+  ITEM_METADATA;
+
+  /**
+   * Cached as {@link #values()} creates a new array every call
+   */
+  public static final RecordedEventType[] VALUES = values();
+
+  /**
+   * @return The type with the given ordinal, or {@code null} if the ordinal is unknown
+   */
+  @Nullable
+  public static RecordedEventType fromOrdinal(int ordinal) {
+    return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : null;
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.eventbus.Subscribe;
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.model.ConfigSnapshot;
+import no.elg.ii.model.DecayingLatencyEstimator;
+import no.elg.ii.util.Util;
+
+/**
+ * Learn {@link InstantInventoryConfig#minChangedMs()} and {@link InstantInventoryConfig#maxUnmodifiedTicks()} from how
+ * long the server takes to respond to predictions, when {@link InstantInventoryConfig#adaptiveTiming()} is enabled.
+ * <p>
+ * Every {@link #UPDATE_INTERVAL_TICKS} ticks the configured percentile of the
+ * {@link PredictionMetricsService#getResponseLatency() response latency} is used as the minimum time a prediction is
+ * shown, and the number of ticks it covers as the maximum unmodified ticks. The learned values are stored in the config,
+ * so they survive restarts and the {@link ConfigSnapshot} is rebuilt when they change.
+ */
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class AdaptiveTimingService {
+
+  public static final String ADAPTIVE_TIMING_CONFIG_KEY = "adaptiveTiming";
+  public static final String LEARNED_MIN_CHANGED_MS_KEY = "learnedMinChangedMs";
+  public static final String LEARNED_MAX_UNMODIFIED_TICKS_KEY = "learnedMaxUnmodifiedTicks";
+
+  /**
+   * How often the learned values are updated, 100 ticks is one minute
+   */
+  @VisibleForTesting
+  static final int UPDATE_INTERVAL_TICKS = 100;
+
+  /**
+   * How many responses must be recorded before the learned values are updated
+   */
+  @VisibleForTesting
+  static final int MIN_SAMPLES = 20;
+
+  /**
+   * How many responses the previously learned value is worth when starting
+   */
+  private static final int SEED_SAMPLES = MIN_SAMPLES;
+
+  private static final int MAX_LEARNED_UNMODIFIED_TICKS = DecayingLatencyEstimator.MAX_MS / Util.TICK_LENGTH_MS;
+
+  @Inject
+  @VisibleForTesting
+  ConfigService configService;
+
+  @Inject
+  @VisibleForTesting
+  ConfigManager configManager;
+
+  @Inject
+  @VisibleForTesting
+  PredictionMetricsService predictionMetricsService;
+
+  private int ticksSinceUpdate;
+
+  /**
+   * Start from the previously learned value when adaptive timing is enabled and nothing has been learned yet
+   */
+  public void updateConfig() {
+    ConfigSnapshot snapshot = configService.getSnapshot();
+    DecayingLatencyEstimator responseLatency = predictionMetricsService.getResponseLatency();
+    if (snapshot.isAdaptiveTiming() && responseLatency.getEffectiveSamples() == 0) {
+      responseLatency.seed(snapshot.getMinChangedMs(), SEED_SAMPLES);
+    }
+  }
+
+  @Subscribe
+  public void onGameTick(GameTick event) {
+    if (++ticksSinceUpdate < UPDATE_INTERVAL_TICKS) {
+      return;
+    }
+    ticksSinceUpdate = 0;
+    ConfigSnapshot snapshot = configService.getSnapshot();
+    DecayingLatencyEstimator responseLatency = predictionMetricsService.getResponseLatency();
+    if (!snapshot.isAdaptiveTiming() || responseLatency.getEffectiveSamples() < MIN_SAMPLES) {
+      return;
+    }
+    int minChangedMs = (int) responseLatency.getPercentile(snapshot.getAdaptiveTimingPercentile() / 100.0);
+    int maxUnmodifiedTicks = learnedMaxUnmodifiedTicks(minChangedMs);
+    if (minChangedMs != snapshot.getMinChangedMs()) {
+      log.debug("Learned min changed ms {} (was {})", minChangedMs, snapshot.getMinChangedMs());
+      configManager.setConfiguration(InstantInventoryConfig.GROUP, LEARNED_MIN_CHANGED_MS_KEY, minChangedMs);
+    }
+    if (maxUnmodifiedTicks != snapshot.getMaxUnmodifiedTicks()) {
+      log.debug("Learned max unmodified ticks {} (was {})", maxUnmodifiedTicks, snapshot.getMaxUnmodifiedTicks());
+      configManager.setConfiguration(InstantInventoryConfig.GROUP, LEARNED_MAX_UNMODIFIED_TICKS_KEY, maxUnmodifiedTicks);
+    }
+  }
+
+  /**
+   * @return How many ticks a prediction must at least be kept to cover the given response latency
+   */
+  @VisibleForTesting
+  static int learnedMaxUnmodifiedTicks(int responseLatencyMs) {
+    int ticks = (responseLatencyMs + Util.TICK_LENGTH_MS - 1) / Util.TICK_LENGTH_MS;
+    return Math.max(1, Math.min(MAX_LEARNED_UNMODIFIED_TICKS, ticks));
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ScriptPostFired;
+import net.runelite.api.events.ScriptPreFired;
+import net.runelite.api.events.WidgetClosed;
+import net.runelite.api.widgets.ComponentID;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.game.ItemManager;
+
+/**
+ * An index from canonical item id to the widget of that item in the bank item container.
+ * <p>
+ * The index is built when the bank layout script has run and is invalidated when it starts again, which happens
+ * whenever the bank is rebuilt, searched, or switched to another tab.
+ */
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class BankItemIndexService {
+
+  /**
+   * {@code [clientscript,bankmain_build]}, lays out the item widgets of the bank
+   */
+  public static final int BANKMAIN_BUILD_SCRIPT_ID = 277;
+
+  @Inject
+  @VisibleForTesting
+  Client client;
+
+  @Inject
+  @VisibleForTesting
+  ItemManager itemManager;
+
+  private final Map<Integer, Widget> widgetByCanonicalItemId = new HashMap<>();
+  private boolean indexInvalid = true;
+
+  /**
+   * @param canonicalItemId A canonicalized item id, see {@link ItemManager#canonicalize(int)}
+   * @return The first bank widget with the given canonical item id, or {@code null} if the item is not in the bank or
+   * the bank is not open
+   */
+  @Nullable
+  public Widget getBankWidget(int canonicalItemId) {
+    if (indexInvalid) {
+      rebuildIndex();
+    }
+    return widgetByCanonicalItemId.get(canonicalItemId);
+  }
+
+  /**
+   * @param slot The index of the item in the bank container
+   * @return The bank widget showing the slot, or {@code null} if the bank is not open
+   */
+  @Nullable
+  public Widget getBankWidgetInSlot(int slot) {
+    Widget bankItemContainer = client.getWidget(ComponentID.BANK_ITEM_CONTAINER);
+    return bankItemContainer == null ? null : bankItemContainer.getChild(slot);
+  }
+
+  /**
+   * Mark the index as stale, it will be rebuilt when the bank layout script has run or the next time it is accessed
+   */
+  public void invalidateIndex() {
+    indexInvalid = true;
+    widgetByCanonicalItemId.clear();
+  }
+
+  @Subscribe
+  public void onScriptPreFired(ScriptPreFired event) {
+    if (event.getScriptId() == BANKMAIN_BUILD_SCRIPT_ID) {
+      invalidateIndex();
+    }
+  }
+
+  @Subscribe
+  public void onScriptPostFired(ScriptPostFired event) {
+    if (event.getScriptId() == BANKMAIN_BUILD_SCRIPT_ID) {
+      rebuildIndex();
+    }
+  }
+
+  @Subscribe
+  public void onWidgetClosed(WidgetClosed event) {
+    if (event.getGroupId() == ComponentID.BANK_ITEM_CONTAINER >>> 16) {
+      invalidateIndex();
+    }
+  }
+
+  @Subscribe
+  public void onGameStateChanged(GameStateChanged event) {
+    invalidateIndex();
+  }
+
+  private void rebuildIndex() {
+    widgetByCanonicalItemId.clear();
+    indexInvalid = false;
+    Widget bankItemContainer = client.getWidget(ComponentID.BANK_ITEM_CONTAINER);
+    if (bankItemContainer == null) {
+      // Bank is not open, try again when it is
+      indexInvalid = true;
+      return;
+    }
+    for (Widget bankWidget : bankItemContainer.getDynamicChildren()) {
+      int itemId = bankWidget.getItemId();
+      if (itemId >= 0) {
+        widgetByCanonicalItemId.putIfAbsent(itemManager.canonicalize(itemId), bankWidget);
+      }
+    }
+    if (log.isDebugEnabled()) {
+      log.debug("Indexed {} bank items", widgetByCanonicalItemId.size());
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import javax.inject.Singleton;
+import lombok.NoArgsConstructor;
+import net.runelite.api.events.BeforeRender;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * A monotonic clock which is sampled once per frame and once per tick, so every state read during the same frame or
+ * tick sees the same time without reading the system clock again.
+ * <p>
+ * The time is based on {@link System#nanoTime()}, and is therefore not affected by changes to the wall clock.
+ */
+@Singleton
+@NoArgsConstructor
+public class ClockService {
+
+  public static final long NANOS_PER_MILLI = 1_000_000L;
+
+  /**
+   * Zero point of the clock, so that {@link #getMillis()} is never negative
+   */
+  private final long originNanos = System.nanoTime();
+
+  private long nanos = originNanos;
+
+  @Subscribe(priority = Integer.MAX_VALUE)
+  public void onBeforeRender(BeforeRender event) {
+    sample();
+  }
+
+  @Subscribe(priority = Integer.MAX_VALUE)
+  public void onGameTick(GameTick event) {
+    sample();
+  }
+
+  /**
+   * Read the system clock
+   */
+  public void sample() {
+    nanos = System.nanoTime();
+  }
+
+  /**
+   * @return Nanoseconds since this clock was created, as of the last sample
+   */
+  public long getNanos() {
+    return nanos - originNanos;
+  }
+
+  /**
+   * @return Milliseconds since this clock was created, as of the last sample
+   */
+  public long getMillis() {
+    return getNanos() / NANOS_PER_MILLI;
+  }
+
+  /**
+   * Move the clock forward without reading the system clock
+   */
+  @VisibleForTesting
+  public void advanceMillis(long millis) {
+    nanos += millis * NANOS_PER_MILLI;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.model.ConfigSnapshot;
+
+/**
+ * Holds the current {@link ConfigSnapshot}. The snapshot is only rebuilt when {@link #update()} is called, which the
+ * plugin does when it starts and whenever its config changes.
+ */
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class ConfigService {
+
+  @Inject
+  @VisibleForTesting
+  InstantInventoryConfig config;
+
+  /**
+   * Written when the config changes, which might not be on the client thread
+   */
+  private volatile ConfigSnapshot snapshot;
+
+  @VisibleForTesting
+  public ConfigService(@Nonnull InstantInventoryConfig config) {
+    this.config = config;
+  }
+
+  /**
+   * Rebuild the snapshot from the current config values
+   */
+  public void update() {
+    snapshot = new ConfigSnapshot(config);
+    log.debug("Updated config snapshot {}", snapshot);
+  }
+
+  @Nonnull
+  public ConfigSnapshot getSnapshot() {
+    ConfigSnapshot current = snapshot;
+    if (current == null) {
+      update();
+      current = snapshot;
+    }
+    return current;
+  }
+}
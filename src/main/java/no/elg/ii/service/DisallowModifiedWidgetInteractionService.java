@@ -28,6 +28,7 @@
 package no.elg.ii.service;
 
 
+import com.google.common.annotations.VisibleForTesting;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -41,6 +42,8 @@ import net.runelite.api.MenuEntry;
 import net.runelite.api.events.MenuOptionClicked;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.eventbus.Subscribe;
+import no.elg.ii.feature.MenuOptionRouter;
+import no.elg.ii.feature.state.InventoryState;
 
 @Slf4j
 @Singleton
@@ -48,19 +51,39 @@ import net.runelite.client.eventbus.Subscribe;
 public class DisallowModifiedWidgetInteractionService {
 
   @Inject
-  private InventoryService inventoryService;
+  @VisibleForTesting
+  public InventoryService inventoryService;
 
   @Inject
-  private Client client;
+  @VisibleForTesting
+  public Client client;
 
+  @Inject
+  @VisibleForTesting
+  public InventoryState inventoryState;
+
+  @Inject
+  @VisibleForTesting
+  public MenuOptionRouter menuOptionRouter;
+
+  /**
+   * Consume the event if the clicked inventory widget does not show the actual item in the slot, unless it shows our
+   * newest prediction of the slot and the option is routed to an active feature. The server handles the clicks in
+   * order, so such a click acts on the predicted item once the older action is handled, and the {@link InventoryState}
+   * queues the new prediction on top of the old one. Any other option, e.g., one handled by another plugin, is still
+   * consumed, as nothing predicts what it does.
+   * Runs before every other subscriber, so neither the {@link MenuOptionRouter} nor other plugins see
+   * a click which is consumed
+   */
   @Subscribe(priority = Integer.MAX_VALUE)
   public void onMenuOptionClicked(final MenuOptionClicked event) {
     Widget widget = event.getWidget();
     if (widget != null && !event.isConsumed() && (event.isItemOp() || isUseItemAction(event.getMenuEntry()))) {
       ItemContainer currentInventoryContainer = inventoryService.getCurrentInventoryContainer();
       if (currentInventoryContainer != null) {
-        Item item = currentInventoryContainer.getItem(widget.getIndex());
-        if (item != null && item.getId() != widget.getItemId()) {
+        int index = widget.getIndex();
+        Item item = currentInventoryContainer.getItem(index);
+        if (item != null && item.getId() != widget.getItemId() && !isQueuedClick(event, index, widget.getItemId())) {
           log.debug("Widget item in slot {} is not the same as the item in the inventory. Disallowing interaction", widget.getIndex());
           event.consume();
         }
@@ -68,6 +91,14 @@ public class DisallowModifiedWidgetInteractionService {
     }
   }
 
+  /**
+   * @return Whether the click is on the newest prediction of the slot, and will be predicted on top of it
+   */
+  private boolean isQueuedClick(MenuOptionClicked event, int index, int itemId) {
+    return inventoryState.isSlotActive(index) && inventoryState.getItemId(index) == itemId
+           && menuOptionRouter.isRoutedToActiveFeature(event.getMenuOption());
+  }
+
   private boolean isUseItemAction(@Nullable MenuEntry menuEntry) {
     if (menuEntry != null && "Use".equals(menuEntry.getOption())) {
       MenuAction type = menuEntry.getType();
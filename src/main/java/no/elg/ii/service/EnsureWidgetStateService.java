@@ -27,16 +27,17 @@
 
 package no.elg.ii.service;
 
-import java.util.function.BiConsumer;
-import java.util.function.BiPredicate;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.NoArgsConstructor;
 import net.runelite.api.events.BeforeRender;
+import net.runelite.api.events.ScriptPostFired;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.eventbus.Subscribe;
+import no.elg.ii.InstantInventoryConfig;
 import no.elg.ii.feature.state.InventoryState;
-import no.elg.ii.inventory.slot.InventorySlot;
+import no.elg.ii.model.TimedSubscriber;
+import no.elg.ii.util.InventoryUtil;
 import no.elg.ii.util.WidgetUtils;
 
 /**
@@ -44,8 +45,10 @@ import no.elg.ii.util.WidgetUtils;
  * any other (clientside) changes to inventory widgets.
  * <p>
  * If this is not actively corrected the item will be fully visible.
- * This only applies to the clicked item, but it is not known <b>when</b> the item was clicked.
- * So this is a brute-force method to ensure that the item is hidden.
+ * Only slots marked as dirty in {@link InventoryState#getDirtySlotMask()} are forced. A slot is dirty when the state
+ * of the slot changed, or when the client has redrawn the inventory since the last frame.
+ * When {@link InstantInventoryConfig#forceWidgetsEveryFrame()} is enabled, every active slot is forced every frame
+ * as a brute-force method to ensure that the item is hidden.
  */
 @Singleton
 @NoArgsConstructor
@@ -57,29 +60,74 @@ public class EnsureWidgetStateService {
   InventoryState state;
   @Inject
   WidgetService widgetService;
+  @Inject
+  ConfigService configService;
+  @Inject
+  FrameTimingService frameTimingService;
+
+  /**
+   * The {@link InventoryService#getWidgetCacheVersion()} when the widgets were last forced
+   */
+  private int lastWidgetCacheVersion = -1;
 
   @Subscribe
   public void onBeforeRender(BeforeRender event) {
-    forceWidgetState(EnsureWidgetStateService::isDifferent, this::setWidgetFromSlot);
+    long start = frameTimingService.start();
+    try {
+      // Reset the slots whose min changed time passed since the last frame before forcing them
+      state.validateDueMillis();
+      int activeSlotMask = state.getActiveSlotMask();
+      if (activeSlotMask == 0) {
+        state.clearDirtySlots(InventoryState.ALL_SLOTS_MASK);
+        return;
+      }
+      int widgetCacheVersion = inventoryService.getWidgetCacheVersion();
+      if (widgetCacheVersion != lastWidgetCacheVersion) {
+        // Other widgets might be open now, which has not been forced yet
+        lastWidgetCacheVersion = widgetCacheVersion;
+        state.markAllSlotsDirty();
+      }
+      int slotsToForce = configService.getSnapshot().isForceWidgetsEveryFrame() ? activeSlotMask : activeSlotMask & state.getDirtySlotMask();
+      forceWidgetState(slotsToForce);
+      state.clearDirtySlots(InventoryState.ALL_SLOTS_MASK);
+    } finally {
+      frameTimingService.record(TimedSubscriber.ENSURE_WIDGET_STATE, start);
+    }
+  }
+
+  /* (non-javadoc)
+   * The inventory draw scripts overwrite the item, quantity and opacity of the inventory widgets
+   */
+  @Subscribe
+  public void onScriptPostFired(ScriptPostFired event) {
+    if (InventoryUtil.isInventoryDrawScript(event.getScriptId())) {
+      state.markAllSlotsDirty();
+    }
   }
 
-  private void forceWidgetState(BiPredicate<Widget, InventorySlot> widgetFilter, BiConsumer<Widget, InventorySlot> force) {
-    state.getActiveSlots()
-      .forEach(iis -> inventoryService.getAllOpenInventoryWidgets()
-        .filter(slotWidget -> slotWidget.getIndex() == iis.getIndex() && widgetFilter.test(slotWidget.getWidget(), iis.getSlot()))
-        .forEach(slotWidget -> force.accept(slotWidget.getWidget(), iis.getSlot())));
+  private void forceWidgetState(int slotsToForce) {
+    for (int mask = slotsToForce; mask != 0; mask &= mask - 1) {
+      int index = Integer.numberOfTrailingZeros(mask);
+      int widgetCount = inventoryService.getOpenInventoryWidgetCount(index);
+      for (int n = 0; n < widgetCount; n++) {
+        Widget widget = inventoryService.getOpenInventoryWidget(index, n);
+        if (isDifferent(widget, index)) {
+          setWidgetFromSlot(widget, index);
+        }
+      }
+    }
   }
 
-  private static boolean isDifferent(Widget widget, InventorySlot slot) {
-    return slot.hasValidItemId() && !WidgetUtils.isEmpty(widget)
-      && (widget.getItemId() != slot.getItemId()
-      || widget.getItemQuantity() != slot.getQuantity()
-      || widget.getOpacity() != slot.getOpacity());
+  private boolean isDifferent(Widget widget, int index) {
+    return !WidgetUtils.isEmpty(widget)
+      && (widget.getItemId() != state.getItemId(index)
+      || widget.getItemQuantity() != state.getQuantity(index)
+      || widget.getOpacity() != state.getOpacity(index));
   }
 
-  private void setWidgetFromSlot(Widget widget, InventorySlot slot) {
-    widgetService.updateVisibleWidget(widget, slot.getItemId(), slot.getQuantity());
-    widgetService.setOpacity(widget, slot.getOpacity(), true);
+  private void setWidgetFromSlot(Widget widget, int index) {
+    widgetService.updateVisibleWidget(widget, state.getItemId(index), state.getQuantity(index));
+    widgetService.setOpacity(widget, state.getOpacity(index), true);
   }
 
 }
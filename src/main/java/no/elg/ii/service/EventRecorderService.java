@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import static no.elg.ii.util.InventoryUtil.INVENTORY_ITEMS_CONTAINERS;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.BitSet;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.Item;
+import net.runelite.api.MenuAction;
+import net.runelite.api.ScriptEvent;
+import net.runelite.api.events.BeforeRender;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.ScriptPostFired;
+import net.runelite.api.events.ScriptPreFired;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.gameval.InventoryID;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.RuneLite;
+import net.runelite.client.eventbus.Subscribe;
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.model.ItemMetadata;
+import no.elg.ii.recording.EventRecordingWriter;
+
+/**
+ * Record the events the plugin consumes to a file when {@link InstantInventoryConfig#recordEvents()} is enabled, so a
+ * play session can be replayed offline.
+ * <p>
+ * The events are recorded before any other subscriber sees them. Before a menu option click the items shown in the
+ * open inventory widgets and in the clicked widget are recorded, and the metadata of every item is recorded the first
+ * time it is seen.
+ * <p>
+ * Must only be used from the client thread.
+ *
+ * @see EventRecordingWriter
+ */
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class EventRecorderService {
+
+  public static final String RECORDING_FILE_EXTENSION = ".iirec";
+
+  /**
+   * Run before every other subscriber, so the events are recorded before the plugin has reacted to them
+   */
+  private static final float RECORD_PRIORITY = Float.MAX_VALUE;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+  private static final int NO_SOURCE = -1;
+
+  @Inject
+  @VisibleForTesting
+  Client client;
+
+  @Inject
+  @VisibleForTesting
+  ConfigService configService;
+
+  @Inject
+  @VisibleForTesting
+  ItemMetadataService itemMetadataService;
+
+  @Nullable
+  private EventRecordingWriter writer;
+  private long startNanos;
+
+  /**
+   * The items whose metadata has been recorded
+   */
+  private final BitSet recordedItemIds = new BitSet();
+
+  private int[] indices = new int[0];
+  private int[] itemIds = new int[0];
+  private int[] quantities = new int[0];
+
+  /**
+   * Start or stop recording depending on the config
+   */
+  public void updateConfig() {
+    boolean record = configService.getSnapshot().isRecordEvents();
+    if (record && writer == null) {
+      start();
+    } else if (!record && writer != null) {
+      stop();
+    }
+  }
+
+  public boolean isRecording() {
+    return writer != null;
+  }
+
+  private void start() {
+    File directory = new File(new File(RuneLite.RUNELITE_DIR, InstantInventoryConfig.GROUP), "recordings");
+    File file = new File(directory, LocalDateTime.now().format(FILE_NAME_FORMAT) + RECORDING_FILE_EXTENSION);
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      log.warn("Failed to create the recording directory {}", directory);
+      return;
+    }
+    try {
+      start(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+      log.info("Recording events to {}", file);
+    } catch (IOException e) {
+      log.warn("Failed to start recording events to {}", file, e);
+    }
+  }
+
+  @VisibleForTesting
+  void start(@Nonnull OutputStream out) throws IOException {
+    writer = new EventRecordingWriter(out);
+    startNanos = System.nanoTime();
+    recordedItemIds.clear();
+  }
+
+  /**
+   * Stop recording and close the recording file
+   */
+  public void stop() {
+    EventRecordingWriter currentWriter = writer;
+    if (currentWriter == null) {
+      return;
+    }
+    writer = null;
+    try {
+      currentWriter.close();
+      log.info("Stopped recording events, recorded {} bytes", currentWriter.size());
+    } catch (IOException e) {
+      log.warn("Failed to close the event recording", e);
+    }
+  }
+
+  @Subscribe(priority = RECORD_PRIORITY)
+  public void onMenuOptionClicked(MenuOptionClicked event) {
+    EventRecordingWriter writer = this.writer;
+    if (writer == null) {
+      return;
+    }
+    try {
+      for (int componentId : INVENTORY_ITEMS_CONTAINERS) {
+        recordWidget(writer, componentId, NO_SOURCE);
+      }
+      if (!INVENTORY_ITEMS_CONTAINERS.contains(event.getParam1())) {
+        recordWidget(writer, event.getParam1(), event.getParam0());
+      }
+      recordItemMetadata(writer, event.getItemId());
+      MenuAction menuAction = event.getMenuAction();
+      writer.writeMenuOptionClicked(micros(), client.getTickCount(), nullToEmpty(event.getMenuOption()), nullToEmpty(event.getMenuTarget()), event.getId(),
+        menuAction == null ? NO_SOURCE : menuAction.getId(), event.getParam0(), event.getParam1(), event.getItemId());
+    } catch (IOException e) {
+      failed(e);
+    }
+  }
+
+  @Subscribe(priority = RECORD_PRIORITY)
+  public void onGameTick(GameTick event) {
+    EventRecordingWriter writer = this.writer;
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.writeGameTick(micros(), client.getTickCount());
+    } catch (IOException e) {
+      failed(e);
+    }
+  }
+
+  @Subscribe(priority = RECORD_PRIORITY)
+  public void onBeforeRender(BeforeRender event) {
+    EventRecordingWriter writer = this.writer;
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.writeBeforeRender(micros(), client.getTickCount());
+    } catch (IOException e) {
+      failed(e);
+    }
+  }
+
+  @Subscribe(priority = RECORD_PRIORITY)
+  public void onItemContainerChanged(ItemContainerChanged event) {
+    EventRecordingWriter writer = this.writer;
+    int containerId = event.getContainerId();
+    if (writer == null || containerId != InventoryID.INV && containerId != InventoryID.INV_PLAYER_TEMP && containerId != InventoryID.WORN) {
+      return;
+    }
+    try {
+      Item[] items = event.getItemContainer().getItems();
+      ensureCapacity(items.length);
+      for (int i = 0; i < items.length; i++) {
+        itemIds[i] = items[i].getId();
+        quantities[i] = items[i].getQuantity();
+        recordItemMetadata(writer, itemIds[i]);
+      }
+      writer.writeItemContainerChanged(micros(), client.getTickCount(), containerId, itemIds, quantities, items.length);
+    } catch (IOException e) {
+      failed(e);
+    }
+  }
+
+  @Subscribe(priority = RECORD_PRIORITY)
+  public void onVarbitChanged(VarbitChanged event) {
+    EventRecordingWriter writer = this.writer;
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.writeVarbitChanged(micros(), client.getTickCount(), event.getVarpId(), event.getVarbitId(), event.getValue());
+    } catch (IOException e) {
+      failed(e);
+    }
+  }
+
+  @Subscribe(priority = RECORD_PRIORITY)
+  public void onScriptPreFired(ScriptPreFired event) {
+    EventRecordingWriter writer = this.writer;
+    if (writer == null) {
+      return;
+    }
+    ScriptEvent scriptEvent = event.getScriptEvent();
+    Widget source = scriptEvent == null ? null : scriptEvent.getSource();
+    try {
+      writer.writeScriptPreFired(micros(), client.getTickCount(), event.getScriptId(), source == null ? NO_SOURCE : source.getId(),
+        source == null ? NO_SOURCE : source.getIndex());
+    } catch (IOException e) {
+      failed(e);
+    }
+  }
+
+  @Subscribe(priority = RECORD_PRIORITY)
+  public void onScriptPostFired(ScriptPostFired event) {
+    EventRecordingWriter writer = this.writer;
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.writeScriptPostFired(micros(), client.getTickCount(), event.getScriptId());
+    } catch (IOException e) {
+      failed(e);
+    }
+  }
+
+  @Subscribe(priority = RECORD_PRIORITY)
+  public void onChatMessage(ChatMessage event) {
+    EventRecordingWriter writer = this.writer;
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.writeChatMessage(micros(), client.getTickCount(), event.getType().name(), nullToEmpty(event.getMessage()));
+    } catch (IOException e) {
+      failed(e);
+    }
+  }
+
+  /**
+   * Record the items shown in the children of a widget
+   *
+   * @param onlyIndex Only record the child with this index, or {@link #NO_SOURCE} to record every child
+   */
+  private void recordWidget(@Nonnull EventRecordingWriter writer, int componentId, int onlyIndex) throws IOException {
+    Widget widget = client.getWidget(componentId);
+    if (widget == null) {
+      return;
+    }
+    Widget[] children = widget.getDynamicChildren();
+    int childCount = children == null ? 0 : children.length;
+    ensureCapacity(childCount);
+    int count = 0;
+    for (int i = 0; i < childCount; i++) {
+      if (onlyIndex == NO_SOURCE || i == onlyIndex) {
+        indices[count] = i;
+        itemIds[count] = children[i].getItemId();
+        quantities[count] = children[i].getItemQuantity();
+        recordItemMetadata(writer, itemIds[count]);
+        count++;
+      }
+    }
+    writer.writeWidget(componentId, widget.isHidden(), childCount, indices, itemIds, quantities, count);
+  }
+
+  private void recordItemMetadata(@Nonnull EventRecordingWriter writer, int itemId) throws IOException {
+    if (itemId < 0 || recordedItemIds.get(itemId)) {
+      return;
+    }
+    recordedItemIds.set(itemId);
+    ItemMetadata metadata = itemMetadataService.get(itemId);
+    if (metadata != null) {
+      writer.writeItemMetadata(metadata);
+    }
+  }
+
+  private void ensureCapacity(int count) {
+    if (indices.length < count) {
+      indices = Arrays.copyOf(indices, count);
+      itemIds = Arrays.copyOf(itemIds, count);
+      quantities = Arrays.copyOf(quantities, count);
+    }
+  }
+
+  private long micros() {
+    return (System.nanoTime() - startNanos) / 1_000L;
+  }
+
+  private void failed(@Nonnull IOException e) {
+    log.warn("Failed to record event, stopping the recording", e);
+    stop();
+  }
+
+  @Nonnull
+  private static String nullToEmpty(@Nullable String string) {
+    return string == null ? "" : string;
+  }
+}
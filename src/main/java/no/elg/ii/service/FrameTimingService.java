@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.eventbus.Subscribe;
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.model.ConfigSnapshot;
+import no.elg.ii.model.LatencyHistogram;
+import no.elg.ii.model.TimedSubscriber;
+
+/**
+ * Measure how long the event subscribers of the plugin take on the client thread.
+ * <p>
+ * Timings are only recorded when either {@link InstantInventoryConfig#frameTimingOverlay()} or
+ * {@link InstantInventoryConfig#logFrameTimings()} is enabled. The histograms are reset every
+ * {@link #WINDOW_TICKS} ticks, after they have optionally been logged.
+ * <p>
+ * Usage:
+ * <pre>{@code
+ * long start = frameTimingService.start();
+ * try {
+ *   ...
+ * } finally {
+ *   frameTimingService.record(TimedSubscriber.X, start);
+ * }
+ * }</pre>
+ */
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class FrameTimingService {
+
+  /**
+   * Returned by {@link #start()} when timings are disabled
+   */
+  public static final long NOT_TIMED = Long.MIN_VALUE;
+
+  /**
+   * Number of ticks the histograms cover, 100 ticks is one minute
+   */
+  @VisibleForTesting
+  static final int WINDOW_TICKS = 100;
+
+  @Inject
+  @VisibleForTesting
+  ConfigService configService;
+
+  private final LatencyHistogram[] histograms = new LatencyHistogram[TimedSubscriber.VALUES.length];
+
+  @Getter
+  private boolean enabled;
+
+  private int ticksInWindow;
+
+  {
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Read whether timings should be recorded from the config
+   */
+  public void updateConfig() {
+    boolean wasEnabled = enabled;
+    ConfigSnapshot snapshot = configService.getSnapshot();
+    enabled = snapshot.isFrameTimingOverlay() || snapshot.isLogFrameTimings();
+    if (enabled != wasEnabled) {
+      resetAll();
+    }
+  }
+
+  /**
+   * @return The start time to pass to {@link #record(TimedSubscriber, long)}
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : NOT_TIMED;
+  }
+
+  /**
+   * @param subscriber The subscriber which was timed
+   * @param startNanos The value returned by {@link #start()}
+   */
+  public void record(@Nonnull TimedSubscriber subscriber, long startNanos) {
+    if (startNanos != NOT_TIMED) {
+      histograms[subscriber.ordinal()].record(System.nanoTime() - startNanos);
+    }
+  }
+
+  @Nonnull
+  public LatencyHistogram getHistogram(@Nonnull TimedSubscriber subscriber) {
+    return histograms[subscriber.ordinal()];
+  }
+
+  @Subscribe
+  public void onGameTick(GameTick event) {
+    if (!enabled || ++ticksInWindow < WINDOW_TICKS) {
+      return;
+    }
+    if (configService.getSnapshot().isLogFrameTimings()) {
+      logSummary();
+    }
+    resetAll();
+  }
+
+  private void logSummary() {
+    for (TimedSubscriber subscriber : TimedSubscriber.VALUES) {
+      LatencyHistogram histogram = getHistogram(subscriber);
+      if (histogram.getCount() > 0) {
+        log.info("{}: n={} p50={} p99={} max={}", subscriber.getDisplayName(), histogram.getCount(),
+          formatNanos(histogram.getPercentile(0.5)), formatNanos(histogram.getPercentile(0.99)), formatNanos(histogram.getMax()));
+      }
+    }
+  }
+
+  private void resetAll() {
+    ticksInWindow = 0;
+    for (LatencyHistogram histogram : histograms) {
+      histogram.reset();
+    }
+  }
+
+  /**
+   * @return The nanoseconds as microseconds with one decimal
+   */
+  @Nonnull
+  public static String formatNanos(long nanos) {
+    return String.format("%.1f\u00b5s", nanos / 1_000.0);
+  }
+}
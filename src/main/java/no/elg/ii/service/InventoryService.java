@@ -27,12 +27,13 @@
 
 package no.elg.ii.service;
 
-import static no.elg.ii.model.IndexedWidget.indexWidget;
 import static no.elg.ii.util.InventoryUtil.INVENTORY_ITEMS_CONTAINERS;
+import static no.elg.ii.util.InventoryUtil.INVENTORY_SIZE;
 
-import com.google.common.collect.Streams;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.List;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -42,18 +43,70 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.ItemContainer;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ScriptPostFired;
+import net.runelite.api.events.WidgetClosed;
+import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.gameval.InterfaceID;
 import net.runelite.api.gameval.InventoryID;
 import net.runelite.api.widgets.Widget;
+import net.runelite.client.eventbus.Subscribe;
 import no.elg.ii.model.IndexedWidget;
+import no.elg.ii.util.InventoryUtil;
 
+/**
+ * Keeps a cache of the item widgets in the currently open inventory interfaces, keyed by slot index.
+ * <p>
+ * The cache is rebuilt only when an inventory interface is loaded or closed, when an inventory draw script has run,
+ * or when an inventory interface has been hidden or shown since the last client cycle. Looking up the widgets of a
+ * slot is then only an array read.
+ */
 @Slf4j
 @Singleton
 @NoArgsConstructor
 public class InventoryService {
 
+  private static final Widget[] NO_WIDGETS = new Widget[0];
+  private static final IndexedWidget[] NO_INDEXED_WIDGETS = new IndexedWidget[0];
+
+  /**
+   * Component ids of {@link InventoryUtil#INVENTORY_ITEMS_CONTAINERS}, as an array to iterate without allocating
+   */
+  private static final int[] INVENTORY_ITEMS_CONTAINER_IDS = INVENTORY_ITEMS_CONTAINERS.stream().mapToInt(Integer::intValue).toArray();
+
   @Inject
-  private Client client;
+  @VisibleForTesting
+  Client client;
+
+  /**
+   * The inventory containers which were loaded (i.e., not {@code null}) when the cache was built
+   */
+  private final Widget[] loadedContainers = new Widget[INVENTORY_ITEMS_CONTAINER_IDS.length];
+  /**
+   * Whether the container in {@link #loadedContainers} with the same index was hidden when the cache was built
+   */
+  private final boolean[] loadedContainersHidden = new boolean[INVENTORY_ITEMS_CONTAINER_IDS.length];
+  private int loadedContainerCount;
+
+  /**
+   * The item widget for each slot in every open inventory container
+   */
+  private final Widget[][] widgetsBySlot = new Widget[INVENTORY_SIZE][];
+  /**
+   * All item widgets in every open inventory container
+   */
+  private IndexedWidget[] allOpenWidgets = NO_INDEXED_WIDGETS;
+
+  /**
+   * Incremented every time the cache is rebuilt
+   */
+  private int widgetCacheVersion;
+  private boolean widgetCacheInvalid = true;
+  private int widgetCacheValidatedCycle = -1;
+
+  {
+    Arrays.fill(widgetsBySlot, NO_WIDGETS);
+  }
 
   @Nullable
   public ItemContainer getCurrentInventoryContainer() {
@@ -68,20 +121,142 @@ public class InventoryService {
     return client.getItemContainer(itemContainer);
   }
 
+  /**
+   * @return A stream of indexed widgets in the current open inventory
+   */
   @Nonnull
-  private Stream<Widget> getOpenWidget(Collection<Integer> componentIds) {
-    return componentIds.stream()
-      .map(componentId -> client.getWidget(componentId))
-      .filter(widget -> widget != null && !widget.isHidden());
+  public final Stream<IndexedWidget> getAllOpenInventoryWidgets() {
+    validateWidgetCache();
+    return Arrays.stream(allOpenWidgets);
   }
 
   /**
-   * @return A stream of indexed widgets in the current open inventory
+   * @param index The inventory slot index
+   * @return How many open inventory interfaces have a widget for the slot at {@code index}
+   * @see #getOpenInventoryWidget(int, int)
+   */
+  public int getOpenInventoryWidgetCount(int index) {
+    if (index < 0 || index >= INVENTORY_SIZE) {
+      return 0;
+    }
+    validateWidgetCache();
+    return widgetsBySlot[index].length;
+  }
+
+  /**
+   * @param index The inventory slot index
+   * @param n     Which of the open widgets of the slot to get, must be less than {@link #getOpenInventoryWidgetCount(int)}
+   * @return The {@code n}th open inventory widget for the slot at {@code index}
    */
   @Nonnull
-  @SuppressWarnings("UnstableApiUsage")
-  public final Stream<IndexedWidget> getAllOpenInventoryWidgets() {
-    return getOpenWidget(INVENTORY_ITEMS_CONTAINERS)
-      .flatMap(container -> Streams.mapWithIndex(Arrays.stream(container.getDynamicChildren()), indexWidget));
+  public Widget getOpenInventoryWidget(int index, int n) {
+    return widgetsBySlot[index][n];
+  }
+
+  /**
+   * @return A number which changes every time the cached widgets are rebuilt, i.e., when there might be new widgets
+   * which do not reflect the predicted state
+   */
+  public int getWidgetCacheVersion() {
+    validateWidgetCache();
+    return widgetCacheVersion;
+  }
+
+  /**
+   * Mark the cached inventory widgets as stale, they will be rebuilt the next time they are accessed
+   */
+  public void invalidateWidgetCache() {
+    widgetCacheInvalid = true;
+  }
+
+  @Subscribe
+  public void onWidgetLoaded(WidgetLoaded event) {
+    if (InventoryUtil.isInventoryInterface(event.getGroupId())) {
+      invalidateWidgetCache();
+    }
+  }
+
+  @Subscribe
+  public void onWidgetClosed(WidgetClosed event) {
+    if (InventoryUtil.isInventoryInterface(event.getGroupId())) {
+      invalidateWidgetCache();
+    }
+  }
+
+  @Subscribe
+  public void onScriptPostFired(ScriptPostFired event) {
+    if (InventoryUtil.isInventoryDrawScript(event.getScriptId())) {
+      invalidateWidgetCache();
+    }
+  }
+
+  @Subscribe
+  public void onGameStateChanged(GameStateChanged event) {
+    invalidateWidgetCache();
+  }
+
+  /**
+   * Rebuild the cache if it is invalid or if any inventory container has been hidden/shown since it was built.
+   * The visibility is only checked once per client cycle.
+   */
+  private void validateWidgetCache() {
+    int cycle = client.getGameCycle();
+    if (!widgetCacheInvalid && cycle == widgetCacheValidatedCycle) {
+      return;
+    }
+    if (!widgetCacheInvalid) {
+      for (int i = 0; i < loadedContainerCount; i++) {
+        if (loadedContainers[i].isHidden() != loadedContainersHidden[i]) {
+          widgetCacheInvalid = true;
+          break;
+        }
+      }
+    }
+    if (widgetCacheInvalid) {
+      rebuildWidgetCache();
+      widgetCacheInvalid = false;
+    }
+    widgetCacheValidatedCycle = cycle;
+  }
+
+  private void rebuildWidgetCache() {
+    List<IndexedWidget> openWidgets = new ArrayList<>();
+    int[] slotCount = new int[INVENTORY_SIZE];
+    loadedContainerCount = 0;
+    for (int componentId : INVENTORY_ITEMS_CONTAINER_IDS) {
+      Widget container = client.getWidget(componentId);
+      if (container == null) {
+        continue;
+      }
+      boolean hidden = container.isHidden();
+      loadedContainers[loadedContainerCount] = container;
+      loadedContainersHidden[loadedContainerCount] = hidden;
+      loadedContainerCount++;
+      if (hidden) {
+        continue;
+      }
+      Widget[] children = container.getDynamicChildren();
+      for (int index = 0; index < children.length; index++) {
+        openWidgets.add(new IndexedWidget(index, children[index]));
+        if (index < INVENTORY_SIZE) {
+          slotCount[index]++;
+        }
+      }
+    }
+    Arrays.fill(loadedContainers, loadedContainerCount, loadedContainers.length, null);
+
+    for (int index = 0; index < INVENTORY_SIZE; index++) {
+      widgetsBySlot[index] = slotCount[index] == 0 ? NO_WIDGETS : new Widget[slotCount[index]];
+      slotCount[index] = 0;
+    }
+    for (IndexedWidget indexedWidget : openWidgets) {
+      int index = indexedWidget.getIndex();
+      if (index < INVENTORY_SIZE) {
+        widgetsBySlot[index][slotCount[index]++] = indexedWidget.getWidget();
+      }
+    }
+    allOpenWidgets = openWidgets.toArray(NO_INDEXED_WIDGETS);
+    widgetCacheVersion++;
+    log.trace("Rebuilt inventory widget cache, {} containers loaded, {} open widgets", loadedContainerCount, allOpenWidgets.length);
   }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.GameState;
+import net.runelite.api.Item;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.gameval.InventoryID;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.game.ItemEquipmentStats;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.game.ItemStats;
+import no.elg.ii.model.ItemMetadata;
+
+/**
+ * A cache of {@link ItemMetadata} indexed by item id, so a click only has to look up an item in the {@link ItemManager}
+ * the first time it is seen.
+ * <p>
+ * The items in the inventory and equipment are cached as soon as the containers change. The cache is cleared when
+ * logging out to pick up new Grand Exchange prices.
+ */
+@Slf4j
+@Singleton
+@NoArgsConstructor
+public class ItemMetadataService {
+
+  private static final int INITIAL_CAPACITY = 1 << 15;
+
+  @Inject
+  @VisibleForTesting
+  ItemManager itemManager;
+
+  private ItemMetadata[] metadataByItemId = new ItemMetadata[INITIAL_CAPACITY];
+
+  /**
+   * Must be called from the client thread
+   *
+   * @return The metadata of the item, or {@code null} if the item id is invalid
+   */
+  @Nullable
+  public ItemMetadata get(int itemId) {
+    if (itemId < 0) {
+      return null;
+    }
+    ensureCapacity(itemId);
+    ItemMetadata metadata = metadataByItemId[itemId];
+    if (metadata == null) {
+      metadata = load(itemId);
+      metadataByItemId[itemId] = metadata;
+    }
+    return metadata;
+  }
+
+  /**
+   * Cache metadata which was not loaded from the {@link ItemManager}, e.g., when replaying an event recording
+   */
+  public void put(@Nonnull ItemMetadata metadata) {
+    int itemId = metadata.getItemId();
+    ensureCapacity(itemId);
+    metadataByItemId[itemId] = metadata;
+  }
+
+  /**
+   * @return The canonical item id, or {@code itemId} if it is invalid
+   * @see ItemManager#canonicalize(int)
+   */
+  public int canonicalize(int itemId) {
+    ItemMetadata metadata = get(itemId);
+    return metadata != null ? metadata.getCanonicalId() : itemId;
+  }
+
+  public void clear() {
+    Arrays.fill(metadataByItemId, null);
+  }
+
+  @Subscribe
+  public void onItemContainerChanged(ItemContainerChanged event) {
+    int containerId = event.getContainerId();
+    if (containerId == InventoryID.INV || containerId == InventoryID.WORN) {
+      prewarm(event.getItemContainer());
+    }
+  }
+
+  @Subscribe
+  public void onGameStateChanged(GameStateChanged event) {
+    if (event.getGameState() == GameState.LOGIN_SCREEN) {
+      clear();
+    }
+  }
+
+  private void prewarm(@Nonnull ItemContainer itemContainer) {
+    for (Item item : itemContainer.getItems()) {
+      get(item.getId());
+    }
+  }
+
+  private void ensureCapacity(int itemId) {
+    if (itemId >= metadataByItemId.length) {
+      metadataByItemId = Arrays.copyOf(metadataByItemId, Integer.highestOneBit(itemId) << 1);
+    }
+  }
+
+  @Nonnull
+  private ItemMetadata load(int itemId) {
+    ItemComposition composition = itemManager.getItemComposition(itemId);
+    int canonicalId = itemManager.canonicalize(itemId);
+
+    int equipSlot = ItemMetadata.NOT_EQUIPABLE_SLOT;
+    boolean twoHanded = false;
+    ItemStats itemStats = itemManager.getItemStats(itemId);
+    if (itemStats != null && itemStats.isEquipable()) {
+      ItemEquipmentStats equipment = itemStats.getEquipment();
+      if (equipment != null) {
+        equipSlot = equipment.getSlot();
+        twoHanded = equipment.isTwoHanded();
+      }
+    }
+    int gePrice = itemManager.getItemPriceWithSource(canonicalId, false);
+    if (log.isTraceEnabled()) {
+      log.trace("Caching metadata of item {} ({})", itemId, composition.getName());
+    }
+    return new ItemMetadata(itemId, canonicalId, composition.isStackable(), composition.getLinkedNoteId(), equipSlot, twoHanded, gePrice);
+  }
+}
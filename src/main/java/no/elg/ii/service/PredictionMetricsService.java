@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import no.elg.ii.model.DecayingLatencyEstimator;
+import no.elg.ii.model.LatencyHistogram;
+import no.elg.ii.model.PredictionOutcome;
+import no.elg.ii.model.PredictionSource;
+
+/**
+ * Count how the predictions of each feature ended, and how long it took from the click until the server confirmed a
+ * prediction. Recording never allocates.
+ * <p>
+ * The metrics are kept until {@link #reset()} is called, which the plugin does when a config value which affects the
+ * predictions is changed. That way the metrics always describe the current config.
+ * <p>
+ * The {@link #getResponseLatency() response latency} is learned across config changes, and is used by the
+ * {@link AdaptiveTimingService}.
+ *
+ * @see no.elg.ii.feature.state.InventoryState
+ */
+@Singleton
+@NoArgsConstructor
+public class PredictionMetricsService {
+
+  /**
+   * After how many predictions a response latency is worth half as much as the latest
+   */
+  private static final int RESPONSE_LATENCY_HALF_LIFE = 100;
+
+  private final long[][] outcomeCounts = new long[PredictionSource.VALUES.length][PredictionOutcome.VALUES.length];
+  private final LatencyHistogram[] confirmationLatencies = new LatencyHistogram[PredictionSource.VALUES.length];
+
+  /**
+   * How long it takes the server to confirm a prediction, of every feature
+   */
+  @Getter
+  private final DecayingLatencyEstimator responseLatency = new DecayingLatencyEstimator(RESPONSE_LATENCY_HALF_LIFE);
+
+  {
+    for (int i = 0; i < confirmationLatencies.length; i++) {
+      confirmationLatencies[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Must be called from the client thread
+   *
+   * @param latencyNanos Nanoseconds from the prediction was made until it ended
+   */
+  public void record(@Nonnull PredictionSource source, @Nonnull PredictionOutcome outcome, long latencyNanos) {
+    outcomeCounts[source.ordinal()][outcome.ordinal()]++;
+    if (outcome == PredictionOutcome.CONFIRMED) {
+      confirmationLatencies[source.ordinal()].record(latencyNanos);
+      // Only confirmed predictions are learned from. An expired prediction may never have been answered, and its age
+      // is bounded by the learned timeout itself, so learning from it would only ever raise the timeout
+      responseLatency.record(latencyNanos / ClockService.NANOS_PER_MILLI);
+    }
+  }
+
+  /**
+   * @return How many predictions of the source ended with the outcome
+   */
+  public long getCount(@Nonnull PredictionSource source, @Nonnull PredictionOutcome outcome) {
+    return outcomeCounts[source.ordinal()][outcome.ordinal()];
+  }
+
+  /**
+   * @return How many predictions of the source have ended
+   */
+  public long getTotalCount(@Nonnull PredictionSource source) {
+    long total = 0;
+    for (long count : outcomeCounts[source.ordinal()]) {
+      total += count;
+    }
+    return total;
+  }
+
+  /**
+   * @return The time from the click until the prediction was confirmed, in nanoseconds
+   */
+  @Nonnull
+  public LatencyHistogram getConfirmationLatency(@Nonnull PredictionSource source) {
+    return confirmationLatencies[source.ordinal()];
+  }
+
+  /**
+   * Reset the outcome counts and confirmation latencies, the {@link #getResponseLatency() response latency} is kept
+   */
+  public void reset() {
+    for (long[] counts : outcomeCounts) {
+      Arrays.fill(counts, 0);
+    }
+    for (LatencyHistogram histogram : confirmationLatencies) {
+      histogram.reset();
+    }
+  }
+}
@@ -27,20 +27,23 @@
 
 package no.elg.ii.service;
 
+import static no.elg.ii.inventory.slot.InventorySlot.INVALID_ITEM_ID;
+import static no.elg.ii.util.InventoryUtil.WORN_EQUIPMENT_SLOT_COMPONENTS;
+import static no.elg.ii.util.InventoryUtil.WORN_ITEM_CHILD;
 import static no.elg.ii.util.WidgetUtils.FULLY_OPAQUE;
 import static no.elg.ii.util.WidgetUtils.FULLY_TRANSPARENT;
 import static no.elg.ii.util.WidgetUtils.THE_EMPTY_ITEM_ID;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.NoArgsConstructor;
+import net.runelite.api.Client;
 import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
 import net.runelite.api.widgets.ItemQuantityMode;
 import net.runelite.api.widgets.Widget;
-import no.elg.ii.InstantInventoryConfig;
-import no.elg.ii.util.Util;
-import no.elg.ii.util.WidgetUtils;
 
 
 @Singleton
@@ -48,35 +51,28 @@ import no.elg.ii.util.WidgetUtils;
 public class WidgetService {
 
   @Inject
-  private InstantInventoryConfig config;
+  private ConfigService configService;
 
-  private static final int FULLY_OPAQUE_INT_PERCENT = 100;
-  private static final int FULLY_TRANSPARENT_INT_PERCENT = 0;
+  @Inject
+  private InventoryService inventoryService;
 
-  /**
-   * Convert a number between {@link #FULLY_TRANSPARENT_INT_PERCENT} and {@link #FULLY_OPAQUE_INT_PERCENT} to the
-   * corresponding opacity value between {@link WidgetUtils#FULLY_OPAQUE} and {@link WidgetUtils#FULLY_TRANSPARENT}
-   */
-  private static int intPercentToOpacityValue(int opacityPercent) {
-    int validOpacityIntPercent = Util.coerceIn(opacityPercent, FULLY_TRANSPARENT_INT_PERCENT, FULLY_OPAQUE_INT_PERCENT);
-    double percent = validOpacityIntPercent / (double) FULLY_OPAQUE_INT_PERCENT;
-    return (int) ((1d - percent) * FULLY_TRANSPARENT);
-  }
+  @Inject
+  private Client client;
 
   public int getChangeOpacity() {
-    return intPercentToOpacityValue(config.changeOpacityPercent());
+    return configService.getSnapshot().getChangeOpacity();
   }
 
   public int getHideOpacity() {
-    return intPercentToOpacityValue(config.hideOpacityPercent());
+    return configService.getSnapshot().getHideOpacity();
   }
 
   public int getPrayerEnableOpacity() {
-    return intPercentToOpacityValue(config.prayerEnableOpacityPercent());
+    return configService.getSnapshot().getPrayerEnableOpacity();
   }
 
   public int getPrayerDisableOpacity() {
-    return intPercentToOpacityValue(config.prayerDisableOpacityPercent());
+    return configService.getSnapshot().getPrayerDisableOpacity();
   }
 
   /**
@@ -130,6 +126,82 @@ public class WidgetService {
     updateVisibleWidget(dstWidget, srcItem.getId(), srcItem.getQuantity());
   }
 
+  /**
+   * Make every open inventory widget in the slot fully visible and show {@code item} in them
+   *
+   * @param item The actual item in the slot, the item shown is not changed if this is {@code null} or invalid
+   */
+  public void restoreWidgetsInSlot(int index, @Nullable Item item) {
+    int widgetCount = inventoryService.getOpenInventoryWidgetCount(index);
+    for (int n = 0; n < widgetCount; n++) {
+      Widget widget = inventoryService.getOpenInventoryWidget(index, n);
+      setAsFullyOpaque(widget);
+      if (item != null && item.getId() >= 0) {
+        //Update the item to the actual item
+        updateVisibleWidget(widget, item);
+      }
+    }
+  }
+
+  /**
+   * {@link #restoreWidgetsInSlot(int, Item)} for every slot in {@code slotMask}, with the items from
+   * {@code inventoryContainer}
+   */
+  public void restoreWidgetsInSlots(int slotMask, @Nonnull ItemContainer inventoryContainer) {
+    for (int mask = slotMask; mask != 0; mask &= mask - 1) {
+      int index = Integer.numberOfTrailingZeros(mask);
+      restoreWidgetsInSlot(index, inventoryContainer.getItem(index));
+    }
+  }
+
+  /**
+   * Show {@code quantity} of {@code itemId} in the equipment slot of every open interface showing the worn equipment
+   *
+   * @param itemId The item to show, or a negative id to hide the equipped item
+   */
+  public void setFakeWornItem(int slotIdx, int itemId, int quantity) {
+    for (int[] slotComponents : WORN_EQUIPMENT_SLOT_COMPONENTS) {
+      Widget widget = getWornItemWidget(slotComponents, slotIdx);
+      if (widget == null) {
+        continue;
+      }
+      if (itemId >= 0) {
+        setFakeWidgetItem(widget, itemId, quantity);
+      } else {
+        setAsHideOpacity(widget, false);
+      }
+    }
+  }
+
+  /**
+   * Make the equipment slot of every open interface showing the worn equipment fully visible and show {@code item} in it
+   *
+   * @param item The actual item in the slot, or {@code null} if the slot is empty
+   */
+  public void restoreWornItem(int slotIdx, @Nullable Item item) {
+    for (int[] slotComponents : WORN_EQUIPMENT_SLOT_COMPONENTS) {
+      Widget widget = getWornItemWidget(slotComponents, slotIdx);
+      if (widget == null) {
+        continue;
+      }
+      setAsFullyOpaque(widget);
+      if (item != null && item.getId() >= 0) {
+        updateVisibleWidget(widget, item);
+      } else {
+        updateVisibleWidget(widget, INVALID_ITEM_ID, 0);
+      }
+    }
+  }
+
+  @Nullable
+  private Widget getWornItemWidget(@Nonnull int[] slotComponents, int slotIdx) {
+    if (slotIdx < 0 || slotIdx >= slotComponents.length || slotComponents[slotIdx] < 0) {
+      return null;
+    }
+    Widget slotWidget = client.getWidget(slotComponents[slotIdx]);
+    return slotWidget == null ? null : slotWidget.getChild(WORN_ITEM_CHILD);
+  }
+
   public void setEmptyItem(@Nonnull Widget widget) {
     widget.setItemQuantityMode(ItemQuantityMode.NEVER);
     setFakeWidgetItem(widget, THE_EMPTY_ITEM_ID, 1);
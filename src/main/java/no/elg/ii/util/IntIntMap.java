@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.util;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressed hash map from {@code int} to {@code int} using linear probing. Neither the keys nor the values are
+ * boxed, so lookups do not allocate.
+ * <p>
+ * Entries cannot be removed, and {@link #EMPTY_KEY} cannot be used as a key.
+ */
+public final class IntIntMap {
+
+  /**
+   * Marks an unused bucket
+   */
+  public static final int EMPTY_KEY = Integer.MIN_VALUE;
+
+  private static final float LOAD_FACTOR = 0.5f;
+
+  private int[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+
+  public IntIntMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(2, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+    allocate(capacity);
+  }
+
+  /**
+   * @return The value of {@code key}, or {@code defaultValue} if there is no such key
+   */
+  public int get(int key, int defaultValue) {
+    int bucket = bucket(key);
+    while (true) {
+      int existing = keys[bucket];
+      if (existing == key) {
+        return values[bucket];
+      } else if (existing == EMPTY_KEY) {
+        return defaultValue;
+      }
+      bucket = (bucket + 1) & mask;
+    }
+  }
+
+  public boolean containsKey(int key) {
+    int bucket = bucket(key);
+    while (true) {
+      int existing = keys[bucket];
+      if (existing == key) {
+        return true;
+      } else if (existing == EMPTY_KEY) {
+        return false;
+      }
+      bucket = (bucket + 1) & mask;
+    }
+  }
+
+  public void put(int key, int value) {
+    if (key == EMPTY_KEY) {
+      throw new IllegalArgumentException("Cannot use " + EMPTY_KEY + " as a key");
+    }
+    if (size + 1 > keys.length * LOAD_FACTOR) {
+      rehash(keys.length << 1);
+    }
+    int bucket = bucket(key);
+    while (true) {
+      int existing = keys[bucket];
+      if (existing == key) {
+        values[bucket] = value;
+        return;
+      } else if (existing == EMPTY_KEY) {
+        keys[bucket] = key;
+        values[bucket] = value;
+        size++;
+        return;
+      }
+      bucket = (bucket + 1) & mask;
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private int bucket(int key) {
+    // Spread the bits, item ids are sequential
+    int hash = key * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new int[capacity];
+    Arrays.fill(keys, EMPTY_KEY);
+    mask = capacity - 1;
+    size = 0;
+  }
+
+  private void rehash(int capacity) {
+    int[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY_KEY) {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+}
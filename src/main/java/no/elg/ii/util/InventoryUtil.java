@@ -46,6 +46,34 @@ public final class InventoryUtil {
    */
   public static final int INVENTORY_SIZE = 28;
 
+  /**
+   * Number of slots in the worn equipment container
+   */
+  public static final int WORN_EQUIPMENT_SIZE = 14;
+
+  /**
+   * The dynamic child of a worn equipment slot component which shows the equipped item
+   */
+  public static final int WORN_ITEM_CHILD = 1;
+
+  /**
+   * The slot components of every interface showing the worn equipment, indexed by
+   * {@link net.runelite.api.EquipmentInventorySlot#getSlotIdx() equipment slot}. Equipment slots which are not used are
+   * {@code -1}
+   */
+  public static final int[][] WORN_EQUIPMENT_SLOT_COMPONENTS = {
+    { // The 'Worn Equipment' tab
+      InterfaceID.Wornitems.SLOT0, InterfaceID.Wornitems.SLOT1, InterfaceID.Wornitems.SLOT2, InterfaceID.Wornitems.SLOT3, InterfaceID.Wornitems.SLOT4,
+      InterfaceID.Wornitems.SLOT5, -1, InterfaceID.Wornitems.SLOT7, -1, InterfaceID.Wornitems.SLOT9,
+      InterfaceID.Wornitems.SLOT10, -1, InterfaceID.Wornitems.SLOT12, InterfaceID.Wornitems.SLOT13
+    },
+    { // 'View equipment stats' in the 'Worn Equipment' tab
+      InterfaceID.Equipment.SLOT0, InterfaceID.Equipment.SLOT1, InterfaceID.Equipment.SLOT2, InterfaceID.Equipment.SLOT3, InterfaceID.Equipment.SLOT4,
+      InterfaceID.Equipment.SLOT5, -1, InterfaceID.Equipment.SLOT7, -1, InterfaceID.Equipment.SLOT9,
+      InterfaceID.Equipment.SLOT10, -1, InterfaceID.Equipment.SLOT12, InterfaceID.Equipment.SLOT13
+    }
+  };
+
   @Nullable
   public static Widget findFirst(@Nonnull Client client, @Component int componentId, @Nonnull Predicate<Widget> filter) {
     Widget invWidget = client.getWidget(componentId);
@@ -61,6 +89,23 @@ public final class InventoryUtil {
     return null;
   }
 
+  /**
+   * {@code [clientscript,interface_inv_init]}, (re)creates the item widgets of an inventory interface
+   */
+  public static final int INTERFACE_INV_INIT_SCRIPT_ID = 149;
+
+  /**
+   * {@code [proc,interface_inv_update_big]}, redraws the item widgets of an inventory interface
+   */
+  public static final int INTERFACE_INV_UPDATE_BIG_SCRIPT_ID = 153;
+
+  /**
+   * @return Whether the script (re)draws the item widgets of an inventory interface
+   */
+  public static boolean isInventoryDrawScript(int scriptId) {
+    return scriptId == INTERFACE_INV_INIT_SCRIPT_ID || scriptId == INTERFACE_INV_UPDATE_BIG_SCRIPT_ID;
+  }
+
   public static final Set<Integer> INVENTORY_ITEMS_CONTAINERS = Set.of(
     InterfaceID.Inventory.ITEMS, // Normal inventory
     InterfaceID.Bankside.ITEMS, // Normal inventory when the bank is open
@@ -77,4 +122,24 @@ public final class InventoryUtil {
 //    InterfaceID.SeedVaultDeposit.INV, // When using the seed vault in the Farming Guild (currently buggy, when trying to deposit non-seed items)
 //    InterfaceID.Shopside.ITEMS // When in a shop interface
   );
+
+  /**
+   * Interface (group) ids of {@link #INVENTORY_ITEMS_CONTAINERS}
+   */
+  private static final int[] INVENTORY_ITEMS_INTERFACE_IDS = INVENTORY_ITEMS_CONTAINERS.stream()
+    .mapToInt(componentId -> componentId >>> 16)
+    .distinct()
+    .toArray();
+
+  /**
+   * @return Whether the interface contains one of the {@link #INVENTORY_ITEMS_CONTAINERS}
+   */
+  public static boolean isInventoryInterface(int interfaceId) {
+    for (int inventoryInterfaceId : INVENTORY_ITEMS_INTERFACE_IDS) {
+      if (inventoryInterfaceId == interfaceId) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.NoArgsConstructor;
+import no.elg.ii.model.MenuOptionIntent;
+import no.elg.ii.model.MenuOptionIntent.AmountKind;
+
+/**
+ * Parses menu options with an amount, like {@code Withdraw-10} or {@code Deposit-All-but-1}, into a
+ * {@link MenuOptionIntent}. Parsing never throws, and the result is cached by the option text so a repeated click does
+ * not allocate.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class MenuOptionParser {
+
+  /**
+   * The amount of an {@link AmountKind#OTHER_FIXED} option can be any number, so the cache is cleared instead of growing forever
+   */
+  private static final int MAX_CACHED_OPTIONS = 256;
+
+  private static final MenuOptionIntent NO_INTENT = new MenuOptionIntent("", AmountKind.NONE, 0);
+
+  private static final String ALL = "All";
+  private static final String ALL_BUT_ONE = "All-but-1";
+  private static final String X = "X";
+
+  private static final Map<String, MenuOptionIntent> CACHE = new ConcurrentHashMap<>();
+
+  @Nonnull
+  public static MenuOptionIntent parse(@Nullable String menuOption) {
+    if (menuOption == null) {
+      return NO_INTENT;
+    }
+    MenuOptionIntent intent = CACHE.get(menuOption);
+    if (intent == null) {
+      intent = parseUncached(menuOption);
+      if (CACHE.size() >= MAX_CACHED_OPTIONS) {
+        CACHE.clear();
+      }
+      CACHE.put(menuOption, intent);
+    }
+    return intent;
+  }
+
+  @Nonnull
+  static MenuOptionIntent parseUncached(@Nonnull String menuOption) {
+    int dash = menuOption.indexOf('-');
+    if (dash <= 0 || dash == menuOption.length() - 1) {
+      return NO_INTENT;
+    }
+    String verb = menuOption.substring(0, dash);
+    int start = dash + 1;
+    int length = menuOption.length() - start;
+    if (matches(menuOption, start, ALL)) {
+      return new MenuOptionIntent(verb, AmountKind.ALL, 0);
+    } else if (matches(menuOption, start, ALL_BUT_ONE)) {
+      return new MenuOptionIntent(verb, AmountKind.ALL_BUT_ONE, 0);
+    } else if (matches(menuOption, start, X)) {
+      return new MenuOptionIntent(verb, AmountKind.X, 0);
+    }
+
+    if (length > 9) {
+      // Would overflow an int, no item stack can be that large anyway
+      return NO_INTENT;
+    }
+    int amount = 0;
+    for (int i = start; i < menuOption.length(); i++) {
+      char c = menuOption.charAt(i);
+      if (c < '0' || c > '9') {
+        return NO_INTENT;
+      }
+      amount = amount * 10 + (c - '0');
+    }
+    if (amount <= 0) {
+      return NO_INTENT;
+    }
+    AmountKind kind = amount == 1 || amount == 5 || amount == 10 ? AmountKind.FIXED : AmountKind.OTHER_FIXED;
+    return new MenuOptionIntent(verb, kind, amount);
+  }
+
+  /**
+   * @return Whether the rest of {@code text} from {@code start} is {@code expected}, ignoring case
+   */
+  private static boolean matches(@Nonnull String text, int start, @Nonnull String expected) {
+    return text.length() - start == expected.length() && text.regionMatches(true, start, expected, 0, expected.length());
+  }
+}
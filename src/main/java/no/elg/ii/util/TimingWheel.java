@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.util;
+
+/**
+ * Deadlines for up to {@link #MAX_KEYS} keys (e.g., inventory slots), both in game ticks and in milliseconds.
+ * <p>
+ * Tick deadlines are kept in a wheel of buckets indexed by tick, so advancing one tick only looks at the keys due in
+ * that tick's bucket. Millisecond deadlines are for expiry within a tick, and must be polled more often than every
+ * tick (e.g., every frame) to be honoured; they are only scanned once the earliest of them has passed.
+ * <p>
+ * Expired keys are returned as a mask where bit {@code i} is set if key {@code i} expired. Not thread safe.
+ */
+public final class TimingWheel {
+
+  public static final int MAX_KEYS = Integer.SIZE;
+
+  private static final int NOT_ADVANCED = Integer.MIN_VALUE;
+
+  /**
+   * Keys due in each bucket, a key is in the bucket {@code dueTick & bucketMask}
+   */
+  private final int[] buckets;
+  private final int bucketMask;
+  private final int[] dueTicks = new int[MAX_KEYS];
+  private int tickScheduledMask;
+  private int lastAdvancedTick = NOT_ADVANCED;
+
+  private final long[] dueMillis = new long[MAX_KEYS];
+  private int millisScheduledMask;
+  /**
+   * No millisecond deadline is before this, might be earlier than the actual earliest deadline after a cancel
+   */
+  private long earliestDueMillis = Long.MAX_VALUE;
+
+  /**
+   * @param bucketCount How many ticks ahead can be scheduled without a key being looked at before it is due, will be
+   *                    rounded up to a power of two
+   */
+  public TimingWheel(int bucketCount) {
+    int size = Integer.highestOneBit(Math.max(1, bucketCount - 1)) << 1;
+    buckets = new int[size];
+    bucketMask = size - 1;
+  }
+
+  /**
+   * Schedule {@code key} to expire at {@code dueTick}, replacing any earlier tick deadline of the key. A deadline which
+   * has already passed expires the next time the wheel is advanced.
+   */
+  public void scheduleTick(int key, int dueTick) {
+    cancelTick(key);
+    if (lastAdvancedTick != NOT_ADVANCED && dueTick <= lastAdvancedTick) {
+      dueTick = lastAdvancedTick + 1;
+    }
+    int bit = 1 << key;
+    dueTicks[key] = dueTick;
+    buckets[dueTick & bucketMask] |= bit;
+    tickScheduledMask |= bit;
+  }
+
+  public void cancelTick(int key) {
+    int bit = 1 << key;
+    if ((tickScheduledMask & bit) != 0) {
+      buckets[dueTicks[key] & bucketMask] &= ~bit;
+      tickScheduledMask &= ~bit;
+    }
+  }
+
+  public boolean isTickScheduled(int key) {
+    return (tickScheduledMask & (1 << key)) != 0;
+  }
+
+  /**
+   * Advance the wheel to {@code tick}, only the buckets of the ticks since the last advance are looked at
+   *
+   * @return Mask of the keys whose tick deadline is at or before {@code tick}, they are no longer scheduled
+   */
+  public int advanceTo(int tick) {
+    int from = lastAdvancedTick == NOT_ADVANCED || tick - lastAdvancedTick > buckets.length ? tick - bucketMask : lastAdvancedTick + 1;
+    lastAdvancedTick = tick;
+    if (tickScheduledMask == 0) {
+      return 0;
+    }
+    int expired = 0;
+    for (int t = from; t <= tick; t++) {
+      int bucket = t & bucketMask;
+      int bucketExpired = 0;
+      for (int mask = buckets[bucket]; mask != 0; mask &= mask - 1) {
+        int key = Integer.numberOfTrailingZeros(mask);
+        if (dueTicks[key] <= tick) {
+          bucketExpired |= 1 << key;
+        }
+      }
+      buckets[bucket] &= ~bucketExpired;
+      expired |= bucketExpired;
+    }
+    tickScheduledMask &= ~expired;
+    return expired;
+  }
+
+  /**
+   * Schedule {@code key} to expire at {@code dueMillis}, replacing any earlier millisecond deadline of the key
+   */
+  public void scheduleMillis(int key, long dueMillis) {
+    this.dueMillis[key] = dueMillis;
+    millisScheduledMask |= 1 << key;
+    earliestDueMillis = Math.min(earliestDueMillis, dueMillis);
+  }
+
+  public void cancelMillis(int key) {
+    millisScheduledMask &= ~(1 << key);
+  }
+
+  /**
+   * @return Whether a millisecond deadline might be at or before {@code nowMillis}, without scanning the keys
+   */
+  public boolean isMillisDue(long nowMillis) {
+    return nowMillis >= earliestDueMillis;
+  }
+
+  /**
+   * @return Mask of the keys whose millisecond deadline is at or before {@code nowMillis}, they are no longer scheduled
+   */
+  public int expireMillis(long nowMillis) {
+    if (nowMillis < earliestDueMillis) {
+      return 0;
+    }
+    int expired = 0;
+    long earliest = Long.MAX_VALUE;
+    for (int mask = millisScheduledMask; mask != 0; mask &= mask - 1) {
+      int key = Integer.numberOfTrailingZeros(mask);
+      long due = dueMillis[key];
+      if (due <= nowMillis) {
+        expired |= 1 << key;
+      } else {
+        earliest = Math.min(earliest, due);
+      }
+    }
+    millisScheduledMask &= ~expired;
+    earliestDueMillis = earliest;
+    return expired;
+  }
+
+  /**
+   * Remove all deadlines of {@code key}
+   */
+  public void cancel(int key) {
+    cancelTick(key);
+    cancelMillis(key);
+  }
+}
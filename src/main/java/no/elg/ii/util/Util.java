@@ -27,33 +27,18 @@
 
 package no.elg.ii.util;
 
-import javax.annotation.Nonnull;
 import lombok.NoArgsConstructor;
-import net.runelite.api.widgets.Widget;
 
 @NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
 public final class Util {
+  /**
+   * The amount of a menu option is not known
+   *
+   * @see MenuOptionParser
+   */
   public static final int NO_MENU_OPTION_NUMBER = -1;
   public static final int TICK_LENGTH_MS = 600;
 
-  public static int getNumberFromMenuOption(String text, @Nonnull Widget widget) {
-    try {
-      String substring = text.substring(text.indexOf('-') + 1);
-      int quantity;
-      if ("All".equals(substring)) {
-        quantity = Integer.MAX_VALUE;
-      } else if ("All-but-1".equalsIgnoreCase(substring)) {
-        quantity = widget.getItemQuantity() - 1;
-      } else {
-        quantity = Integer.parseInt(substring);
-      }
-      assert quantity > 0;
-      return quantity;
-    } catch (NumberFormatException | IndexOutOfBoundsException e) {
-      return NO_MENU_OPTION_NUMBER;
-    }
-  }
-
   public static int coerceIn(int value, int min, int max) {
     return Math.max(min, Math.min(max, value));
   }
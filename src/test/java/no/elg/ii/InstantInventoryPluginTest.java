@@ -27,6 +27,7 @@
 
 package no.elg.ii;
 
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -35,6 +36,7 @@ import net.runelite.api.events.GameStateChanged;
 import net.runelite.client.events.ConfigChanged;
 import no.elg.ii.test.IntegrationTestHelper;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 public class InstantInventoryPluginTest extends IntegrationTestHelper {
 
@@ -50,6 +52,18 @@ public class InstantInventoryPluginTest extends IntegrationTestHelper {
     verify(featureManager).disableAllFeatures();
   }
 
+  @Test
+  public void shutDown_unregisters_services_in_reverse_order() {
+    plugin.startUp();
+    plugin.shutDown();
+
+    InOrder inOrder = inOrder(eventBus);
+    inOrder.verify(eventBus).register(clockService);
+    inOrder.verify(eventBus).register(predictionStore);
+    inOrder.verify(eventBus).unregister(predictionStore);
+    inOrder.verify(eventBus).unregister(clockService);
+  }
+
   @Test
   public void onGameStateChanged_calls_nothing_on_incorrect_group() {
     plugin.startUp();
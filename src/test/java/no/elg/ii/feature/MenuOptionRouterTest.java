@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.feature;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import net.runelite.api.MenuEntry;
+import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.widgets.Widget;
+import no.elg.ii.feature.features.CleanHerbFeature;
+import no.elg.ii.feature.features.DepositFeature;
+import no.elg.ii.feature.features.DropFeature;
+import no.elg.ii.feature.features.EquipFeature;
+import no.elg.ii.feature.features.PrayerFeature;
+import no.elg.ii.feature.features.WithdrawFeature;
+import no.elg.ii.model.ItemTransformation;
+import no.elg.ii.model.ItemTransformationRegistry;
+import no.elg.ii.util.MenuOptionParser;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MenuOptionRouterTest {
+
+  private MenuOptionRouter router;
+  private Features features;
+
+  @Before
+  public void setUp() {
+    features = new Features(
+      mock(DropFeature.class),
+      mock(CleanHerbFeature.class),
+      mock(DepositFeature.class),
+      mock(EquipFeature.class),
+      mock(WithdrawFeature.class),
+      mock(PrayerFeature.class)
+    );
+    router = new MenuOptionRouter();
+    router.features = features;
+    router.featureManager = mock(FeatureManager.class);
+    doReturn(true).when(router.featureManager).isFeatureActive(any());
+    router.transformations = new ItemTransformationRegistry(List.of(new ItemTransformation(1, "Clean", 2, 0, null)));
+  }
+
+  private MenuOptionClicked click(String option) {
+    return click(option, mock(Widget.class));
+  }
+
+  private MenuOptionClicked click(String option, Widget widget) {
+    MenuEntry menuEntry = mock(MenuEntry.class);
+    doReturn(option).when(menuEntry).getOption();
+    doReturn(widget).when(menuEntry).getWidget();
+    return new MenuOptionClicked(menuEntry);
+  }
+
+  @Test
+  public void route_finds_owner_of_exact_options() {
+    assertSame(features.getDropFeature(), router.route(DropFeature.DROP_OPTION));
+    assertSame(features.getCleanHerbFeature(), router.route("Clean"));
+    assertSame(features.getDepositFeature(), router.route(DepositFeature.DEPOSIT_ALL_OPTION));
+    assertSame(features.getDepositFeature(), router.route(DepositFeature.ADD_ALL_OPTION));
+    assertSame(features.getEquipFeature(), router.route("Wield"));
+  }
+
+  @Test
+  public void route_finds_owner_of_prefixed_options() {
+    assertSame(features.getDepositFeature(), router.route("Deposit-All"));
+    assertSame(features.getWithdrawFeature(), router.route("Withdraw-10"));
+  }
+
+  @Test
+  public void classify_distinguishes_deposit_all_from_deposit() {
+    assertSame(MenuOptionRoute.DEPOSIT_ALL, router.classify(DepositFeature.DEPOSIT_ALL_OPTION));
+    assertSame(MenuOptionRoute.DEPOSIT_ALL, router.classify(DepositFeature.ADD_ALL_OPTION));
+    assertSame(MenuOptionRoute.DEPOSIT, router.classify("Deposit-1"));
+    assertSame(MenuOptionRoute.WITHDRAW, router.classify("Withdraw-All-but-1"));
+    assertSame(MenuOptionRoute.TRANSFORM, router.classify("Clean"));
+  }
+
+  @Test
+  public void route_unknown_option_is_null() {
+    assertNull(router.route("Eat"));
+    assertNull(router.route(null));
+  }
+
+  @Test
+  public void click_is_only_dispatched_to_the_owner() {
+    Widget widget = mock(Widget.class);
+    MenuOptionClicked event = click(DropFeature.DROP_OPTION, widget);
+    router.onMenuOptionClicked(event);
+    verify(features.getDropFeature()).onMenuOptionClicked(event, widget, MenuOptionRoute.DROP, MenuOptionParser.parse(DropFeature.DROP_OPTION));
+    verify(features.getEquipFeature(), never()).onMenuOptionClicked(any(), any(), any(), any());
+  }
+
+  @Test
+  public void click_without_widget_is_not_dispatched() {
+    router.onMenuOptionClicked(click(DropFeature.DROP_OPTION, null));
+    verify(features.getDropFeature(), never()).onMenuOptionClicked(any(), any(), any(), any());
+  }
+
+  @Test
+  public void unknown_option_is_not_dispatched() {
+    router.onMenuOptionClicked(click("Eat"));
+    verify(features.getDropFeature(), never()).onMenuOptionClicked(any(), any(), any(), any());
+  }
+
+  @Test
+  public void click_is_not_dispatched_to_inactive_feature() {
+    doReturn(false).when(router.featureManager).isFeatureActive(features.getDropFeature());
+    router.onMenuOptionClicked(click(DropFeature.DROP_OPTION));
+    verify(features.getDropFeature(), never()).onMenuOptionClicked(any(), any(), any(), any());
+  }
+
+  @Test
+  public void consumed_click_is_not_dispatched() {
+    MenuOptionClicked event = click(DropFeature.DROP_OPTION);
+    event.consume();
+    router.onMenuOptionClicked(event);
+    verify(features.getDropFeature(), never()).onMenuOptionClicked(any(), any(), any(), any());
+  }
+
+  @Test
+  public void amount_is_parsed_for_the_feature() {
+    Widget widget = mock(Widget.class);
+    MenuOptionClicked event = click("Withdraw-10", widget);
+    router.onMenuOptionClicked(event);
+    verify(features.getWithdrawFeature()).onMenuOptionClicked(event, widget, MenuOptionRoute.WITHDRAW, MenuOptionParser.parse("Withdraw-10"));
+  }
+}
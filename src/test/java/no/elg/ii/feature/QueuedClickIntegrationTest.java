@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.feature;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.MenuEntry;
+import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.widgets.Widget;
+import no.elg.ii.feature.features.DropFeature;
+import no.elg.ii.model.ItemTransformation;
+import no.elg.ii.model.ItemTransformationRegistry;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.service.DisallowModifiedWidgetInteractionService;
+import no.elg.ii.test.IntegrationTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Two clicks on the same inventory slot before the server has handled the first, routed like the client does
+ */
+public class QueuedClickIntegrationTest extends IntegrationTestHelper {
+
+  private static final int INDEX = 3;
+  private static final int GRIMY_ID = 1;
+  private static final int CLEAN_ID = 2;
+
+  private DisallowModifiedWidgetInteractionService disallowService;
+  private MenuOptionRouter router;
+
+  @Before
+  public void setUpRouter() {
+    doReturn(true).when(client).isClientThread();
+    ItemTransformationRegistry transformations = new ItemTransformationRegistry(List.of(new ItemTransformation(GRIMY_ID, "Clean", CLEAN_ID, 0, null)));
+    cleanHerbFeature.transformations = transformations;
+    cleanHerbFeature.state = inventoryState;
+    cleanHerbFeature.widgetService = widgetService;
+    dropFeature.state = inventoryState;
+    dropFeature.widgetService = widgetService;
+
+    router = new MenuOptionRouter();
+    router.features = features;
+    router.featureManager = featureManager;
+    router.transformations = transformations;
+    disallowService = new DisallowModifiedWidgetInteractionService();
+    disallowService.inventoryService = inventoryService;
+    disallowService.client = client;
+    disallowService.inventoryState = inventoryState;
+    disallowService.menuOptionRouter = router;
+
+    doReturn(true).when(featureManager).isFeatureActive(any());
+
+    // The server has yet to handle any click, so the slot still holds the grimy herb
+    ItemContainer inventoryContainer = mock(ItemContainer.class);
+    doReturn(new Item(GRIMY_ID, 1)).when(inventoryContainer).getItem(INDEX);
+    doReturn(inventoryContainer).when(inventoryService).getCurrentInventoryContainer();
+  }
+
+  private MenuOptionClicked click(String option, int widgetItemId) {
+    Widget widget = mock(Widget.class);
+    doReturn(INDEX).when(widget).getIndex();
+    doReturn(widgetItemId).when(widget).getItemId();
+    doReturn(1).when(widget).getItemQuantity();
+
+    MenuEntry menuEntry = mock(MenuEntry.class);
+    doReturn(option).when(menuEntry).getOption();
+    doReturn(widgetItemId).when(menuEntry).getItemId();
+    doReturn(widget).when(menuEntry).getWidget();
+    doReturn(true).when(menuEntry).isItemOp();
+    return new MenuOptionClicked(menuEntry);
+  }
+
+  /**
+   * Pass the click to the subscribers in the order of their priority
+   */
+  private void dispatch(MenuOptionClicked event) {
+    disallowService.onMenuOptionClicked(event);
+    router.onMenuOptionClicked(event);
+  }
+
+  @Test
+  public void second_click_on_a_predicted_slot_is_queued() {
+    MenuOptionClicked clean = click("Clean", GRIMY_ID);
+    dispatch(clean);
+    assertFalse(clean.isConsumed());
+    assertEquals(CLEAN_ID, inventoryState.getItemId(INDEX));
+
+    // The widget shows the predicted clean herb while the server still has the grimy herb
+    MenuOptionClicked drop = click(DropFeature.DROP_OPTION, CLEAN_ID);
+    dispatch(drop);
+    assertFalse(drop.isConsumed());
+    assertEquals(PredictionSource.DROP, inventoryState.getSource(INDEX));
+    assertEquals(1, inventoryState.getPendingCount(INDEX));
+  }
+
+  @Test
+  public void click_on_a_widget_showing_neither_the_actual_nor_the_predicted_item_is_consumed() {
+    MenuOptionClicked drop = click(DropFeature.DROP_OPTION, CLEAN_ID);
+    dispatch(drop);
+    assertTrue(drop.isConsumed());
+    assertFalse(inventoryState.isSlotActive(INDEX));
+  }
+
+  @Test
+  public void click_on_a_predicted_slot_with_an_option_no_feature_predicts_is_consumed() {
+    dispatch(click("Clean", GRIMY_ID));
+
+    MenuOptionClicked eat = click("Eat", CLEAN_ID);
+    dispatch(eat);
+    assertTrue(eat.isConsumed());
+    assertEquals(0, inventoryState.getPendingCount(INDEX));
+  }
+}
@@ -29,6 +29,8 @@ package no.elg.ii.feature.features;
 
 import static net.runelite.api.gameval.ItemID.TZHAAR_CAPE_FIRE;
 import static net.runelite.api.gameval.ItemID.UNIDENTIFIED_GUAM;
+import static net.runelite.api.gameval.ItemID.VIAL_EMPTY;
+import static net.runelite.api.gameval.ItemID.VIAL_WATER;
 import static no.elg.ii.feature.features.CleanHerbFeature.CLEAN_CONFIG_KEY;
 import static no.elg.ii.feature.features.CleanHerbFeature.CLEAN_OPTION;
 import static no.elg.ii.inventory.slot.InventorySlot.INVALID_ITEM_ID;
@@ -42,8 +44,10 @@ import net.runelite.api.Client;
 import net.runelite.api.MenuEntry;
 import net.runelite.api.events.MenuOptionClicked;
 import net.runelite.api.widgets.Widget;
+import no.elg.ii.feature.MenuOptionRoute;
 import no.elg.ii.test.FeatureTestMother;
 import no.elg.ii.test.TestSetup;
+import no.elg.ii.util.MenuOptionParser;
 import org.junit.Test;
 
 public class CleanHerbFeatureTest extends FeatureTestMother<CleanHerbFeature> {
@@ -61,30 +65,30 @@ public class CleanHerbFeatureTest extends FeatureTestMother<CleanHerbFeature> {
 
   @Test
   public void onMenuOptionClicked_happy_path() {
-    onMenuOptionClicked_test(UNIDENTIFIED_GUAM, UNIDENTIFIED_GUAM, true, CLEAN_OPTION, 99);
+    onMenuOptionClicked_test(UNIDENTIFIED_GUAM, UNIDENTIFIED_GUAM, CLEAN_OPTION, 99);
   }
 
   @Test
-  public void onMenuOptionClicked_no_widget() {
-    onMenuOptionClicked_test(INVALID_ITEM_ID, UNIDENTIFIED_GUAM, false, CLEAN_OPTION, 99);
+  public void onMenuOptionClicked_not_clean_option() {
+    onMenuOptionClicked_test(INVALID_ITEM_ID, UNIDENTIFIED_GUAM, "not clean", 99);
   }
 
   @Test
-  public void onMenuOptionClicked_not_clean_option() {
-    onMenuOptionClicked_test(INVALID_ITEM_ID, UNIDENTIFIED_GUAM, true, "not clean", 99);
+  public void onMenuOptionClicked_not_a_herb() {
+    onMenuOptionClicked_test(INVALID_ITEM_ID, TZHAAR_CAPE_FIRE, CLEAN_OPTION, 99);
   }
 
   @Test
-  public void onMenuOptionClicked_not_a_herb() {
-    onMenuOptionClicked_test(INVALID_ITEM_ID, TZHAAR_CAPE_FIRE, true, CLEAN_OPTION, 99);
+  public void onMenuOptionClicked_empty_vial_has_no_level_requirement() {
+    onMenuOptionClicked_test(VIAL_EMPTY, VIAL_WATER, "Empty", 1);
   }
 
   @Test
   public void onMenuOptionClicked_too_low_level() {
-    onMenuOptionClicked_test(INVALID_ITEM_ID, UNIDENTIFIED_GUAM, true, CLEAN_OPTION, 1);
+    onMenuOptionClicked_test(INVALID_ITEM_ID, UNIDENTIFIED_GUAM, CLEAN_OPTION, 1);
   }
 
-  private void onMenuOptionClicked_test(int stateItemId, int itemId, boolean hasWidget, String menuEntryOption, int level) {
+  private void onMenuOptionClicked_test(int stateItemId, int itemId, String menuEntryOption, int level) {
     int index = 1;
     CleanHerbFeature feature = createNewInstance();
 
@@ -94,14 +98,14 @@ public class CleanHerbFeatureTest extends FeatureTestMother<CleanHerbFeature> {
     MenuEntry menuEntry = mock(MenuEntry.class);
     doReturn(menuEntryOption).when(menuEntry).getOption();
     doReturn(itemId).when(menuEntry).getItemId();
-    doReturn(hasWidget ? widget : null).when(menuEntry).getWidget();
+    doReturn(widget).when(menuEntry).getWidget();
     Client client = feature.client;
     doReturn(level).when(client).getBoostedSkillLevel(any());
 
     MenuOptionClicked event = new MenuOptionClicked(menuEntry);
 
     assertFalse(feature.getState().getSlot(index).hasValidItemId());
-    feature.onMenuOptionClicked(event);
+    feature.onMenuOptionClicked(event, widget, MenuOptionRoute.TRANSFORM, MenuOptionParser.parse(menuEntryOption));
     assertEquals(stateItemId, feature.getState().getSlot(index).getItemId());
   }
 }
@@ -37,64 +37,42 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 
 import net.runelite.api.Client;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
 import net.runelite.api.MenuEntry;
+import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.gameval.InventoryID;
+import net.runelite.api.gameval.VarbitID;
 import net.runelite.api.widgets.Widget;
 import no.elg.ii.InstantInventoryConfig;
 import no.elg.ii.feature.HideFeature;
+import no.elg.ii.feature.MenuOptionRoute;
 import no.elg.ii.feature.state.InventoryState;
+import no.elg.ii.model.ItemMetadata;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.ConfigService;
 import no.elg.ii.service.InventoryService;
+import no.elg.ii.service.ItemMetadataService;
+import no.elg.ii.service.VarService;
 import no.elg.ii.service.WidgetService;
 import no.elg.ii.test.FeatureTestMother;
 import no.elg.ii.test.TestSetup;
+import no.elg.ii.util.MenuOptionParser;
 import org.junit.Test;
 
 public class DropFeatureTest extends FeatureTestMother<DropFeature> {
 
+  private static final int WARNING_VALUE = 1000;
+  private static final int EXPENSIVE_ITEM_ID = 10;
+  private static final int CHEAP_ITEM_ID = 20;
+
   @Override
   public DropFeature createNewInstance() {
     return TestSetup.createNewDropFeature();
   }
 
-  @Test
-  public void onMenuOptionClicked_doNothingWhenWidgetIsNull() {
-    int index = 1;
-    int itemId = 2;
-    DropFeature dropFeature = createNewInstance();
-
-    MenuEntry menuEntry = mock(MenuEntry.class);
-    doReturn(DropFeature.DROP_OPTION).when(menuEntry).getOption();
-    doReturn(itemId).when(menuEntry).getItemId();
-    doReturn(null).when(menuEntry).getWidget();
-
-    MenuOptionClicked event = new MenuOptionClicked(menuEntry);
-
-    assertFalse(dropFeature.getState().getSlot(index).hasValidItemId());
-    dropFeature.onMenuOptionClicked(event);
-    assertFalse(dropFeature.getState().getSlot(index).hasValidItemId());
-  }
-
-  @Test
-  public void onMenuOptionClicked_different_menuEntry_clicked_does_not_update_state() {
-    int index = 1;
-    int itemId = 2;
-    DropFeature dropFeature = createNewInstance();
-
-    Widget widget = mock(Widget.class);
-    doReturn(index).when(widget).getIndex();
-
-    MenuEntry menuEntry = mock(MenuEntry.class);
-    doReturn("not drop").when(menuEntry).getOption();
-    doReturn(itemId).when(menuEntry).getItemId();
-    doReturn(widget).when(menuEntry).getWidget();
-
-    MenuOptionClicked event = new MenuOptionClicked(menuEntry);
-
-    assertFalse(dropFeature.getState().getSlot(index).hasValidItemId());
-    dropFeature.onMenuOptionClicked(event);
-    assertFalse(dropFeature.getState().getSlot(index).hasValidItemId());
-  }
-
   @Test
   public void stateResetWhenItemNotDropped() {
     int index = 1;
@@ -115,13 +93,13 @@ public class DropFeatureTest extends FeatureTestMother<DropFeature> {
     Client client = mock(Client.class);
     var inventoryService = mock(InventoryService.class);
     var widgetService = mock(WidgetService.class);
-    InventoryState inventoryState = new InventoryState(config, client, inventoryService, widgetService);
+    InventoryState inventoryState = new InventoryState(new ConfigService(config), client, inventoryService, widgetService, new ClockService());
     doReturn(inventoryState).when(feature).getState();
 
     MenuOptionClicked event = new MenuOptionClicked(menuEntry);
 
     assertFalse(feature.getState().getSlot(index).hasValidItemId());
-    feature.onMenuOptionClicked(event);
+    feature.onMenuOptionClicked(event, widget, MenuOptionRoute.DROP, MenuOptionParser.parse(DropFeature.DROP_OPTION));
     assertTrue(feature.getState().getSlot(index).hasValidItemId());
     assertEquals(itemId, feature.getState().getSlot(index).getItemId());
 
@@ -144,4 +122,91 @@ public class DropFeatureTest extends FeatureTestMother<DropFeature> {
     HideFeature dropFeature = createNewInstance();
 //    assertFalse(dropFeature.getWidgets().isEmpty());
   }
+
+  private DropFeature createWarningFeature(ItemContainer inventoryContainer) {
+    DropFeature feature = createNewInstance();
+    feature.varService = spy(new VarService());
+    doReturn(VarService.VAR_VALUE_TRUE).when(feature.varService).varbitValue(VarbitID.OPTION_DROPWARNING_ON);
+    doReturn(WARNING_VALUE).when(feature.varService).varbitValue(VarbitID.OPTION_DROPWARNING_VALUE);
+    feature.itemMetadataService = mock(ItemMetadataService.class);
+    doReturn(new ItemMetadata(EXPENSIVE_ITEM_ID, EXPENSIVE_ITEM_ID, false, 0, -1, false, WARNING_VALUE + 1))
+      .when(feature.itemMetadataService).get(EXPENSIVE_ITEM_ID);
+    doReturn(new ItemMetadata(CHEAP_ITEM_ID, CHEAP_ITEM_ID, false, 0, -1, false, 1))
+      .when(feature.itemMetadataService).get(CHEAP_ITEM_ID);
+    feature.inventoryService = mock(InventoryService.class);
+    doReturn(inventoryContainer).when(feature.inventoryService).getCurrentInventoryContainer();
+    return feature;
+  }
+
+  private ItemContainer inventoryContainer(Item... items) {
+    ItemContainer inventoryContainer = mock(ItemContainer.class);
+    doReturn(items).when(inventoryContainer).getItems();
+    return inventoryContainer;
+  }
+
+  @Test
+  public void dropWarning_is_only_shown_for_warned_slots() {
+    ItemContainer inventoryContainer = inventoryContainer(new Item(EXPENSIVE_ITEM_ID, 1), new Item(CHEAP_ITEM_ID, 1));
+    DropFeature feature = createWarningFeature(inventoryContainer);
+    feature.onItemContainerChanged(new ItemContainerChanged(InventoryID.INV, inventoryContainer));
+
+    assertTrue(feature.willDropWarningBeShownForSlot(0));
+    assertFalse(feature.willDropWarningBeShownForSlot(1));
+  }
+
+  @Test
+  public void dropWarning_is_computed_from_the_group_storage_inventory() {
+    ItemContainer inventoryContainer = inventoryContainer(new Item(CHEAP_ITEM_ID, 1));
+    ItemContainer groupStorageInventoryContainer = inventoryContainer(new Item(EXPENSIVE_ITEM_ID, 1));
+    DropFeature feature = createWarningFeature(groupStorageInventoryContainer);
+    feature.onItemContainerChanged(new ItemContainerChanged(InventoryID.INV_PLAYER_TEMP, groupStorageInventoryContainer));
+    assertTrue(feature.willDropWarningBeShownForSlot(0));
+
+    // The normal inventory is not shown while the group storage is open
+    feature.onItemContainerChanged(new ItemContainerChanged(InventoryID.INV, inventoryContainer));
+    assertTrue(feature.willDropWarningBeShownForSlot(0));
+  }
+
+  @Test
+  public void dropWarning_follows_the_varbit() {
+    ItemContainer inventoryContainer = inventoryContainer(new Item(EXPENSIVE_ITEM_ID, 1));
+    DropFeature feature = createWarningFeature(inventoryContainer);
+    feature.onItemContainerChanged(new ItemContainerChanged(InventoryID.INV, inventoryContainer));
+    assertTrue(feature.willDropWarningBeShownForSlot(0));
+
+    VarbitChanged varbitChanged = new VarbitChanged();
+    varbitChanged.setVarbitId(VarbitID.OPTION_DROPWARNING_ON);
+    doReturn(VarService.VAR_VALUE_FALSE).when(feature.varService).varbitValue(VarbitID.OPTION_DROPWARNING_ON);
+    feature.onVarbitChanged(varbitChanged);
+    assertFalse(feature.willDropWarningBeShownForSlot(0));
+
+    doReturn(VarService.VAR_VALUE_TRUE).when(feature.varService).varbitValue(VarbitID.OPTION_DROPWARNING_ON);
+    feature.onVarbitChanged(varbitChanged);
+    assertTrue(feature.willDropWarningBeShownForSlot(0));
+  }
+
+  @Test
+  public void dropWarning_uses_the_clicked_item_when_the_slot_shows_a_prediction() {
+    int index = 0;
+    // The server still has the cheap item, while the slot shows the predicted expensive item
+    ItemContainer inventoryContainer = inventoryContainer(new Item(CHEAP_ITEM_ID, 1));
+    DropFeature feature = createWarningFeature(inventoryContainer);
+    feature.onItemContainerChanged(new ItemContainerChanged(InventoryID.INV, inventoryContainer));
+    InventoryState inventoryState = new InventoryState(new ConfigService(spy(new InstantInventoryConfig() {
+    })), feature.client, mock(InventoryService.class), mock(WidgetService.class), new ClockService());
+    feature.state = inventoryState;
+    feature.widgetService = mock(WidgetService.class);
+
+    Widget widget = mock(Widget.class);
+    doReturn(index).when(widget).getIndex();
+    doReturn(EXPENSIVE_ITEM_ID).when(widget).getItemId();
+    doReturn(1).when(widget).getItemQuantity();
+    MenuEntry menuEntry = mock(MenuEntry.class);
+    doReturn(DropFeature.DROP_OPTION).when(menuEntry).getOption();
+    doReturn(EXPENSIVE_ITEM_ID).when(menuEntry).getItemId();
+    doReturn(widget).when(menuEntry).getWidget();
+
+    feature.onMenuOptionClicked(new MenuOptionClicked(menuEntry), widget, MenuOptionRoute.DROP, MenuOptionParser.parse(DropFeature.DROP_OPTION));
+    assertFalse("Hid an item which will show the drop warning", inventoryState.isSlotActive(index));
+  }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.feature.features;
+
+import static no.elg.ii.model.PrayerInfo.PRAYER_WIDGET_BITS;
+import static no.elg.ii.model.PrayerInfo.PRAYER_WIDGET_IDS;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import net.runelite.api.Client;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.widgets.Widget;
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.service.ConfigService;
+import no.elg.ii.test.TestSetup;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrayerBookRendererTest {
+
+  private PrayerBookRenderer renderer;
+  private Widget prayerContainer;
+  private Widget[] backgroundWidgets;
+
+  @Before
+  public void setUp() {
+    Client client = mock(Client.class);
+    prayerContainer = mock(Widget.class);
+    doReturn(prayerContainer).when(client).getWidget(InterfaceID.Prayerbook.CONTAINER);
+    backgroundWidgets = new Widget[PRAYER_WIDGET_IDS.length];
+    for (int i = 0; i < PRAYER_WIDGET_IDS.length; i++) {
+      Widget prayerWidget = mock(Widget.class);
+      backgroundWidgets[i] = mock(Widget.class);
+      doReturn(prayerWidget).when(client).getWidget(PRAYER_WIDGET_IDS[i]);
+      doReturn(backgroundWidgets[i]).when(prayerWidget).getChild(0);
+    }
+
+    renderer = new PrayerBookRenderer();
+    renderer.client = client;
+    renderer.clientThread = TestSetup.mockedClientThread();
+    renderer.configService = new ConfigService(spy(InstantInventoryConfig.class));
+  }
+
+  private void verifyOnlyRendered(int renderedBits) {
+    for (int i = 0; i < PRAYER_WIDGET_BITS.length; i++) {
+      if ((PRAYER_WIDGET_BITS[i] & renderedBits) != 0) {
+        verify(backgroundWidgets[i]).setOpacity(anyInt());
+      } else {
+        verify(backgroundWidgets[i], never()).setOpacity(anyInt());
+      }
+    }
+    clearInvocations((Object[]) backgroundWidgets);
+  }
+
+  @Test
+  public void first_render_draws_every_prayer() {
+    renderer.render(PRAYER_WIDGET_BITS[0], 0, 0);
+    verifyOnlyRendered(-1);
+  }
+
+  @Test
+  public void unchanged_state_draws_nothing() {
+    renderer.render(PRAYER_WIDGET_BITS[0], 0, 0);
+    verifyOnlyRendered(-1);
+
+    renderer.render(PRAYER_WIDGET_BITS[0], 0, 0);
+    verifyOnlyRendered(0);
+  }
+
+  @Test
+  public void only_changed_prayers_are_drawn() {
+    int first = PRAYER_WIDGET_BITS[0];
+    int second = PRAYER_WIDGET_BITS[1];
+    int third = PRAYER_WIDGET_BITS[2];
+    renderer.render(first, 0, 0);
+    verifyOnlyRendered(-1);
+
+    renderer.render(first | second, first, 0);
+    verifyOnlyRendered(second);
+
+    renderer.render(first | second, first, third);
+    verifyOnlyRendered(third);
+  }
+
+  @Test
+  public void invalidate_draws_every_prayer() {
+    renderer.render(PRAYER_WIDGET_BITS[0], 0, 0);
+    verifyOnlyRendered(-1);
+
+    renderer.invalidate();
+    renderer.render(PRAYER_WIDGET_BITS[0], 0, 0);
+    verifyOnlyRendered(-1);
+  }
+
+  @Test
+  public void showing_the_prayer_book_draws_every_prayer() {
+    renderer.render(PRAYER_WIDGET_BITS[0], 0, 0);
+    verifyOnlyRendered(-1);
+
+    doReturn(true).when(prayerContainer).isHidden();
+    renderer.render(PRAYER_WIDGET_BITS[1], 0, 0);
+    verifyOnlyRendered(0);
+
+    doReturn(false).when(prayerContainer).isHidden();
+    renderer.render(PRAYER_WIDGET_BITS[1], 0, 0);
+    verifyOnlyRendered(-1);
+  }
+
+  @Test
+  public void nothing_is_drawn_when_no_prayer_was_or_is_active() {
+    renderer.render(0, 0, PRAYER_WIDGET_BITS[0]);
+    verifyOnlyRendered(0);
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.inventory;
+
+import static no.elg.ii.inventory.slot.InventorySlot.INVALID_ITEM_ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.feature.state.ContainerState;
+import no.elg.ii.feature.state.PredictedContainer;
+import no.elg.ii.model.ConfigSnapshot;
+import no.elg.ii.model.PredictionOutcome;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.PredictionMetricsService;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ContainerStateTest {
+
+  private ContainerState state;
+  private ConfigSnapshot snapshot;
+  private PredictionMetricsService metrics;
+  private final List<Integer> resetSlots = new ArrayList<>();
+  private final ContainerState.SlotResetListener listener = (index, item) -> resetSlots.add(index);
+
+  @Before
+  public void setUp() {
+    state = new ContainerState(PredictedContainer.BANK);
+    snapshot = new ConfigSnapshot(spy(InstantInventoryConfig.class));
+    metrics = mock(PredictionMetricsService.class);
+  }
+
+  private ItemContainer container(int index, Item item) {
+    ItemContainer container = mock(ItemContainer.class);
+    doReturn(item).when(container).getItem(index);
+    return container;
+  }
+
+  @Test
+  public void nextModifiedSlot_iterates_across_words() {
+    state.setSlot(1000, 1, 1, 0, 0);
+    state.setSlot(3, 1, 1, 0, 0);
+    state.setSlot(64, 1, 1, 0, 0);
+
+    List<Integer> slots = new ArrayList<>();
+    for (int index = state.nextModifiedSlot(0); index >= 0; index = state.nextModifiedSlot(index + 1)) {
+      slots.add(index);
+    }
+    assertEquals(List.of(3, 64, 1000), slots);
+  }
+
+  @Test
+  public void setSlot_grows_beyond_the_container_size() {
+    int index = PredictedContainer.BANK.getSize() + 10;
+    state.setSlot(index, 1, 2, 0, 0);
+
+    assertTrue(state.isModified(index));
+    assertEquals(2, state.getQuantity(index));
+    assertEquals(index, state.nextModifiedSlot(0));
+  }
+
+  @Test
+  public void clearSlot_stops_predicting() {
+    state.setSlot(5, 1, 2, 0, 0);
+    state.clearSlot(5);
+
+    assertFalse(state.isModified(5));
+    assertFalse(state.hasModifiedSlots());
+    assertEquals(-1, state.nextModifiedSlot(0));
+  }
+
+  @Test
+  public void validate_resets_mismatch_once_min_changed_time_passed() {
+    state.setSlot(5, 1, 2, 0, 0);
+    ItemContainer container = container(5, new Item(1, 3));
+
+    state.validate(container, 0, snapshot.getMinChangedMs() - 1, snapshot, metrics, listener);
+    assertTrue(state.isModified(5));
+
+    state.validate(container, 0, snapshot.getMinChangedMs(), snapshot, metrics, listener);
+    assertFalse(state.isModified(5));
+    assertEquals(List.of(5), resetSlots);
+  }
+
+  @Test
+  public void validate_keeps_matching_slot_until_it_expires() {
+    state.setSlot(5, 1, 2, 0, 0);
+    ItemContainer container = container(5, new Item(1, 2));
+
+    state.validate(container, 0, snapshot.getMinChangedMs(), snapshot, metrics, listener);
+    assertTrue(state.isModified(5));
+
+    state.validate(container, snapshot.getMaxUnmodifiedTicks(), snapshot.getMinChangedMs(), snapshot, metrics, listener);
+    assertFalse(state.isModified(5));
+    assertEquals(List.of(5), resetSlots);
+  }
+
+  @Test
+  public void validate_records_confirmed_once() {
+    state.setSlot(5, 1, 2, PredictionSource.WITHDRAW, false, 0, 0);
+    ItemContainer container = container(5, new Item(1, 2));
+
+    state.validate(container, 0, 10, snapshot, metrics, listener);
+    state.validate(container, snapshot.getMaxUnmodifiedTicks(), snapshot.getMinChangedMs(), snapshot, metrics, listener);
+
+    assertFalse(state.isModified(5));
+    verify(metrics).record(PredictionSource.WITHDRAW, PredictionOutcome.CONFIRMED, 10 * ClockService.NANOS_PER_MILLI);
+    verifyNoMoreInteractions(metrics);
+  }
+
+  @Test
+  public void validate_records_mismatch() {
+    state.setSlot(5, 1, 2, PredictionSource.DEPOSIT, false, 0, 0);
+
+    state.validate(container(5, new Item(1, 3)), 0, snapshot.getMinChangedMs(), snapshot, metrics, listener);
+
+    verify(metrics).record(PredictionSource.DEPOSIT, PredictionOutcome.MISMATCH, snapshot.getMinChangedMs() * ClockService.NANOS_PER_MILLI);
+  }
+
+  @Test
+  public void validate_confirms_empty_prediction_when_the_slot_is_empty() {
+    state.setSlot(5, 1, 2, PredictionSource.EQUIP, true, 0, 0);
+
+    state.validate(container(5, new Item(INVALID_ITEM_ID, 0)), 0, 10, snapshot, metrics, listener);
+
+    verify(metrics).record(PredictionSource.EQUIP, PredictionOutcome.CONFIRMED, 10 * ClockService.NANOS_PER_MILLI);
+    verifyNoMoreInteractions(metrics);
+  }
+
+  @Test
+  public void validate_records_mismatch_when_empty_prediction_holds_another_item() {
+    state.setSlot(5, 1, 2, PredictionSource.EQUIP, true, 0, 0);
+
+    state.validate(container(5, new Item(3, 1)), 0, snapshot.getMinChangedMs(), snapshot, metrics, listener);
+
+    assertEquals(List.of(5), resetSlots);
+    verify(metrics).record(PredictionSource.EQUIP, PredictionOutcome.MISMATCH, snapshot.getMinChangedMs() * ClockService.NANOS_PER_MILLI);
+  }
+
+  @Test
+  public void validateDue_records_expired_when_empty_prediction_is_never_reached() {
+    // The server has yet to empty the slot, so it still holds the item
+    state.setSlot(5, 1, 2, PredictionSource.EQUIP, true, 0, 0);
+    ItemContainer container = container(5, new Item(1, 2));
+
+    state.validateDue(container, 0, snapshot.getMinChangedMs(), snapshot, metrics, listener);
+    assertTrue(state.isModified(5));
+
+    state.validateDue(container, snapshot.getMaxUnmodifiedTicks(), snapshot.getMinChangedMs(), snapshot, metrics, listener);
+    assertEquals(List.of(5), resetSlots);
+    verify(metrics).record(PredictionSource.EQUIP, PredictionOutcome.EXPIRED, snapshot.getMinChangedMs() * ClockService.NANOS_PER_MILLI);
+  }
+
+  @Test
+  public void validateDue_does_nothing_until_a_slot_is_due() {
+    state.setSlot(5, 1, 2, 0, 0);
+    ItemContainer container = container(5, new Item(1, 2));
+
+    state.validateDue(container, 0, snapshot.getMinChangedMs() - 1, snapshot, metrics, listener);
+    verify(container, never()).getItem(anyInt());
+
+    // Compared once the minimum time has passed, then not again until it can expire
+    state.validateDue(container, 0, snapshot.getMinChangedMs(), snapshot, metrics, listener);
+    state.validateDue(container, 0, snapshot.getMinChangedMs() + 1000, snapshot, metrics, listener);
+    verify(container, times(1)).getItem(5);
+    assertTrue(state.isModified(5));
+
+    state.validateDue(container, snapshot.getMaxUnmodifiedTicks(), snapshot.getMinChangedMs() + 2000, snapshot, metrics, listener);
+    assertFalse(state.isModified(5));
+  }
+
+  @Test
+  public void validateDue_only_compares_due_slots() {
+    state.setSlot(5, 1, 2, 0, 0);
+    state.setSlot(1000, 1, 2, 0, snapshot.getMinChangedMs());
+    ItemContainer container = container(5, new Item(1, 2));
+
+    state.validateDue(container, 0, snapshot.getMinChangedMs(), snapshot, metrics, listener);
+
+    verify(container).getItem(5);
+    verify(container, never()).getItem(1000);
+  }
+}
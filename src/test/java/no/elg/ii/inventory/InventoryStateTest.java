@@ -34,20 +34,33 @@ import static no.elg.ii.inventory.slot.InventorySlot.RESET_ITEM_ID;
 import static no.elg.ii.inventory.slot.InventorySlot.RESET_SLOT;
 import static no.elg.ii.util.InventoryUtil.INVENTORY_SIZE;
 import static no.elg.ii.util.WidgetUtils.FULLY_OPAQUE;
+import static no.elg.ii.util.WidgetUtils.THE_EMPTY_ITEM_ID;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
+import java.util.Arrays;
 import net.runelite.api.Client;
 import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.widgets.Widget;
 import no.elg.ii.InstantInventoryConfig;
 import no.elg.ii.feature.state.InventoryState;
 import no.elg.ii.inventory.slot.InventorySlot;
+import no.elg.ii.model.PredictionOutcome;
+import no.elg.ii.model.PredictionSource;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.ConfigService;
 import no.elg.ii.service.InventoryService;
+import no.elg.ii.service.PredictionMetricsService;
 import no.elg.ii.service.WidgetService;
 import org.junit.Before;
 import org.junit.Test;
@@ -56,7 +69,12 @@ public class InventoryStateTest {
 
   private InventoryState inventoryState;
   private InstantInventoryConfig config;
+  private ConfigService configService;
+  private ClockService clock;
   private Client client;
+  private InventoryService inventoryService;
+  private WidgetService widgetService;
+  private PredictionMetricsService predictionMetricsService;
 
   private final int index = 3;
   private final int itemId = 1;
@@ -67,10 +85,20 @@ public class InventoryStateTest {
   public void setUp() {
     config = spy(InstantInventoryConfig.class);
     client = mock(Client.class);
-    var inventoryService = mock(InventoryService.class);
-    var widgetService = mock(WidgetService.class);
+    inventoryService = mock(InventoryService.class);
+    widgetService = mock(WidgetService.class);
 
-    inventoryState = new InventoryState(config, client, inventoryService, widgetService);
+    configService = new ConfigService(config);
+    clock = new ClockService();
+    predictionMetricsService = new PredictionMetricsService();
+    inventoryState = new InventoryState(configService, client, inventoryService, widgetService, clock, predictionMetricsService);
+  }
+
+  /**
+   * Let enough time pass for the slots to be allowed to reset
+   */
+  private void passMinChangedTime() {
+    clock.advanceMillis(configService.getSnapshot().getMinChangedMs());
   }
 
   private void setAll(int itemId) {
@@ -116,6 +144,7 @@ public class InventoryStateTest {
     assertEquals(itemId, inventoryState.getSlot(index).getItemId());
     assertEquals(2, inventoryState.getSlot(index).getChangedTick());
 
+    passMinChangedTime();
     inventoryState.validateState(index, item);
 
     assertEquals(RESET_ITEM_ID, inventoryState.getSlot(index).getItemId());
@@ -131,6 +160,7 @@ public class InventoryStateTest {
 
     doReturn(DEFAULT_MAX_UNMODIFIED_TICKS).when(client).getTickCount();
 
+    passMinChangedTime();
     inventoryState.validateState(index, item);
 
     assertEquals(RESET_ITEM_ID, inventoryState.getSlot(index).getItemId());
@@ -141,6 +171,7 @@ public class InventoryStateTest {
   public void validateState_timeout_resets_not_before_configurable_ticks() {
 
     doReturn(DEFAULT_MAX_UNMODIFIED_TICKS + 1).when(config).maxUnmodifiedTicks();
+    configService.update();
     inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE);
 
     assertEquals(itemId, inventoryState.getSlot(index).getItemId());
@@ -148,6 +179,7 @@ public class InventoryStateTest {
 
     doReturn(DEFAULT_MAX_UNMODIFIED_TICKS).when(client).getTickCount();
 
+    passMinChangedTime();
     inventoryState.validateState(index, item);
 
     assertEquals(itemId, inventoryState.getSlot(index).getItemId());
@@ -158,6 +190,7 @@ public class InventoryStateTest {
   public void validateState_timeout_resets_customizable_time() {
     int maxUnmodifiedTicks = DEFAULT_MAX_UNMODIFIED_TICKS + 1;
     doReturn(maxUnmodifiedTicks).when(config).maxUnmodifiedTicks();
+    configService.update();
     inventoryState.setSlot(index, itemId, 0, FULLY_OPAQUE);
 
     assertEquals(itemId, inventoryState.getSlot(index).getItemId());
@@ -165,12 +198,27 @@ public class InventoryStateTest {
 
     doReturn(maxUnmodifiedTicks).when(client).getTickCount();
 
+    passMinChangedTime();
     inventoryState.validateState(index, item);
 
     assertEquals(RESET_ITEM_ID, inventoryState.getSlot(index).getItemId());
     assertEquals(NO_CHANGED_TICK, inventoryState.getSlot(index).getChangedTick());
   }
 
+  @Test
+  public void validateState_too_early_does_not_reset() {
+    doReturn(2).when(client).getTickCount();
+    inventoryState.setSlot(index, itemId, 0, FULLY_OPAQUE);
+
+    clock.advanceMillis(configService.getSnapshot().getMinChangedMs() - 1);
+    inventoryState.validateState(index, item);
+    assertEquals(itemId, inventoryState.getSlot(index).getItemId());
+
+    clock.advanceMillis(1);
+    inventoryState.validateState(index, item);
+    assertEquals(RESET_ITEM_ID, inventoryState.getSlot(index).getItemId());
+  }
+
   @Test
   public void validateState_new_item_when_invalid_does_not_change_state() {
     int index = 0;
@@ -198,4 +246,337 @@ public class InventoryStateTest {
     assertEquals(quantity, inventoryState.getSlot(index).getQuantity());
     assertEquals(0, inventoryState.getSlot(index).getChangedTick());
   }
+
+  @Test
+  public void activeSlotMask_initially_empty() {
+    assertEquals(0, inventoryState.getActiveSlotMask());
+  }
+
+  @Test
+  public void activeSlotMask_tracks_set_and_reset() {
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE);
+    assertEquals(1 << index, inventoryState.getActiveSlotMask());
+    assertTrue(inventoryState.isSlotActive(index));
+    assertFalse(inventoryState.isSlotInactive(index));
+
+    inventoryState.setSlot(0, itemId, quantity, FULLY_OPAQUE);
+    assertEquals((1 << index) | 1, inventoryState.getActiveSlotMask());
+
+    inventoryState.resetState(index);
+    assertEquals(1, inventoryState.getActiveSlotMask());
+    assertFalse(inventoryState.isSlotActive(index));
+    assertTrue(inventoryState.isSlotInactive(index));
+
+    inventoryState.resetAll();
+    assertEquals(0, inventoryState.getActiveSlotMask());
+  }
+
+  @Test
+  public void activeSlotMask_invalid_item_id_is_not_active() {
+    inventoryState.setSlot(index, INVALID_ITEM_ID, quantity, FULLY_OPAQUE);
+    assertEquals(0, inventoryState.getActiveSlotMask());
+    assertEquals(0, inventoryState.getSlot(index).getChangedTick());
+  }
+
+  @Test
+  public void isSlotActive_invalid_index_is_neither_active_nor_inactive() {
+    assertFalse(inventoryState.isSlotActive(-1));
+    assertFalse(inventoryState.isSlotInactive(-1));
+    assertFalse(inventoryState.isSlotActive(INVENTORY_SIZE));
+    assertFalse(inventoryState.isSlotInactive(INVENTORY_SIZE));
+  }
+
+  @Test
+  public void dirtySlotMask_set_when_slot_changes() {
+    assertEquals(0, inventoryState.getDirtySlotMask());
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE);
+    assertEquals(1 << index, inventoryState.getDirtySlotMask());
+
+    inventoryState.clearDirtySlots(1 << index);
+    assertEquals(0, inventoryState.getDirtySlotMask());
+  }
+
+  @Test
+  public void markAllSlotsDirty_marks_every_slot() {
+    inventoryState.markAllSlotsDirty();
+    assertEquals(InventoryState.ALL_SLOTS_MASK, inventoryState.getDirtySlotMask());
+    assertEquals(INVENTORY_SIZE, Integer.bitCount(inventoryState.getDirtySlotMask()));
+  }
+
+  private Widget itemWidget(int itemId, int quantity) {
+    Widget widget = mock(Widget.class);
+    doReturn("item").when(widget).getName();
+    doReturn(FULLY_OPAQUE).when(widget).getOpacity();
+    doReturn(itemId).when(widget).getItemId();
+    doReturn(quantity).when(widget).getItemQuantity();
+    return widget;
+  }
+
+  @Test
+  public void setSlotsFromWidgets_sets_only_slots_with_items() {
+    doReturn(123).when(client).getTickCount();
+    Widget widget = itemWidget(itemId, quantity);
+    doReturn(1).when(inventoryService).getOpenInventoryWidgetCount(index);
+    doReturn(widget).when(inventoryService).getOpenInventoryWidget(index, 0);
+
+    int setMask = inventoryState.setSlotsFromWidgets((1 << index) | 1, 42);
+
+    assertEquals(1 << index, setMask);
+    assertEquals(1 << index, inventoryState.getActiveSlotMask());
+    assertEquals(1 << index, inventoryState.getDirtySlotMask());
+    InventorySlot slot = inventoryState.getSlot(index);
+    assertEquals(itemId, slot.getItemId());
+    assertEquals(quantity, slot.getQuantity());
+    assertEquals(42, slot.getOpacity());
+    assertEquals(123, slot.getChangedTick());
+    assertSame(InventorySlot.UNMODIFIED_SLOT, inventoryState.getSlot(0));
+  }
+
+  @Test
+  public void resetSlots_resets_only_masked_slots() {
+    ItemContainer container = mock(ItemContainer.class);
+    doReturn(container).when(inventoryService).getCurrentInventoryContainer();
+    inventoryState.setSlot(0, itemId, quantity, FULLY_OPAQUE);
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE);
+
+    inventoryState.resetSlots(1 << index);
+
+    assertEquals(1, inventoryState.getActiveSlotMask());
+    assertSame(RESET_SLOT, inventoryState.getSlot(index));
+    verify(inventoryService).getCurrentInventoryContainer();
+    verify(widgetService).restoreWidgetsInSlots(1 << index, container);
+  }
+
+  @Test
+  public void resetAll_without_inventory_does_not_touch_widgets() {
+    inventoryState.resetAll();
+    verify(widgetService, never()).restoreWidgetsInSlots(anyInt(), any());
+  }
+
+  @Test
+  public void freeSlotMask_only_empty_and_unpredicted_slots() {
+    Widget[] widgets = new Widget[INVENTORY_SIZE];
+    for (int i = 0; i < INVENTORY_SIZE; i++) {
+      widgets[i] = itemWidget(i % 2 == 0 ? THE_EMPTY_ITEM_ID : itemId, 1);
+      doReturn(i).when(widgets[i]).getIndex();
+    }
+    int evenSlots = 0x5555555 & InventoryState.ALL_SLOTS_MASK;
+    assertEquals(evenSlots, inventoryState.freeSlotMask(widgets));
+
+    inventoryState.setSlot(0, itemId, quantity, FULLY_OPAQUE);
+    assertEquals(evenSlots & ~1, inventoryState.freeSlotMask(widgets));
+  }
+
+  private ItemContainer container(Item... items) {
+    ItemContainer container = mock(ItemContainer.class);
+    doReturn(items).when(container).getItems();
+    for (int i = 0; i < items.length; i++) {
+      doReturn(items[i].getId() >= 0 ? items[i] : null).when(container).getItem(i);
+    }
+    return container;
+  }
+
+  @Test
+  public void reconcile_returns_changed_slots() {
+    Item empty = new Item(INVALID_ITEM_ID, 0);
+    assertEquals(0b10, inventoryState.reconcile(container(empty, item)));
+    assertEquals(0, inventoryState.reconcile(container(empty, item)));
+    assertEquals(0b11, inventoryState.reconcile(container(item, empty)));
+  }
+
+  @Test
+  public void reconcile_only_validates_changed_slots() {
+    Item empty = new Item(INVALID_ITEM_ID, 0);
+    Item[] items = new Item[INVENTORY_SIZE];
+    Arrays.fill(items, empty);
+    inventoryState.reconcile(container(items));
+
+    inventoryState.setSlot(0, itemId, quantity, FULLY_OPAQUE);
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE);
+    passMinChangedTime();
+
+    // Neither slot has the predicted item, but only the slot at index changed
+    items[index] = new Item(itemId + 1, quantity);
+    inventoryState.reconcile(container(items));
+
+    assertTrue(inventoryState.getSlot(0).hasValidItemId());
+    assertSame(RESET_SLOT, inventoryState.getSlot(index));
+  }
+
+  @Test
+  public void hasModifiedSlots_tracks_set_and_reset() {
+    assertFalse(inventoryState.hasModifiedSlots());
+    inventoryState.setSlot(index, INVALID_ITEM_ID, quantity, FULLY_OPAQUE);
+    assertTrue(inventoryState.hasModifiedSlots());
+    inventoryState.resetState(index);
+    assertFalse(inventoryState.hasModifiedSlots());
+  }
+
+  @Test
+  public void validateAll_checks_mismatch_once_min_changed_time_passed() {
+    Item[] items = new Item[INVENTORY_SIZE];
+    Arrays.fill(items, new Item(INVALID_ITEM_ID, 0));
+    ItemContainer container = container(items);
+    doReturn(container).when(inventoryService).getCurrentInventoryContainer();
+
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE);
+    inventoryState.validateAll();
+    assertTrue(inventoryState.getSlot(index).hasValidItemId());
+
+    passMinChangedTime();
+    inventoryState.validateAll();
+    assertSame(RESET_SLOT, inventoryState.getSlot(index));
+  }
+
+  @Test
+  public void validateDueMillis_checks_mismatch_within_the_tick() {
+    Item[] items = new Item[INVENTORY_SIZE];
+    Arrays.fill(items, new Item(INVALID_ITEM_ID, 0));
+    ItemContainer container = container(items);
+    doReturn(container).when(inventoryService).getCurrentInventoryContainer();
+
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE);
+    inventoryState.validateDueMillis();
+    assertTrue(inventoryState.getSlot(index).hasValidItemId());
+
+    passMinChangedTime();
+    inventoryState.validateDueMillis();
+    assertSame(RESET_SLOT, inventoryState.getSlot(index));
+  }
+
+  @Test
+  public void validateAll_times_out_matching_slot() {
+    Item[] items = new Item[INVENTORY_SIZE];
+    Arrays.fill(items, new Item(INVALID_ITEM_ID, 0));
+    items[index] = item;
+    ItemContainer container = container(items);
+    doReturn(container).when(inventoryService).getCurrentInventoryContainer();
+
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE);
+    passMinChangedTime();
+    inventoryState.validateAll();
+    assertTrue(inventoryState.getSlot(index).hasValidItemId());
+
+    doReturn(DEFAULT_MAX_UNMODIFIED_TICKS).when(client).getTickCount();
+    inventoryState.validateAll();
+    assertSame(RESET_SLOT, inventoryState.getSlot(index));
+  }
+
+  @Test
+  public void validateAll_does_not_time_out_with_max_unmodified_ticks() {
+    doReturn(Integer.MAX_VALUE).when(config).maxUnmodifiedTicks();
+    configService.update();
+    Item[] items = new Item[INVENTORY_SIZE];
+    Arrays.fill(items, new Item(INVALID_ITEM_ID, 0));
+    items[index] = item;
+    ItemContainer container = container(items);
+    doReturn(container).when(inventoryService).getCurrentInventoryContainer();
+
+    doReturn(10).when(client).getTickCount();
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE);
+    passMinChangedTime();
+    inventoryState.validateAll();
+    verify(container).getItem(index);
+
+    // The slot must not be due again, as it would be if the timeout tick wrapped around
+    doReturn(11).when(client).getTickCount();
+    inventoryState.validateAll();
+    verify(container).getItem(index);
+    assertTrue(inventoryState.getSlot(index).hasValidItemId());
+  }
+
+  @Test
+  public void validateState_records_confirmed_hidden_prediction() {
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE, PredictionSource.DROP, true);
+    passMinChangedTime();
+    inventoryState.validateState(index, null);
+
+    assertSame(RESET_SLOT, inventoryState.getSlot(index));
+    assertEquals(1, predictionMetricsService.getCount(PredictionSource.DROP, PredictionOutcome.CONFIRMED));
+    assertEquals(0, predictionMetricsService.getCount(PredictionSource.DROP, PredictionOutcome.MISMATCH));
+    assertEquals(1, predictionMetricsService.getConfirmationLatency(PredictionSource.DROP).getCount());
+  }
+
+  @Test
+  public void validateState_records_confirmation_when_too_early_to_reset() {
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE, PredictionSource.CLEAN, false);
+    inventoryState.validateState(index, item);
+
+    assertTrue(inventoryState.getSlot(index).hasValidItemId());
+    assertEquals(1, predictionMetricsService.getCount(PredictionSource.CLEAN, PredictionOutcome.CONFIRMED));
+
+    passMinChangedTime();
+    doReturn(DEFAULT_MAX_UNMODIFIED_TICKS).when(client).getTickCount();
+    inventoryState.validateState(index, item);
+
+    assertSame(RESET_SLOT, inventoryState.getSlot(index));
+    assertEquals(1, predictionMetricsService.getTotalCount(PredictionSource.CLEAN));
+  }
+
+  @Test
+  public void validateState_records_mismatch() {
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE, PredictionSource.WITHDRAW, false);
+    passMinChangedTime();
+    inventoryState.validateState(index, new Item(itemId + 1, quantity));
+
+    assertSame(RESET_SLOT, inventoryState.getSlot(index));
+    assertEquals(1, predictionMetricsService.getCount(PredictionSource.WITHDRAW, PredictionOutcome.MISMATCH));
+    assertEquals(1, predictionMetricsService.getTotalCount(PredictionSource.WITHDRAW));
+  }
+
+  @Test
+  public void validateState_records_expired_hidden_prediction() {
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE, PredictionSource.DEPOSIT, true);
+    passMinChangedTime();
+    doReturn(DEFAULT_MAX_UNMODIFIED_TICKS).when(client).getTickCount();
+    inventoryState.validateState(index, item);
+
+    assertSame(RESET_SLOT, inventoryState.getSlot(index));
+    assertEquals(1, predictionMetricsService.getCount(PredictionSource.DEPOSIT, PredictionOutcome.EXPIRED));
+    assertEquals(1, predictionMetricsService.getTotalCount(PredictionSource.DEPOSIT));
+  }
+
+  @Test
+  public void validateState_reaching_older_prediction_keeps_newest() {
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE, PredictionSource.WITHDRAW, false);
+    inventoryState.setSlot(index, itemId, quantity - 1, FULLY_OPAQUE, PredictionSource.DEPOSIT, false);
+    assertEquals(1, inventoryState.getPendingCount(index));
+
+    passMinChangedTime();
+    inventoryState.validateState(index, item);
+    inventoryState.validateState(index, item);
+
+    assertEquals(quantity - 1, inventoryState.getQuantity(index));
+    assertEquals(0, inventoryState.getPendingCount(index));
+    assertEquals(1, predictionMetricsService.getCount(PredictionSource.WITHDRAW, PredictionOutcome.CONFIRMED));
+    assertEquals(1, predictionMetricsService.getTotalCount(PredictionSource.WITHDRAW));
+    assertEquals(0, predictionMetricsService.getTotalCount(PredictionSource.DEPOSIT));
+
+    inventoryState.validateState(index, new Item(itemId, quantity - 1));
+    assertEquals(1, predictionMetricsService.getCount(PredictionSource.DEPOSIT, PredictionOutcome.CONFIRMED));
+    assertEquals(1, predictionMetricsService.getTotalCount(PredictionSource.WITHDRAW));
+  }
+
+  @Test
+  public void validateState_confirming_newest_prediction_confirms_pending() {
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE, PredictionSource.EQUIP, false);
+    inventoryState.setSlot(index, itemId + 1, quantity, FULLY_OPAQUE, PredictionSource.EQUIP, false);
+    inventoryState.validateState(index, new Item(itemId + 1, quantity));
+
+    assertEquals(0, inventoryState.getPendingCount(index));
+    assertEquals(2, predictionMetricsService.getCount(PredictionSource.EQUIP, PredictionOutcome.CONFIRMED));
+  }
+
+  @Test
+  public void validateState_mismatch_records_pending_predictions() {
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE, PredictionSource.WITHDRAW, false);
+    inventoryState.setSlot(index, itemId, quantity, FULLY_OPAQUE, PredictionSource.DROP, true);
+    passMinChangedTime();
+    inventoryState.validateState(index, new Item(itemId + 1, quantity));
+
+    assertSame(RESET_SLOT, inventoryState.getSlot(index));
+    assertEquals(0, inventoryState.getPendingCount(index));
+    assertEquals(1, predictionMetricsService.getCount(PredictionSource.WITHDRAW, PredictionOutcome.MISMATCH));
+    assertEquals(1, predictionMetricsService.getCount(PredictionSource.DROP, PredictionOutcome.MISMATCH));
+  }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.model;
+
+import static no.elg.ii.util.WidgetUtils.FULLY_OPAQUE;
+import static no.elg.ii.util.WidgetUtils.FULLY_TRANSPARENT;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.service.ConfigService;
+import org.junit.Test;
+
+public class ConfigSnapshotTest {
+
+  @Test
+  public void intPercentToOpacityValue_converts_and_clamps() {
+    assertEquals(FULLY_OPAQUE, ConfigSnapshot.intPercentToOpacityValue(100));
+    assertEquals(FULLY_TRANSPARENT, ConfigSnapshot.intPercentToOpacityValue(0));
+    assertEquals(127, ConfigSnapshot.intPercentToOpacityValue(50));
+    assertEquals(FULLY_OPAQUE, ConfigSnapshot.intPercentToOpacityValue(200));
+    assertEquals(FULLY_TRANSPARENT, ConfigSnapshot.intPercentToOpacityValue(-1));
+  }
+
+  @Test
+  public void snapshot_only_changes_on_update() {
+    InstantInventoryConfig config = spy(InstantInventoryConfig.class);
+    ConfigService configService = new ConfigService(config);
+    ConfigSnapshot before = configService.getSnapshot();
+
+    doReturn(before.getMinChangedMs() + 1).when(config).minChangedMs();
+    assertEquals(before.getMinChangedMs(), configService.getSnapshot().getMinChangedMs());
+
+    configService.update();
+    assertEquals(before.getMinChangedMs() + 1, configService.getSnapshot().getMinChangedMs());
+  }
+}
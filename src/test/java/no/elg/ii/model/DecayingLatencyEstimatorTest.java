@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DecayingLatencyEstimatorTest {
+
+  @Test
+  public void percentiles_of_uniform_latencies() {
+    DecayingLatencyEstimator estimator = new DecayingLatencyEstimator(Integer.MAX_VALUE);
+    for (int ms = 1; ms <= 1_000; ms++) {
+      estimator.record(ms);
+    }
+    assertWithinOneBucket(500, estimator.getPercentile(0.5));
+    assertWithinOneBucket(950, estimator.getPercentile(0.95));
+    assertEquals(1_000, estimator.getPercentile(1));
+  }
+
+  private static void assertWithinOneBucket(long expected, long actual) {
+    assertTrue("Expected " + expected + " but was " + actual, Math.abs(expected - actual) <= DecayingLatencyEstimator.BUCKET_MS);
+  }
+
+  @Test
+  public void follows_a_changed_latency() {
+    DecayingLatencyEstimator estimator = new DecayingLatencyEstimator(10);
+    estimator.seed(200, 100);
+    assertEquals(200, estimator.getPercentile(0.95));
+
+    for (int i = 0; i < 100; i++) {
+      estimator.record(700);
+    }
+    assertEquals(700, estimator.getPercentile(0.5));
+  }
+
+  @Test
+  public void latencies_are_clamped() {
+    DecayingLatencyEstimator estimator = new DecayingLatencyEstimator(10);
+    estimator.record(-5);
+    assertEquals(0, estimator.getPercentile(1));
+    estimator.record(DecayingLatencyEstimator.MAX_MS * 10L);
+    assertEquals(DecayingLatencyEstimator.MAX_MS, estimator.getPercentile(1));
+  }
+
+  @Test
+  public void renormalizing_keeps_the_percentiles() {
+    DecayingLatencyEstimator estimator = new DecayingLatencyEstimator(1);
+    for (int i = 0; i < 10_000; i++) {
+      estimator.record(i % 2 == 0 ? 100 : 300);
+    }
+    long p99 = estimator.getPercentile(0.99);
+    assertEquals(300, p99);
+    assertTrue(Double.isFinite(estimator.getEffectiveSamples()));
+  }
+
+  @Test
+  public void reset_clears_everything() {
+    DecayingLatencyEstimator estimator = new DecayingLatencyEstimator(10);
+    estimator.record(100);
+    estimator.reset();
+
+    assertEquals(-1, estimator.getPercentile(0.5));
+    assertEquals(0, estimator.getEffectiveSamples(), 0);
+  }
+}
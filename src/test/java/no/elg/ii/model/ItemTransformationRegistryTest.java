@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.util.List;
+import net.runelite.api.Skill;
+import net.runelite.api.gameval.ItemID;
+import org.junit.Test;
+
+public class ItemTransformationRegistryTest {
+
+  @Test
+  public void bundled_transformations_are_all_valid() throws IOException {
+    ItemTransformationRegistry registry = new ItemTransformationRegistry();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+      ItemTransformationRegistry.class.getResourceAsStream(ItemTransformationRegistry.RESOURCE_NAME)))) {
+      long entries = reader.lines().map(String::trim).filter(line -> !line.isEmpty() && !line.startsWith("#")).count();
+      assertEquals(entries, registry.size());
+    }
+
+    ItemTransformation guam = registry.find(ItemID.UNIDENTIFIED_GUAM, "Clean");
+    assertNotNull(guam);
+    assertEquals(ItemID.GUAM_LEAF, guam.getResultItemId());
+    assertEquals(Skill.HERBLORE, guam.getSkill());
+  }
+
+  @Test
+  public void parse_skips_invalid_lines() throws IOException {
+    String data = "# comment\n"
+      + "\n"
+      + "1\tOpen\t2\t0\t-\n"
+      + "NOT_AN_ITEM\tOpen\t2\t0\t-\n"
+      + "3\tOpen\t4\t0\tNOT_A_SKILL\n"
+      + "5\tOpen\t6\n";
+    List<ItemTransformation> transformations = ItemTransformationRegistry.parse(new BufferedReader(new StringReader(data)));
+    assertEquals(List.of(new ItemTransformation(1, "Open", 2, 0, null)), transformations);
+  }
+
+  @Test
+  public void find_matches_menu_option() {
+    ItemTransformation open = new ItemTransformation(1, "Open", 2, 0, null);
+    ItemTransformation empty = new ItemTransformation(1, "Empty", 3, 0, null);
+    ItemTransformationRegistry registry = new ItemTransformationRegistry(List.of(open, empty));
+
+    assertSame(open, registry.find(1, "Open"));
+    assertSame(empty, registry.find(1, "Empty"));
+    assertNull(registry.find(1, "Drop"));
+    assertNull(registry.find(1, null));
+    assertNull(registry.find(2, "Open"));
+  }
+}
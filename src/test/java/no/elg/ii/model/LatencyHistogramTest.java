@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void bucket_bounds_are_continuous() {
+    long previousUpperBound = -1;
+    for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+      long upperBound = LatencyHistogram.bucketUpperBound(i);
+      assertEquals("Bucket " + i + " does not start after the previous bucket", i, LatencyHistogram.bucketIndex(previousUpperBound + 1));
+      assertEquals(i, LatencyHistogram.bucketIndex(upperBound));
+      previousUpperBound = upperBound;
+    }
+    assertEquals(Long.MAX_VALUE, previousUpperBound);
+  }
+
+  @Test
+  public void percentile_is_within_a_quarter_of_the_value() {
+    for (long value : new long[]{1, 7, 100, 12_345, 1_000_000, 987_654_321}) {
+      LatencyHistogram histogram = new LatencyHistogram();
+      histogram.record(value);
+      histogram.record(value * 2);
+      long p50 = histogram.getPercentile(0.5);
+      assertTrue("p50 " + p50 + " is less than " + value, p50 >= value);
+      assertTrue("p50 " + p50 + " is too far from " + value, p50 <= value + value / 4);
+    }
+  }
+
+  @Test
+  public void percentiles_and_max() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+    histogram.record(-5);
+
+    assertEquals(101, histogram.getCount());
+    assertEquals(100, histogram.getMax());
+    assertEquals(0, histogram.getPercentile(0));
+    assertEquals(100, histogram.getPercentile(1));
+    long p50 = histogram.getPercentile(0.5);
+    assertTrue("p50 was " + p50, p50 >= 50 && p50 <= 55);
+  }
+
+  @Test
+  public void reset_clears_everything() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(1_000);
+    histogram.reset();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+    assertEquals(0, histogram.getPercentile(0.99));
+  }
+}
@@ -27,10 +27,16 @@
 
 package no.elg.ii.model;
 
+import static no.elg.ii.model.PrayerInfo.INTERFACE_TO_BIT;
 import static no.elg.ii.model.PrayerInfo.PRAYER_TO_BIT;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import net.runelite.api.Prayer;
+import net.runelite.api.gameval.InterfaceID;
 import org.junit.Test;
 
 public class PrayerInfoTest {
@@ -40,4 +46,74 @@ public class PrayerInfoTest {
     int conflictLong = PrayerInfo.prayerToBits(Prayer.THICK_SKIN, Prayer.ROCK_SKIN);
     assertEquals(PRAYER_TO_BIT.get(Prayer.THICK_SKIN) | PRAYER_TO_BIT.get(Prayer.ROCK_SKIN), conflictLong);
   }
+
+  @Test
+  public void interfaceToBit_matches_interface_to_bit_map() {
+    for (Map.Entry<Integer, Integer> entry : INTERFACE_TO_BIT.entrySet()) {
+      assertEquals(entry.getValue().intValue(), PrayerInfo.interfaceToBit(entry.getKey()));
+    }
+  }
+
+  @Test
+  public void interfaceToBit_is_zero_for_other_widgets() {
+    assertEquals(0, PrayerInfo.interfaceToBit(InterfaceID.Prayerbook.CONTAINER));
+    assertEquals(0, PrayerInfo.interfaceToBit(InterfaceID.Inventory.ITEMS));
+    assertEquals(0, PrayerInfo.interfaceToBit((InterfaceID.Prayerbook.PRAYER1 & 0xFFFF) | (InterfaceID.Inventory.ITEMS & ~0xFFFF)));
+    assertEquals(0, PrayerInfo.interfaceToBit(-1));
+  }
+
+  @Test
+  public void conflictMask_matches_conflict_groups_for_every_valid_state() {
+    int[] prayerBits = PRAYER_TO_BIT.values().stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+    List<Integer> validStates = new ArrayList<>();
+    collectValidStates(prayerBits, 0, 0, validStates);
+    assertTrue("Expected more than one valid state, got " + validStates.size(), validStates.size() > prayerBits.length);
+
+    for (int state : validStates) {
+      for (int prayerBit : prayerBits) {
+        if ((state & prayerBit) == 0) {
+          int tweakedState = state | prayerBit;
+          int expected = resolveConflictsByGroup(tweakedState, prayerBit);
+          int actual = tweakedState & ~PrayerInfo.conflictMask(prayerBit);
+          assertEquals("Enabling " + Integer.toBinaryString(prayerBit) + " in " + Integer.toBinaryString(state), expected, actual);
+        }
+      }
+    }
+  }
+
+  /**
+   * Add every combination of prayers which can be active at the same time
+   */
+  private static void collectValidStates(int[] prayerBits, int from, int state, List<Integer> validStates) {
+    validStates.add(state);
+    for (int i = from; i < prayerBits.length; i++) {
+      int nextState = state | prayerBits[i];
+      if (hasNoConflicts(nextState)) {
+        collectValidStates(prayerBits, i + 1, nextState, validStates);
+      }
+    }
+  }
+
+  private static boolean hasNoConflicts(int state) {
+    for (int prayerConflictMask : PrayerInfo.CONFLICTING_PRAYERS) {
+      if (Integer.bitCount(state & prayerConflictMask) > 1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The conflict resolution done before the conflicts were precomputed
+   */
+  private static int resolveConflictsByGroup(int tweakedState, int prayerBit) {
+    int nextState = tweakedState;
+    for (int prayerConflictMask : PrayerInfo.CONFLICTING_PRAYERS) {
+      int activeInGroup = nextState & prayerConflictMask;
+      if (Integer.bitCount(activeInGroup) > 1) {
+        nextState = (nextState & ~prayerConflictMask) | prayerBit;
+      }
+    }
+    return nextState;
+  }
 }
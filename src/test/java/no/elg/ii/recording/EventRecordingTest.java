@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.recording;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import no.elg.ii.model.ItemMetadata;
+import org.junit.Test;
+
+public class EventRecordingTest {
+
+  private final List<String> read = new ArrayList<>();
+
+  private final RecordedEventListener listener = new RecordedEventListener() {
+    @Override
+    public void onMenuOptionClicked(long micros, int tick, @Nonnull String option, @Nonnull String target, int identifier, int menuActionId,
+                                    int param0, int param1, int itemId) {
+      read.add("click " + micros + " " + tick + " " + option + " " + target + " " + identifier + " " + menuActionId + " " + param0 + " " + param1 + " " + itemId);
+    }
+
+    @Override
+    public void onGameTick(long micros, int tick) {
+      read.add("tick " + micros + " " + tick);
+    }
+
+    @Override
+    public void onItemContainerChanged(long micros, int tick, int containerId, @Nonnull int[] itemIds, @Nonnull int[] quantities, int size) {
+      read.add("container " + micros + " " + tick + " " + containerId + " " + Arrays.toString(Arrays.copyOf(itemIds, size)) + " "
+        + Arrays.toString(Arrays.copyOf(quantities, size)));
+    }
+
+    @Override
+    public void onVarbitChanged(long micros, int tick, int varpId, int varbitId, int value) {
+      read.add("varbit " + micros + " " + tick + " " + varpId + " " + varbitId + " " + value);
+    }
+
+    @Override
+    public void onWidget(int componentId, boolean hidden, int childCount, @Nonnull int[] indices, @Nonnull int[] itemIds, @Nonnull int[] quantities,
+                         int count) {
+      read.add("widget " + componentId + " " + hidden + " " + childCount + " " + Arrays.toString(Arrays.copyOf(indices, count)) + " "
+        + Arrays.toString(Arrays.copyOf(itemIds, count)) + " " + Arrays.toString(Arrays.copyOf(quantities, count)));
+    }
+
+    @Override
+    public void onItemMetadata(@Nonnull ItemMetadata metadata) {
+      read.add("metadata " + metadata);
+    }
+  };
+
+  @Test
+  public void records_are_read_back_in_order() throws IOException {
+    ItemMetadata metadata = new ItemMetadata(4151, 4151, false, 4152, 3, false, 1_500_000);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (EventRecordingWriter writer = new EventRecordingWriter(bytes)) {
+      writer.writeItemMetadata(metadata);
+      writer.writeWidget(9764864, false, 28, new int[]{0, 5}, new int[]{4151, -1}, new int[]{1, 0}, 2);
+      writer.writeMenuOptionClicked(1_000, 100, "Wield", "Abyssal whip", 9, 1007, 0, 9764864, 4151);
+      writer.writeItemContainerChanged(1_500, 100, 93, new int[]{-1, 995}, new int[]{0, Integer.MAX_VALUE}, 2);
+      writer.writeGameTick(600_000, 101);
+      writer.writeVarbitChanged(600_001, 101, -1, 4101, -5);
+    }
+
+    try (EventRecordingReader reader = new EventRecordingReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+      while (reader.next(listener)) {
+        // Read every record
+      }
+    }
+
+    assertEquals(Arrays.asList(
+      "metadata " + metadata,
+      "widget 9764864 false 28 [0, 5] [4151, -1] [1, 0]",
+      "click 1000 100 Wield Abyssal whip 9 1007 0 9764864 4151",
+      "container 1500 100 93 [-1, 995] [0, 2147483647]",
+      "tick 600000 101",
+      "varbit 600001 101 -1 4101 -5"
+    ), read);
+  }
+
+  @Test
+  public void truncated_record_ends_the_recording() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (EventRecordingWriter writer = new EventRecordingWriter(bytes)) {
+      writer.writeGameTick(0, 1);
+      writer.writeMenuOptionClicked(10, 1, "Drop", "Coins", 995, 1007, 3, 9764864, 995);
+    }
+    byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 2);
+
+    try (EventRecordingReader reader = new EventRecordingReader(new ByteArrayInputStream(truncated))) {
+      assertTrue(reader.next(listener));
+      assertFalse(reader.next(listener));
+    }
+    assertArrayEquals(new String[]{"tick 0 1"}, read.toArray());
+  }
+
+  @Test(expected = IOException.class)
+  public void rejects_other_files() throws IOException {
+    new EventRecordingReader(new ByteArrayInputStream(new byte[]{'P', 'K', 3, 4, 0, 0}));
+  }
+}
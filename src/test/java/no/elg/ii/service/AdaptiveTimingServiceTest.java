@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import static no.elg.ii.service.AdaptiveTimingService.LEARNED_MAX_UNMODIFIED_TICKS_KEY;
+import static no.elg.ii.service.AdaptiveTimingService.LEARNED_MIN_CHANGED_MS_KEY;
+import static no.elg.ii.service.AdaptiveTimingService.UPDATE_INTERVAL_TICKS;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import net.runelite.api.events.GameTick;
+import net.runelite.client.config.ConfigManager;
+import no.elg.ii.InstantInventoryConfig;
+import no.elg.ii.model.PredictionOutcome;
+import no.elg.ii.model.PredictionSource;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdaptiveTimingServiceTest {
+
+  private AdaptiveTimingService adaptiveTimingService;
+  private InstantInventoryConfig config;
+  private ConfigManager configManager;
+  private PredictionMetricsService predictionMetricsService;
+
+  @Before
+  public void setUp() {
+    config = spy(InstantInventoryConfig.class);
+    doReturn(true).when(config).adaptiveTiming();
+    configManager = mock(ConfigManager.class);
+    predictionMetricsService = new PredictionMetricsService();
+
+    adaptiveTimingService = new AdaptiveTimingService();
+    adaptiveTimingService.configService = new ConfigService(config);
+    adaptiveTimingService.configManager = configManager;
+    adaptiveTimingService.predictionMetricsService = predictionMetricsService;
+  }
+
+  private void confirm(int times, long latencyMs) {
+    for (int i = 0; i < times; i++) {
+      predictionMetricsService.record(PredictionSource.DROP, PredictionOutcome.CONFIRMED, latencyMs * ClockService.NANOS_PER_MILLI);
+    }
+  }
+
+  private void passUpdateInterval() {
+    for (int i = 0; i < UPDATE_INTERVAL_TICKS; i++) {
+      adaptiveTimingService.onGameTick(GameTick.INSTANCE);
+    }
+  }
+
+  @Test
+  public void learnedMaxUnmodifiedTicks_covers_the_latency() {
+    assertEquals(1, AdaptiveTimingService.learnedMaxUnmodifiedTicks(0));
+    assertEquals(1, AdaptiveTimingService.learnedMaxUnmodifiedTicks(600));
+    assertEquals(2, AdaptiveTimingService.learnedMaxUnmodifiedTicks(601));
+    assertEquals(5, AdaptiveTimingService.learnedMaxUnmodifiedTicks(100_000));
+  }
+
+  @Test
+  public void updateConfig_starts_from_the_learned_value() {
+    doReturn(450).when(config).learnedMinChangedMs();
+    adaptiveTimingService.updateConfig();
+
+    assertEquals(450, predictionMetricsService.getResponseLatency().getPercentile(0.95));
+  }
+
+  @Test
+  public void stores_the_learned_values() {
+    adaptiveTimingService.updateConfig();
+    confirm(100, 900);
+    passUpdateInterval();
+
+    verify(configManager).setConfiguration(InstantInventoryConfig.GROUP, LEARNED_MIN_CHANGED_MS_KEY, 900);
+    verify(configManager).setConfiguration(InstantInventoryConfig.GROUP, LEARNED_MAX_UNMODIFIED_TICKS_KEY, 2);
+  }
+
+  @Test
+  public void expired_predictions_do_not_move_the_learned_values() {
+    adaptiveTimingService.updateConfig();
+    for (int update = 0; update < 3; update++) {
+      for (int i = 0; i < 100; i++) {
+        predictionMetricsService.record(PredictionSource.DROP, PredictionOutcome.EXPIRED, 3000 * ClockService.NANOS_PER_MILLI);
+      }
+      passUpdateInterval();
+    }
+
+    assertEquals(config.learnedMinChangedMs(), predictionMetricsService.getResponseLatency().getPercentile(0.95));
+    verifyNoInteractions(configManager);
+  }
+
+  @Test
+  public void does_not_learn_when_disabled() {
+    doReturn(false).when(config).adaptiveTiming();
+    adaptiveTimingService.updateConfig();
+    confirm(100, 900);
+    passUpdateInterval();
+
+    verifyNoInteractions(configManager);
+  }
+}
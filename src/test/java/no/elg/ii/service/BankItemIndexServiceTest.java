@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import static no.elg.ii.service.BankItemIndexService.BANKMAIN_BUILD_SCRIPT_ID;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import net.runelite.api.Client;
+import net.runelite.api.events.ScriptPostFired;
+import net.runelite.api.events.ScriptPreFired;
+import net.runelite.api.widgets.ComponentID;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.game.ItemManager;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BankItemIndexServiceTest {
+
+  private static final int NOTED_ITEM_ID = 101;
+  private static final int ITEM_ID = 100;
+
+  private BankItemIndexService bankItemIndexService;
+  private Client client;
+  private Widget container;
+  private Widget bankWidget;
+
+  @Before
+  public void setUp() {
+    client = mock(Client.class);
+    container = mock(Widget.class);
+    bankWidget = mock(Widget.class);
+    Widget otherBankWidget = mock(Widget.class);
+    doReturn(ITEM_ID).when(bankWidget).getItemId();
+    doReturn(200).when(otherBankWidget).getItemId();
+    doReturn(new Widget[]{otherBankWidget, bankWidget}).when(container).getDynamicChildren();
+    doReturn(container).when(client).getWidget(ComponentID.BANK_ITEM_CONTAINER);
+
+    ItemManager itemManager = mock(ItemManager.class);
+    doAnswer(invocation -> {
+      int itemId = invocation.getArgument(0);
+      return itemId == NOTED_ITEM_ID ? ITEM_ID : itemId;
+    }).when(itemManager).canonicalize(anyInt());
+
+    bankItemIndexService = new BankItemIndexService();
+    bankItemIndexService.client = client;
+    bankItemIndexService.itemManager = itemManager;
+  }
+
+  @Test
+  public void getBankWidget_finds_widget_by_canonical_id() {
+    assertSame(bankWidget, bankItemIndexService.getBankWidget(ITEM_ID));
+    assertNull(bankItemIndexService.getBankWidget(NOTED_ITEM_ID));
+    assertNull(bankItemIndexService.getBankWidget(300));
+  }
+
+  @Test
+  public void index_is_only_built_once_per_layout() {
+    bankItemIndexService.onScriptPostFired(new ScriptPostFired(BANKMAIN_BUILD_SCRIPT_ID));
+    bankItemIndexService.getBankWidget(ITEM_ID);
+    bankItemIndexService.getBankWidget(200);
+    verify(container, times(1)).getDynamicChildren();
+  }
+
+  @Test
+  public void index_is_rebuilt_after_bank_layout() {
+    bankItemIndexService.getBankWidget(ITEM_ID);
+
+    Widget movedWidget = mock(Widget.class);
+    doReturn(ITEM_ID).when(movedWidget).getItemId();
+    doReturn(new Widget[]{movedWidget}).when(container).getDynamicChildren();
+    bankItemIndexService.onScriptPreFired(new ScriptPreFired(BANKMAIN_BUILD_SCRIPT_ID));
+    bankItemIndexService.onScriptPostFired(new ScriptPostFired(BANKMAIN_BUILD_SCRIPT_ID));
+
+    assertSame(movedWidget, bankItemIndexService.getBankWidget(ITEM_ID));
+  }
+
+  @Test
+  public void closed_bank_has_no_widgets() {
+    doReturn(null).when(client).getWidget(ComponentID.BANK_ITEM_CONTAINER);
+    assertNull(bankItemIndexService.getBankWidget(ITEM_ID));
+  }
+}
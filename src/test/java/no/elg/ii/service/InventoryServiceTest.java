@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022-2025 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import net.runelite.api.Client;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.widgets.Widget;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InventoryServiceTest {
+
+  private InventoryService inventoryService;
+  private Client client;
+  private Widget container;
+  private Widget slot0;
+  private Widget slot1;
+
+  @Before
+  public void setUp() {
+    client = mock(Client.class);
+    container = mock(Widget.class);
+    slot0 = mock(Widget.class);
+    slot1 = mock(Widget.class);
+    doReturn(new Widget[]{slot0, slot1}).when(container).getDynamicChildren();
+    doReturn(container).when(client).getWidget(InterfaceID.Inventory.ITEMS);
+
+    inventoryService = new InventoryService();
+    inventoryService.client = client;
+  }
+
+  @Test
+  public void getOpenInventoryWidget_is_indexed_by_slot() {
+    assertEquals(1, inventoryService.getOpenInventoryWidgetCount(0));
+    assertEquals(1, inventoryService.getOpenInventoryWidgetCount(1));
+    assertEquals(0, inventoryService.getOpenInventoryWidgetCount(2));
+    assertSame(slot0, inventoryService.getOpenInventoryWidget(0, 0));
+    assertSame(slot1, inventoryService.getOpenInventoryWidget(1, 0));
+  }
+
+  @Test
+  public void getOpenInventoryWidgetCount_invalid_index_is_zero() {
+    assertEquals(0, inventoryService.getOpenInventoryWidgetCount(-1));
+    assertEquals(0, inventoryService.getOpenInventoryWidgetCount(28));
+  }
+
+  @Test
+  public void hidden_container_is_not_open() {
+    doReturn(true).when(container).isHidden();
+    assertEquals(0, inventoryService.getOpenInventoryWidgetCount(0));
+  }
+
+  @Test
+  public void cache_is_not_rebuilt_within_the_same_cycle() {
+    inventoryService.getOpenInventoryWidgetCount(0);
+    inventoryService.getOpenInventoryWidgetCount(1);
+    inventoryService.getAllOpenInventoryWidgets();
+    verify(client, times(1)).getWidget(InterfaceID.Inventory.ITEMS);
+  }
+
+  @Test
+  public void cache_is_rebuilt_when_an_inventory_interface_is_loaded() {
+    inventoryService.getOpenInventoryWidgetCount(0);
+
+    WidgetLoaded event = new WidgetLoaded();
+    event.setGroupId(InterfaceID.Inventory.ITEMS >>> 16);
+    inventoryService.onWidgetLoaded(event);
+
+    inventoryService.getOpenInventoryWidgetCount(0);
+    verify(client, times(2)).getWidget(InterfaceID.Inventory.ITEMS);
+  }
+
+  @Test
+  public void cache_is_rebuilt_when_visibility_changes_in_a_new_cycle() {
+    assertEquals(1, inventoryService.getOpenInventoryWidgetCount(0));
+
+    doReturn(true).when(container).isHidden();
+    doReturn(1).when(client).getGameCycle();
+    assertEquals(0, inventoryService.getOpenInventoryWidgetCount(0));
+  }
+}
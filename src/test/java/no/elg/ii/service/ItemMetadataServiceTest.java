@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import net.runelite.api.ItemComposition;
+import net.runelite.client.game.ItemManager;
+import no.elg.ii.model.ItemMetadata;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ItemMetadataServiceTest {
+
+  private static final int ITEM_ID = 100;
+  private static final int NOTED_ITEM_ID = 101;
+
+  private ItemMetadataService itemMetadataService;
+  private ItemManager itemManager;
+
+  @Before
+  public void setUp() {
+    itemManager = mock(ItemManager.class);
+    ItemComposition composition = mock(ItemComposition.class);
+    doReturn(NOTED_ITEM_ID).when(composition).getLinkedNoteId();
+    doReturn(composition).when(itemManager).getItemComposition(anyInt());
+    doReturn(ITEM_ID).when(itemManager).canonicalize(anyInt());
+    doReturn(50).when(itemManager).getItemPriceWithSource(ITEM_ID, false);
+
+    itemMetadataService = new ItemMetadataService();
+    itemMetadataService.itemManager = itemManager;
+  }
+
+  @Test
+  public void get_loads_item_once() {
+    ItemMetadata metadata = itemMetadataService.get(ITEM_ID);
+    assertSame(metadata, itemMetadataService.get(ITEM_ID));
+    verify(itemManager, times(1)).getItemComposition(ITEM_ID);
+
+    assertEquals(ITEM_ID, metadata.getCanonicalId());
+    assertEquals(NOTED_ITEM_ID, metadata.getLinkedNoteId());
+    assertEquals(50, metadata.getGePrice());
+    assertTrue(metadata.isNotable());
+    assertFalse(metadata.isEquipable());
+  }
+
+  @Test
+  public void get_invalid_item_is_null() {
+    assertNull(itemMetadataService.get(-1));
+  }
+
+  @Test
+  public void get_grows_for_large_item_ids() {
+    int itemId = 1 << 20;
+    assertEquals(itemId, itemMetadataService.get(itemId).getItemId());
+  }
+
+  @Test
+  public void clear_reloads_items() {
+    itemMetadataService.get(ITEM_ID);
+    itemMetadataService.clear();
+    itemMetadataService.get(ITEM_ID);
+    verify(itemManager, times(2)).getItemComposition(ITEM_ID);
+  }
+}
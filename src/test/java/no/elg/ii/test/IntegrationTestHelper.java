@@ -33,19 +33,32 @@ import static org.mockito.Mockito.spy;
 import net.runelite.api.Client;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.ui.overlay.OverlayManager;
 import no.elg.ii.InstantInventoryConfig;
 import no.elg.ii.InstantInventoryPlugin;
 import no.elg.ii.feature.FeatureManager;
 import no.elg.ii.feature.Features;
+import no.elg.ii.feature.MenuOptionRouter;
 import no.elg.ii.feature.features.CleanHerbFeature;
 import no.elg.ii.feature.features.DepositFeature;
 import no.elg.ii.feature.features.DropFeature;
 import no.elg.ii.feature.features.EquipFeature;
 import no.elg.ii.feature.features.WithdrawFeature;
 import no.elg.ii.feature.state.InventoryState;
+import no.elg.ii.feature.state.PredictionStore;
+import no.elg.ii.overlay.FrameTimingOverlay;
+import no.elg.ii.overlay.PredictionMetricsOverlay;
+import no.elg.ii.service.AdaptiveTimingService;
+import no.elg.ii.service.BankItemIndexService;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.ConfigService;
 import no.elg.ii.service.DisallowModifiedWidgetInteractionService;
 import no.elg.ii.service.EnsureWidgetStateService;
+import no.elg.ii.service.EventRecorderService;
+import no.elg.ii.service.FrameTimingService;
 import no.elg.ii.service.InventoryService;
+import no.elg.ii.service.ItemMetadataService;
+import no.elg.ii.service.PredictionMetricsService;
 import no.elg.ii.service.WidgetService;
 import org.junit.Before;
 import org.mockito.Answers;
@@ -65,9 +78,32 @@ public class IntegrationTestHelper {
   @Mock
   protected EnsureWidgetStateService ensureWidgetStateService;
   @Mock
+  protected WidgetService widgetService;
+  @Mock
+  protected FrameTimingService frameTimingService;
+  @Mock
+  protected BankItemIndexService bankItemIndexService;
+  @Mock
+  protected ItemMetadataService itemMetadataService;
+  @Mock
+  protected MenuOptionRouter menuOptionRouter;
+  @Mock
   protected DisallowModifiedWidgetInteractionService disallowModifiedWidgetInteractionService;
   @Mock
-  protected WidgetService widgetService;
+  protected EventRecorderService eventRecorderService;
+  @Mock
+  protected OverlayManager overlayManager;
+  @Mock
+  protected FrameTimingOverlay frameTimingOverlay;
+  @Mock
+  protected PredictionMetricsOverlay predictionMetricsOverlay;
+  @Mock
+  protected AdaptiveTimingService adaptiveTimingService;
+  @Mock
+  protected PredictionStore predictionStore;
+  @Mock
+  protected ConfigService configService;
+  protected ClockService clockService;
 
   protected FeatureManager featureManager;
   protected Features features;
@@ -79,9 +115,13 @@ public class IntegrationTestHelper {
   protected WithdrawFeature withdrawFeature;
   protected InventoryState inventoryState;
   protected ClientThread clientThread;
+  protected PredictionMetricsService predictionMetricsService;
 
   @Before
   public void setUp() {
+    clockService = new ClockService();
+    clientThread = TestSetup.mockedClientThread();
+    predictionMetricsService = new PredictionMetricsService();
     features = new Features(
       TestSetup.createNewDropFeature(),
       TestSetup.createNewCleanHerbFeature(),
@@ -98,11 +138,11 @@ public class IntegrationTestHelper {
 
     featureManager = spy(new FeatureManager(eventBus, instantInventoryConfig, features, clientThread));
 
-    inventoryState = new InventoryState(instantInventoryConfig, client, inventoryService, widgetService);
+    inventoryState = new InventoryState(new ConfigService(instantInventoryConfig), client, inventoryService, widgetService, clockService, predictionMetricsService);
     doReturn(inventoryState).when(dropFeature).getState();
     doReturn(inventoryState).when(cleanHerbFeature).getState();
     doReturn(inventoryState).when(depositFeature).getState();
 
-    plugin = spy(new InstantInventoryPlugin(client, eventBus, instantInventoryConfig, featureManager, inventoryState, clientThread, ensureWidgetStateService, disallowModifiedWidgetInteractionService));
+    plugin = spy(new InstantInventoryPlugin(client, eventBus, instantInventoryConfig, featureManager, inventoryState, clientThread, ensureWidgetStateService, inventoryService, frameTimingService, overlayManager, frameTimingOverlay, configService, clockService, bankItemIndexService, itemMetadataService, menuOptionRouter, disallowModifiedWidgetInteractionService, eventRecorderService, predictionMetricsService, predictionMetricsOverlay, adaptiveTimingService, predictionStore));
   }
 }
@@ -47,6 +47,10 @@ import no.elg.ii.feature.features.EquipFeature;
 import no.elg.ii.feature.features.PrayerFeature;
 import no.elg.ii.feature.features.WithdrawFeature;
 import no.elg.ii.feature.state.InventoryState;
+import no.elg.ii.model.ItemTransformationRegistry;
+import no.elg.ii.service.ClockService;
+import no.elg.ii.service.ConfigService;
+import no.elg.ii.service.FrameTimingService;
 import no.elg.ii.service.InventoryService;
 import no.elg.ii.service.WidgetService;
 import org.mockito.stubbing.Answer;
@@ -55,6 +59,8 @@ public class TestSetup {
 
   public static CleanHerbFeature createNewCleanHerbFeature() {
     CleanHerbFeature feature = spy(new CleanHerbFeature());
+    feature.frameTimingService = new FrameTimingService();
+    feature.transformations = new ItemTransformationRegistry();
     feature.client = mock(Client.class);
 
     setupCommonFeature(feature, feature.client);
@@ -75,16 +81,19 @@ public class TestSetup {
 
   public static EquipFeature createNewEquipFeature() {
     EquipFeature feature = spy(new EquipFeature());
+    feature.frameTimingService = new FrameTimingService();
     return feature;
   }
 
   public static WithdrawFeature createNewWithdrawFeature() {
     WithdrawFeature feature = spy(new WithdrawFeature());
+    feature.frameTimingService = new FrameTimingService();
     return feature;
   }
 
   public static PrayerFeature createNewInstantPrayer() {
     PrayerFeature feature = spy(new PrayerFeature());
+    feature.frameTimingService = new FrameTimingService();
     return feature;
   }
 
@@ -92,14 +101,16 @@ public class TestSetup {
     var inventoryService = mock(InventoryService.class);
     var widgetService = mock(WidgetService.class);
 
-    InventoryState inventoryState = new InventoryState(spy(new InstantInventoryConfig() {
-    }), client, inventoryService, widgetService);
+    InventoryState inventoryState = new InventoryState(new ConfigService(spy(new InstantInventoryConfig() {
+    })), client, inventoryService, widgetService, new ClockService());
     doReturn(inventoryState).when(feature).getState();
   }
 
   private static void setupHideFeature(HideFeature feature) {
-    setupCommonFeature(feature, mock(Client.class));
+    feature.client = mock(Client.class);
+    setupCommonFeature(feature, feature.client);
     feature.clientThread = TestSetup.mockedClientThread();
+    feature.frameTimingService = new FrameTimingService();
     InstantInventoryPlugin plugin = feature.plugin = mock(InstantInventoryPlugin.class);
 //    doReturn(EMPTY_WIDGET).when(plugin).inventoryItems(any());
   }
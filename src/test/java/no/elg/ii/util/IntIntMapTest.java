@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class IntIntMapTest {
+
+  @Test
+  public void get_missing_key_returns_default() {
+    IntIntMap map = new IntIntMap(4);
+    assertEquals(-1, map.get(1, -1));
+    assertFalse(map.containsKey(1));
+  }
+
+  @Test
+  public void put_overwrites_value() {
+    IntIntMap map = new IntIntMap(4);
+    map.put(1, 10);
+    map.put(1, 20);
+    assertEquals(20, map.get(1, -1));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void grows_past_expected_size() {
+    IntIntMap map = new IntIntMap(2);
+    for (int key = -500; key < 5000; key++) {
+      map.put(key, key * 2);
+    }
+    for (int key = -500; key < 5000; key++) {
+      assertTrue(map.containsKey(key));
+      assertEquals(key * 2, map.get(key, -1));
+    }
+    assertEquals(5500, map.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void empty_key_is_not_allowed() {
+    new IntIntMap(2).put(IntIntMap.EMPTY_KEY, 0);
+  }
+}
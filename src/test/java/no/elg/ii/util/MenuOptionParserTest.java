@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.util;
+
+import static no.elg.ii.util.Util.NO_MENU_OPTION_NUMBER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import no.elg.ii.model.MenuOptionIntent;
+import no.elg.ii.model.MenuOptionIntent.AmountKind;
+import org.junit.Test;
+
+public class MenuOptionParserTest {
+
+  private static void assertIntent(String option, String verb, AmountKind kind, int amount) {
+    assertEquals(new MenuOptionIntent(verb, kind, amount), MenuOptionParser.parseUncached(option));
+  }
+
+  @Test
+  public void parses_amounts() {
+    assertIntent("Withdraw-1", "Withdraw", AmountKind.FIXED, 1);
+    assertIntent("Deposit-10", "Deposit", AmountKind.FIXED, 10);
+    assertIntent("Withdraw-27", "Withdraw", AmountKind.OTHER_FIXED, 27);
+    assertIntent("Withdraw-All", "Withdraw", AmountKind.ALL, 0);
+    assertIntent("Withdraw-All-but-1", "Withdraw", AmountKind.ALL_BUT_ONE, 0);
+    assertIntent("Deposit-all-but-1", "Deposit", AmountKind.ALL_BUT_ONE, 0);
+    assertIntent("Deposit-X", "Deposit", AmountKind.X, 0);
+  }
+
+  @Test
+  public void amount_words_ignore_case() {
+    assertIntent("Withdraw-all", "Withdraw", AmountKind.ALL, 0);
+    assertIntent("Withdraw-ALL-BUT-1", "Withdraw", AmountKind.ALL_BUT_ONE, 0);
+    assertIntent("Deposit-x", "Deposit", AmountKind.X, 0);
+  }
+
+  @Test
+  public void invalid_options_have_no_intent() {
+    for (String option : new String[]{"Wield", "Withdraw-", "-5", "Withdraw-0", "Withdraw-1x", "Withdraw-99999999999", "Withdraw-Alll"}) {
+      assertEquals(option, AmountKind.NONE, MenuOptionParser.parse(option).getAmountKind());
+    }
+    assertEquals(AmountKind.NONE, MenuOptionParser.parse(null).getAmountKind());
+  }
+
+  @Test
+  public void parse_is_cached() {
+    assertSame(MenuOptionParser.parse("Withdraw-5"), MenuOptionParser.parse("Withdraw-5"));
+  }
+
+  @Test
+  public void resolveAmount() {
+    assertEquals(5, MenuOptionParser.parse("Withdraw-5").resolveAmount(100));
+    assertEquals(Integer.MAX_VALUE, MenuOptionParser.parse("Withdraw-All").resolveAmount(100));
+    assertEquals(99, MenuOptionParser.parse("Withdraw-All-but-1").resolveAmount(100));
+    assertEquals(NO_MENU_OPTION_NUMBER, MenuOptionParser.parse("Withdraw-All-but-1").resolveAmount(1));
+    assertEquals(NO_MENU_OPTION_NUMBER, MenuOptionParser.parse("Withdraw-X").resolveAmount(100));
+  }
+}
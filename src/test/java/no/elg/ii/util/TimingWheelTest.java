@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Elg
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package no.elg.ii.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TimingWheelTest {
+
+  @Test
+  public void advanceTo_returns_keys_due_at_or_before_tick() {
+    TimingWheel wheel = new TimingWheel(8);
+    wheel.advanceTo(0);
+    wheel.scheduleTick(1, 2);
+    wheel.scheduleTick(3, 4);
+
+    assertEquals(0, wheel.advanceTo(1));
+    assertEquals(1 << 1, wheel.advanceTo(2));
+    assertFalse(wheel.isTickScheduled(1));
+    assertTrue(wheel.isTickScheduled(3));
+    assertEquals(1 << 3, wheel.advanceTo(10));
+    assertEquals(0, wheel.advanceTo(11));
+  }
+
+  @Test
+  public void key_sharing_bucket_with_later_deadline_is_kept() {
+    TimingWheel wheel = new TimingWheel(4);
+    wheel.advanceTo(0);
+    wheel.scheduleTick(0, 1);
+    wheel.scheduleTick(1, 5);
+
+    assertEquals(1, wheel.advanceTo(1));
+    assertEquals(0, wheel.advanceTo(4));
+    assertEquals(1 << 1, wheel.advanceTo(5));
+  }
+
+  @Test
+  public void past_deadline_expires_on_next_advance() {
+    TimingWheel wheel = new TimingWheel(4);
+    wheel.advanceTo(10);
+    wheel.scheduleTick(2, 3);
+    assertEquals(1 << 2, wheel.advanceTo(11));
+  }
+
+  @Test
+  public void rescheduling_and_cancel_replace_deadline() {
+    TimingWheel wheel = new TimingWheel(4);
+    wheel.advanceTo(0);
+    wheel.scheduleTick(0, 1);
+    wheel.scheduleTick(0, 3);
+    wheel.scheduleTick(1, 1);
+    wheel.cancel(1);
+
+    assertEquals(0, wheel.advanceTo(2));
+    assertEquals(1, wheel.advanceTo(3));
+  }
+
+  @Test
+  public void expireMillis_returns_keys_due_at_or_before_now() {
+    TimingWheel wheel = new TimingWheel(4);
+    wheel.scheduleMillis(0, 100);
+    wheel.scheduleMillis(5, 300);
+
+    assertEquals(0, wheel.expireMillis(99));
+    assertEquals(1, wheel.expireMillis(100));
+    assertEquals(0, wheel.expireMillis(299));
+    assertEquals(1 << 5, wheel.expireMillis(1000));
+    assertEquals(0, wheel.expireMillis(2000));
+  }
+
+  @Test
+  public void isMillisDue_once_earliest_deadline_passed() {
+    TimingWheel wheel = new TimingWheel(4);
+    assertFalse(wheel.isMillisDue(Long.MAX_VALUE - 1));
+    wheel.scheduleMillis(2, 100);
+
+    assertFalse(wheel.isMillisDue(99));
+    assertTrue(wheel.isMillisDue(100));
+    wheel.expireMillis(100);
+    assertFalse(wheel.isMillisDue(100));
+  }
+
+  @Test
+  public void cancelled_millis_deadline_does_not_expire() {
+    TimingWheel wheel = new TimingWheel(4);
+    wheel.scheduleMillis(0, 100);
+    wheel.scheduleMillis(1, 200);
+    wheel.cancelMillis(0);
+
+    assertEquals(0, wheel.expireMillis(150));
+    assertEquals(1 << 1, wheel.expireMillis(200));
+  }
+}